@@ -7,11 +7,31 @@
  */
 package org.agilereview.core.controller.extension;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
 import org.agilereview.core.controller.extension.EditorParserController;
 import org.agilereview.core.controller.extension.ExtensionControllerFactory;
 import org.agilereview.core.controller.extension.ExtensionControllerFactory.ExtensionPoint;
+import org.agilereview.core.external.definition.IBatchEditorParser;
+import org.agilereview.core.external.definition.IEditorParser;
 import org.agilereview.core.parser.NullParser;
 import org.agilereview.test.mock.editorparser.external.EditorParserMock;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.ui.IEditorInput;
+import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.editors.text.TextEditor;
 import org.junit.Assert;
 import org.junit.Test;
@@ -37,4 +57,100 @@ public class EditorParserControllerTest {
         Assert.assertNotNull(Whitebox.invokeMethod(controller, "getParser", TextEditor.class));
         Assert.assertTrue(Whitebox.invokeMethod(controller, "getParser", getClass()) instanceof NullParser);
     }
+    
+    /**
+     * Test for the resolution cache of {@link EditorParserController#getParser(Class)}
+     * @author agent (18.10.2026)
+     * @throws Exception if the private methods could not be invoked
+     */
+    @SuppressWarnings("javadoc")
+    @Test
+    public void getParserCacheTest() throws Exception {
+        EditorParserController controller = (EditorParserController) ExtensionControllerFactory.getExtensionController(ExtensionPoint.EditorParser);
+        EditorParserMock.waitUnitCreation();
+        
+        Object parser = Whitebox.invokeMethod(controller, "getParser", TextEditor.class);
+        Assert.assertSame(parser, Whitebox.invokeMethod(controller, "getParser", TextEditor.class));
+        Object nullParser = Whitebox.invokeMethod(controller, "getParser", getClass());
+        Assert.assertSame(nullParser, Whitebox.invokeMethod(controller, "getParser", getClass()));
+    }
+    
+    /**
+     * Test for the readiness of the {@link EditorParserController}
+     * @throws InterruptedException if the test has been interrupted while waiting for the controller
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void readinessTest() throws InterruptedException {
+        EditorParserController controller = (EditorParserController) ExtensionControllerFactory.getExtensionController(ExtensionPoint.EditorParser);
+        
+        Assert.assertTrue(controller.awaitReady(10, TimeUnit.SECONDS));
+        Assert.assertTrue(controller.isReady());
+        Assert.assertTrue(controller.getStartupDuration() >= 0);
+    }
+    
+    /**
+     * Test for {@link EditorParserController#removeTags(IEditorPart, Set)}, which should pass all tag ids to an {@link IBatchEditorParser} at once
+     * @throws Exception if the parser cache could not be accessed
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void removeMultipleTagsTest() throws Exception {
+        IBatchEditorParser parser = mock(IBatchEditorParser.class);
+        Set<String> tagIds = new HashSet<String>(Arrays.asList("c0", "c1", "c2"));
+        IEditorPart editor = removeTags(parser, tagIds);
+        
+        verify(parser).removeTagsInEditor(same(editor), eq(tagIds), any(String[].class));
+        verify(parser, never()).removeTagsInEditor(any(IEditorPart.class), anyString(), any(String[].class));
+    }
+    
+    /**
+     * Test for {@link EditorParserController#removeTags(IEditorPart, Set)}, which should remove the tags one after another if the editor's parser
+     * is no {@link IBatchEditorParser}
+     * @throws Exception if the parser cache could not be accessed
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void removeMultipleTagsFallbackTest() throws Exception {
+        IEditorParser parser = mock(IEditorParser.class);
+        Set<String> tagIds = new HashSet<String>(Arrays.asList("c0", "c1", "c2"));
+        IEditorPart editor = removeTags(parser, tagIds);
+        
+        for (String tagId : tagIds) {
+            verify(parser).removeTagsInEditor(same(editor), eq(tagId), any(String[].class));
+        }
+    }
+    
+    /**
+     * Removes the given tags from a mocked editor of a java file, whose class is resolved to the given parser
+     * @param parser {@link IEditorParser} responsible for the editor
+     * @param tagIds ids of the comments to be removed
+     * @return the mocked editor
+     * @throws Exception if the parser cache could not be accessed
+     * @author agent (18.10.2026)
+     */
+    private IEditorPart removeTags(IEditorParser parser, Set<String> tagIds) throws Exception {
+        EditorParserController controller = (EditorParserController) ExtensionControllerFactory.getExtensionController(ExtensionPoint.EditorParser);
+        Assert.assertTrue(controller.awaitReady(10, TimeUnit.SECONDS));
+        
+        IEditorPart editor = mock(IEditorPart.class);
+        IEditorInput input = mock(IEditorInput.class);
+        IFile file = mock(IFile.class);
+        when(editor.getEditorInput()).thenReturn(input);
+        when(input.getAdapter(IFile.class)).thenReturn(file);
+        when(file.getFileExtension()).thenReturn("java");
+        Map<Class<?>, IEditorParser> parserCache = Whitebox.getInternalState(EditorParserController.class, "resolvedParserCache");
+        synchronized (Whitebox.getInternalState(EditorParserController.class, "classToExtensionMap")) {
+            parserCache.put(editor.getClass(), parser);
+        }
+        
+        try {
+            controller.removeTags(editor, tagIds);
+        } finally {
+            synchronized (Whitebox.getInternalState(EditorParserController.class, "classToExtensionMap")) {
+                parserCache.remove(editor.getClass());
+            }
+        }
+        return editor;
+    }
 }
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.controller.extension;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.agilereview.core.external.definition.IReviewDataReceiver;
+import org.agilereview.core.external.storage.ReviewSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test class for {@link ReviewDataDispatcher}
+ * @author agent (18.10.2026)
+ */
+public class ReviewDataDispatcherTest {
+    
+    /**
+     * {@link IReviewDataReceiver} counting down a latch after it received new review data. It can be blocked until another latch is released.
+     * @author agent (18.10.2026)
+     */
+    private static class LatchReceiver implements IReviewDataReceiver {
+        
+        /**
+         * Latch the receiver waits for before processing the review data or <code>null</code> if it should not wait
+         */
+        private final CountDownLatch release;
+        /**
+         * Latch counted down after the review data has been received
+         */
+        private final CountDownLatch received;
+        /**
+         * Last received review data
+         */
+        private volatile ReviewSet reviews;
+        
+        /**
+         * Creates a new {@link LatchReceiver}
+         * @param release latch the receiver waits for before processing the review data or <code>null</code> if it should not wait
+         * @param received latch counted down after the review data has been received
+         * @author agent (18.10.2026)
+         */
+        LatchReceiver(CountDownLatch release, CountDownLatch received) {
+            this.release = release;
+            this.received = received;
+        }
+        
+        @Override
+        public void setReviewData(ReviewSet reviews) {
+            if (release != null) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            this.reviews = reviews;
+            received.countDown();
+        }
+    }
+    
+    /**
+     * Checks that all receivers are notified concurrently and that the latency is recorded per receiver. Each receiver waits until all
+     * receivers have been started, which only succeeds if they are notified concurrently.
+     * @throws InterruptedException if the test has been interrupted while waiting for the receivers
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testConcurrentDispatch() throws InterruptedException {
+        ReviewDataDispatcher dispatcher = new ReviewDataDispatcher();
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch received = new CountDownLatch(3);
+        Map<String, LatchReceiver> receivers = new LinkedHashMap<String, LatchReceiver>();
+        for (String id : new String[] { "first", "second", "third" }) {
+            receivers.put(id, new StartingReceiver(started, received));
+        }
+        ReviewSet reviews = new ReviewSet();
+        
+        Assert.assertEquals(-1, dispatcher.getLastLatency("first"));
+        CountDownLatch completion = dispatcher.dispatch(new LinkedHashMap<String, IReviewDataReceiver>(receivers), reviews);
+        
+        Assert.assertTrue("Receivers have not been notified concurrently", received.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(completion.await(10, TimeUnit.SECONDS));
+        for (String id : receivers.keySet()) {
+            Assert.assertSame(reviews, receivers.get(id).reviews);
+            Assert.assertTrue(dispatcher.getLastLatency(id) >= 0);
+            Assert.assertTrue(dispatcher.getAverageLatency(id) >= 0);
+            Assert.assertEquals(0, dispatcher.getFailureCount(id));
+            Assert.assertEquals(0, dispatcher.getTimeoutCount(id));
+        }
+    }
+    
+    /**
+     * Checks that a failing receiver neither prevents the notification of the other receivers nor blocks the completion of the dispatch
+     * @throws InterruptedException if the test has been interrupted while waiting for the receivers
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testFailingReceiverIsIsolated() throws InterruptedException {
+        ReviewDataDispatcher dispatcher = new ReviewDataDispatcher();
+        CountDownLatch received = new CountDownLatch(2);
+        Map<String, IReviewDataReceiver> receivers = new LinkedHashMap<String, IReviewDataReceiver>();
+        receivers.put("failing", new IReviewDataReceiver() {
+            @Override
+            public void setReviewData(ReviewSet reviews) {
+                throw new IllegalStateException("failing receiver");
+            }
+        });
+        receivers.put("first", new LatchReceiver(null, received));
+        receivers.put("second", new LatchReceiver(null, received));
+        
+        CountDownLatch completion = dispatcher.dispatch(receivers, new ReviewSet());
+        
+        Assert.assertTrue(received.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(completion.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, dispatcher.getFailureCount("failing"));
+        Assert.assertEquals(0, dispatcher.getFailureCount("first"));
+        Assert.assertEquals(0, dispatcher.getFailureCount("second"));
+    }
+    
+    /**
+     * Checks that the dispatch does not wait for a slow receiver and that the slow receiver is reported after the notification timeout, while
+     * the other receivers are notified in time
+     * @throws InterruptedException if the test has been interrupted while waiting for the receivers
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testSlowReceiverTimesOut() throws InterruptedException {
+        ReviewDataDispatcher dispatcher = new ReviewDataDispatcher(200);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch slowReceived = new CountDownLatch(1);
+        CountDownLatch fastReceived = new CountDownLatch(1);
+        Map<String, IReviewDataReceiver> receivers = new LinkedHashMap<String, IReviewDataReceiver>();
+        receivers.put("slow", new LatchReceiver(release, slowReceived));
+        receivers.put("fast", new LatchReceiver(null, fastReceived));
+        
+        try {
+            // the dispatch returns although the slow receiver is still blocked
+            CountDownLatch completion = dispatcher.dispatch(receivers, new ReviewSet());
+            
+            Assert.assertTrue(fastReceived.await(10, TimeUnit.SECONDS));
+            Assert.assertTrue(completion.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(1, slowReceived.getCount());
+            Assert.assertEquals(1, dispatcher.getTimeoutCount("slow"));
+            Assert.assertEquals(0, dispatcher.getTimeoutCount("fast"));
+        } finally {
+            release.countDown();
+        }
+        
+        // the slow receiver continues in the background
+        Assert.assertTrue(slowReceived.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(0, dispatcher.getFailureCount("slow"));
+    }
+    
+    /**
+     * {@link LatchReceiver} which waits until a given number of receivers has been started
+     * @author agent (18.10.2026)
+     */
+    private static class StartingReceiver extends LatchReceiver {
+        
+        /**
+         * Latch counted down as soon as the receiver has been started
+         */
+        private final CountDownLatch started;
+        
+        /**
+         * Creates a new {@link StartingReceiver}
+         * @param started latch counted down by all receivers as soon as they have been started
+         * @param received latch counted down after the review data has been received
+         * @author agent (18.10.2026)
+         */
+        StartingReceiver(CountDownLatch started, CountDownLatch received) {
+            super(started, received);
+            this.started = started;
+        }
+        
+        @Override
+        public void setReviewData(ReviewSet reviews) {
+            started.countDown();
+            super.setReviewData(reviews);
+        }
+    }
+}
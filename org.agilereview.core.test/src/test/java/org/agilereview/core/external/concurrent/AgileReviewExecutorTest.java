@@ -0,0 +1,299 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+/**
+ * TestClass for {@link AgileReviewExecutor}
+ * @author agent (18.10.2026)
+ */
+public class AgileReviewExecutorTest {
+    
+    /**
+     * Executor under test, created for each test
+     */
+    private AgileReviewExecutor executor;
+    
+    /**
+     * Creates a new executor for each test, such that the tests do not depend on the state of the shared instance
+     * @author agent (18.10.2026)
+     */
+    @Before
+    public void setUp() {
+        executor = new AgileReviewExecutor();
+    }
+    
+    /**
+     * Shuts down the executor of the test
+     * @author agent (18.10.2026)
+     */
+    @After
+    public void tearDown() {
+        executor.shutdown(5, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Checks that all submitted tasks are executed on named worker threads and that the executor records their latency
+     * @throws Exception if a task failed or did not finish in time
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testTaskExecution() throws Exception {
+        long finishedBefore = executor.getFinishedTaskCount();
+        final AtomicInteger executed = new AtomicInteger();
+        final AtomicInteger workerThreads = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    executed.incrementAndGet();
+                    if (Thread.currentThread().getName().startsWith("AgileReview-worker-")) {
+                        workerThreads.incrementAndGet();
+                    }
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get(10, TimeUnit.SECONDS);
+        }
+        
+        assertEquals(20, executed.get());
+        assertEquals(20, workerThreads.get());
+        assertTrue(executor.getFinishedTaskCount() - finishedBefore >= 20);
+        assertTrue(executor.getMaxTaskLatency() >= 5);
+        assertTrue(executor.getMaxTaskLatency() >= executor.getAverageTaskLatency());
+    }
+    
+    /**
+     * Checks that delayed tasks are executed on worker threads after their delay and are dropped if cancelled in time
+     * @throws Exception if the task did not finish in time
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testDelayedTaskExecution() throws Exception {
+        final CountDownLatch executed = new CountDownLatch(1);
+        final AtomicInteger workerThreads = new AtomicInteger();
+        final AtomicInteger cancelledExecutions = new AtomicInteger();
+        long start = System.nanoTime();
+        executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (Thread.currentThread().getName().startsWith("AgileReview-worker-")) {
+                    workerThreads.incrementAndGet();
+                }
+                executed.countDown();
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+        Future<?> cancelled = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                cancelledExecutions.incrementAndGet();
+            }
+        }, 10, TimeUnit.SECONDS);
+        
+        assertTrue(cancelled.cancel(false));
+        assertTrue(executed.await(10, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+        assertEquals(1, workerThreads.get());
+        assertEquals(0, cancelledExecutions.get());
+    }
+    
+    /**
+     * Checks that tasks submitted after the shutdown are rejected instead of being dropped silently
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testRejectionAfterShutdown() {
+        executor.shutdown(5, TimeUnit.SECONDS);
+        assertTrue(executor.isShutdown());
+        assertRejected(new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(new NoOp());
+            }
+        });
+        assertRejected(new Runnable() {
+            @Override
+            public void run() {
+                executor.submit(new NoOp());
+            }
+        });
+        assertRejected(new Runnable() {
+            @Override
+            public void run() {
+                executor.executeBlocking(new NoOp());
+            }
+        });
+        assertRejected(new Runnable() {
+            @Override
+            public void run() {
+                executor.schedule(new NoOp(), 10, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+    
+    /**
+     * Checks that a new shared instance is created after the current one has been shut down, e.g. on a restart of the plug-in
+     * @throws Exception if the task failed or did not finish in time
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testSharedInstanceRecreatedAfterShutdown() throws Exception {
+        AgileReviewExecutor shared = AgileReviewExecutor.getInstance();
+        assertSame(shared, AgileReviewExecutor.getInstance());
+        shared.shutdown(5, TimeUnit.SECONDS);
+        
+        AgileReviewExecutor recreated = AgileReviewExecutor.getInstance();
+        assertNotSame(shared, recreated);
+        assertFalse(recreated.isShutdown());
+        recreated.submit(new NoOp()).get(10, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Checks that tasks overflowing the queue of the workers are neither executed by the submitting thread nor dropped
+     * @throws Exception if a task did not finish in time
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testSaturationDoesNotRunOnSubmittingThread() throws Exception {
+        int poolSize = Whitebox.<Integer> getInternalState(AgileReviewExecutor.class, "POOL_SIZE");
+        int queueCapacity = Whitebox.<Integer> getInternalState(AgileReviewExecutor.class, "QUEUE_CAPACITY");
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(poolSize);
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        started.countDown();
+                        awaitQuietly(release);
+                    }
+                });
+            }
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < queueCapacity; i++) {
+                executor.execute(new NoOp());
+            }
+            
+            final AtomicReference<Thread> overflowThread = new AtomicReference<Thread>();
+            Future<?> overflow = executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    overflowThread.set(Thread.currentThread());
+                }
+            });
+            overflow.get(10, TimeUnit.SECONDS);
+            assertNotSame(Thread.currentThread(), overflowThread.get());
+            assertTrue(overflowThread.get().getName().startsWith("AgileReview-blocking-"));
+        } finally {
+            release.countDown();
+        }
+    }
+    
+    /**
+     * Checks that blocking tasks run on separate threads, such that they do not starve the workers executing the tasks they wait for
+     * @throws Exception if a task did not finish in time
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testBlockingTasksDoNotStarveWorkers() throws Exception {
+        int poolSize = Whitebox.<Integer> getInternalState(AgileReviewExecutor.class, "POOL_SIZE");
+        final CountDownLatch workDone = new CountDownLatch(1);
+        final CountDownLatch waitersFinished = new CountDownLatch(poolSize);
+        final AtomicInteger blockingThreads = new AtomicInteger();
+        // occupy as many threads as there are workers with tasks waiting for a task submitted afterwards
+        for (int i = 0; i < poolSize; i++) {
+            executor.executeBlocking(new Runnable() {
+                @Override
+                public void run() {
+                    if (Thread.currentThread().getName().startsWith("AgileReview-blocking-")) {
+                        blockingThreads.incrementAndGet();
+                    }
+                    awaitQuietly(workDone);
+                    waitersFinished.countDown();
+                }
+            });
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                workDone.countDown();
+            }
+        });
+        
+        assertTrue(waitersFinished.await(10, TimeUnit.SECONDS));
+        assertEquals(poolSize, blockingThreads.get());
+    }
+    
+    /**
+     * Asserts that the given submission is rejected
+     * @param submission submission to be performed
+     * @author agent (18.10.2026)
+     */
+    private static void assertRejected(Runnable submission) {
+        try {
+            submission.run();
+        } catch (RejectedExecutionException e) {
+            return;
+        }
+        throw new AssertionError("The task has not been rejected");
+    }
+    
+    /**
+     * Waits for the given latch at most ten seconds, restoring an interruption afterwards
+     * @param latch latch to wait for
+     * @author agent (18.10.2026)
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Task doing nothing
+     * @author agent (18.10.2026)
+     */
+    private static final class NoOp implements Runnable {
+        
+        /* (non-Javadoc)
+         * @see java.lang.Runnable#run()
+         * @author agent (18.10.2026)
+         */
+        @Override
+        public void run() {
+        }
+    }
+}
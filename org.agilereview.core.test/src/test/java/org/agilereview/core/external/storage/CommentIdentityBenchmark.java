@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.agilereview.core.utils.HelperClass;
+import org.eclipse.core.resources.IFile;
+import org.junit.Test;
+
+/**
+ * Microbenchmark for the identity of {@link Comment}s. It compares the hashing based on the cached identity key with the former hashing, which
+ * concatenated the review ID, the author and the comment ID on every call. The benchmark is not part of the regular test run (the class name does
+ * not end with Test) and should be started explicitly as JUnit plug-in test.
+ * @author agent (18.10.2026)
+ */
+public class CommentIdentityBenchmark {
+    
+    /**
+     * Number of {@link Comment}s used for each run
+     */
+    private static final int COMMENTS = 20000;
+    /**
+     * Number of measured runs per scenario, preceded by the same number of warm-up runs
+     */
+    private static final int RUNS = 20;
+    
+    /**
+     * Wrapper reproducing the former {@link Comment#hashCode()} and {@link Comment#equals(Object)} implementations
+     * @author agent (18.10.2026)
+     */
+    private static final class LegacyComment {
+        
+        /**
+         * Wrapped {@link Comment}
+         */
+        private final Comment comment;
+        
+        /**
+         * Creates a new wrapper for the given {@link Comment}
+         * @param comment {@link Comment} to be wrapped
+         * @author agent (18.10.2026)
+         */
+        LegacyComment(Comment comment) {
+            this.comment = comment;
+        }
+        
+        @Override
+        public int hashCode() {
+            return (comment.getReview().getId() + comment.getAuthor() + comment.getId()).hashCode();
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (o == null || o.getClass() != getClass()) return false;
+            Comment other = ((LegacyComment) o).comment;
+            return comment.getReview().equals(other.getReview()) && comment.getAuthor().equals(other.getAuthor())
+                    && comment.getId().equals(other.getId());
+        }
+    }
+    
+    /**
+     * Measures building a hash set of all comments and filtering all comments against it, as done e.g. by
+     * {@link ReviewSet#setCommentFilter(Object, List)}, for the former and the current identity implementation.
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void benchmarkSetBuildAndFilter() {
+        Review review = new Review("benchmarkReview");
+        IFile file = HelperClass.getIFile("resources/Test.txt");
+        Calendar now = Calendar.getInstance();
+        List<Comment> comments = new ArrayList<Comment>(COMMENTS);
+        List<LegacyComment> legacyComments = new ArrayList<LegacyComment>(COMMENTS);
+        for (int i = 0; i < COMMENTS; i++) {
+            Comment c = new Comment("c" + i, "author" + (i % 10), file, review, now, now, "", 0, 0, "");
+            comments.add(c);
+            legacyComments.add(new LegacyComment(c));
+        }
+        
+        long legacy = 0;
+        long current = 0;
+        for (int run = 0; run < 2 * RUNS; run++) {
+            long start = System.nanoTime();
+            assertEquals(COMMENTS, buildAndFilter(legacyComments));
+            long middle = System.nanoTime();
+            assertEquals(COMMENTS, buildAndFilter(comments));
+            long end = System.nanoTime();
+            if (run >= RUNS) {
+                legacy += middle - start;
+                current += end - middle;
+            }
+        }
+        
+        report("legacy identity", legacy);
+        report("cached identity", current);
+    }
+    
+    /**
+     * Builds a hash set of the given elements and checks the membership of each element afterwards
+     * @param elements elements to be processed
+     * @return number of elements found in the set
+     * @author agent (18.10.2026)
+     */
+    private static <T> int buildAndFilter(List<T> elements) {
+        Set<T> set = new HashSet<T>(elements);
+        int found = 0;
+        for (T e : elements) {
+            if (set.contains(e)) {
+                found++;
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Prints the throughput of a scenario
+     * @param scenario name of the scenario
+     * @param nanos accumulated duration of all measured runs in nanoseconds
+     * @author agent (18.10.2026)
+     */
+    private static void report(String scenario, long nanos) {
+        double opsPerMs = (double) COMMENTS * RUNS / (nanos / 1000000d);
+        System.out.println(String.format("%s: %.1f comments/ms (set build + filter)", scenario, opsPerMs));
+    }
+}
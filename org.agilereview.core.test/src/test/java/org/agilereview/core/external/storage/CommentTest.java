@@ -1,8 +1,10 @@
 package org.agilereview.core.external.storage;
 
 import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
 import java.util.Random;
 
 import junit.framework.AssertionFailedError;
@@ -11,12 +13,16 @@ import org.agilereview.core.external.storage.Comment;
 import org.agilereview.core.external.storage.Reply;
 import org.agilereview.core.external.storage.Review;
 import org.agilereview.core.external.storage.StorageAPI;
+import org.agilereview.core.external.storage.constants.PropertyChangeEventKeys;
+import org.agilereview.core.external.storage.listeners.ModelEventBus;
 import org.agilereview.core.utils.HelperClass;
 import org.eclipse.core.resources.IFile;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import static org.mockito.Mockito.mock;
 
@@ -455,6 +461,56 @@ public class CommentTest {
         }
     }
     
+    /**
+     * Checks that a typical edit session of a {@link Comment} in the detail view results in exactly one event per change, each carrying the new
+     * modification date, instead of an additional modification date event per change.
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testEditSessionEventCount() {
+        Review review = new Review("editSessionReview");
+        ReviewSet reviewSet = new ReviewSet();
+        reviewSet.add(review);
+        Comment comment = new Comment("c0", HelperClass.getIFile("/org.agilereview.core.test/resources/Test.txt"), review);
+        review.addComment(comment);
+        
+        final List<PropertyChangeEvent> events = new ArrayList<PropertyChangeEvent>();
+        reviewSet.addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(PropertyChangeEvent evt) {
+                events.add(evt);
+            }
+        });
+        ModelEventBus bus = reviewSet.getEventBus();
+        bus.resetEventCounts();
+        
+        // edit session: change all editable fields and answer the comment
+        comment.setText("description");
+        comment.setRecipient("Theo");
+        comment.setStatus(1);
+        comment.setPriority(2);
+        Reply reply = new Reply("c0r0", comment);
+        comment.addReply(reply);
+        reply.setText("answer");
+        
+        assertEquals(6, events.size());
+        long published = 0;
+        for (Long count : bus.getEventCounts().values()) {
+            published += count;
+        }
+        assertEquals(6, published);
+        assertEquals(0, bus.getEventCount(PropertyChangeEventKeys.COMMENT_MODIFICATION_DATE));
+        assertEquals(0, bus.getEventCount(PropertyChangeEventKeys.REPLY_MODIFICATION_DATE));
+        
+        for (PropertyChangeEvent evt : events) {
+            assertTrue(evt instanceof ModificationEvent);
+        }
+        ModificationEvent lastCommentEvent = (ModificationEvent) events.get(4);
+        assertEquals(PropertyChangeEventKeys.COMMENT_REPLIES, lastCommentEvent.getPropertyName());
+        assertSame(comment.getModificationDate(), lastCommentEvent.getNewModificationDate());
+        assertSame(reply.getModificationDate(), ((ModificationEvent) events.get(5)).getNewModificationDate());
+    }
+    
     /**
      * Creates a {@link Comment} with values IFile = "" and id = ""
      * @return {@link Comment} as specified above
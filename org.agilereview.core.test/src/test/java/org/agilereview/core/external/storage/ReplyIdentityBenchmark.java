@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.agilereview.core.utils.HelperClass;
+import org.junit.Test;
+
+/**
+ * Microbenchmark for the identity of {@link Reply}s in deep and wide reply trees. It compares the cached identity key with the former hashing,
+ * which walked up the parent chain and concatenated all IDs on every call. The benchmark is not part of the regular test run (the class name
+ * does not end with Test) and should be started explicitly as JUnit plug-in test.
+ * @author agent (18.10.2026)
+ */
+public class ReplyIdentityBenchmark {
+    
+    /**
+     * Number of {@link Reply}s in each tree
+     */
+    private static final int REPLIES = 2000;
+    /**
+     * Depth of each reply thread within the deep reply tree
+     */
+    private static final int DEPTH = 100;
+    /**
+     * Number of measured runs per scenario, preceded by the same number of warm-up runs
+     */
+    private static final int RUNS = 20;
+    
+    /**
+     * Wrapper reproducing the former {@link Reply#hashCode()} and {@link Reply#equals(Object)} implementations
+     * @author agent (18.10.2026)
+     */
+    private static final class LegacyReply {
+        
+        /**
+         * Wrapped {@link Reply}
+         */
+        private final Reply reply;
+        
+        /**
+         * Creates a new wrapper for the given {@link Reply}
+         * @param reply {@link Reply} to be wrapped
+         * @author agent (18.10.2026)
+         */
+        LegacyReply(Reply reply) {
+            this.reply = reply;
+        }
+        
+        @Override
+        public int hashCode() {
+            Object stringForHash = reply.getId();
+            Object parentN = reply.getParent();
+            while (!(parentN instanceof Comment)) {
+                Reply parentReply = (Reply) parentN;
+                stringForHash = parentReply.getId() + stringForHash;
+                parentN = parentReply.getParent();
+            }
+            Comment comment = (Comment) parentN;
+            stringForHash = comment.getReview().getId() + comment.getId() + stringForHash;
+            return stringForHash.hashCode();
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (o == null || o.getClass() != getClass()) return false;
+            return legacyEquals(reply, ((LegacyReply) o).reply);
+        }
+        
+        /**
+         * Former recursive comparison of two parents
+         * @param a first parent
+         * @param b second parent
+         * @return <code>true</code> if both parents are equal,<br><code>false</code> otherwise
+         * @author agent (18.10.2026)
+         */
+        private static boolean legacyEquals(Object a, Object b) {
+            if (a instanceof Reply && b instanceof Reply) {
+                Reply r1 = (Reply) a;
+                Reply r2 = (Reply) b;
+                return r1.getId().equals(r2.getId()) && legacyEquals(r1.getParent(), r2.getParent());
+            }
+            return a.equals(b);
+        }
+    }
+    
+    /**
+     * Measures hash set operations on reply threads of depth {@link #DEPTH}, where every reply answers the previous one
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void benchmarkDeepReplyTree() {
+        Comment comment = createComment();
+        List<Reply> replies = new ArrayList<Reply>(REPLIES);
+        Object parent = comment;
+        for (int i = 0; i < REPLIES; i++) {
+            if (i % DEPTH == 0) {
+                // start a new thread
+                parent = comment;
+            }
+            Reply r = new Reply("r" + i, "author", Calendar.getInstance(), Calendar.getInstance(), "", parent);
+            replies.add(r);
+            parent = r;
+        }
+        benchmark("deep", replies);
+    }
+    
+    /**
+     * Measures hash set operations on a flat reply tree, where all replies answer the same comment
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void benchmarkWideReplyTree() {
+        Comment comment = createComment();
+        List<Reply> replies = new ArrayList<Reply>(REPLIES);
+        for (int i = 0; i < REPLIES; i++) {
+            replies.add(new Reply("r" + i, "author", Calendar.getInstance(), Calendar.getInstance(), "", comment));
+        }
+        benchmark("wide", replies);
+    }
+    
+    /**
+     * @return a new {@link Comment} serving as root of a reply tree
+     * @author agent (18.10.2026)
+     */
+    private static Comment createComment() {
+        Review review = new Review("benchmarkReview");
+        Calendar now = Calendar.getInstance();
+        return new Comment("c0", "author", HelperClass.getIFile("resources/Test.txt"), review, now, now, "", 0, 0, "");
+    }
+    
+    /**
+     * Runs the benchmark for the former and the current identity implementation and prints the results
+     * @param tree name of the tree shape
+     * @param replies all {@link Reply}s of the tree
+     * @author agent (18.10.2026)
+     */
+    private static void benchmark(String tree, List<Reply> replies) {
+        List<LegacyReply> legacyReplies = new ArrayList<LegacyReply>(replies.size());
+        for (Reply r : replies) {
+            legacyReplies.add(new LegacyReply(r));
+        }
+        
+        long legacy = 0;
+        long current = 0;
+        for (int run = 0; run < 2 * RUNS; run++) {
+            long start = System.nanoTime();
+            assertEquals(replies.size(), buildAndLookup(legacyReplies));
+            long middle = System.nanoTime();
+            assertEquals(replies.size(), buildAndLookup(replies));
+            long end = System.nanoTime();
+            if (run >= RUNS) {
+                legacy += middle - start;
+                current += end - middle;
+            }
+        }
+        
+        System.out.println(String.format("%s tree, legacy identity: %.1f replies/ms", tree, throughput(replies.size(), legacy)));
+        System.out.println(String.format("%s tree, cached identity: %.1f replies/ms", tree, throughput(replies.size(), current)));
+    }
+    
+    /**
+     * Builds a hash set of the given elements and looks up each element afterwards
+     * @param elements elements to be processed
+     * @return number of elements found in the set
+     * @author agent (18.10.2026)
+     */
+    private static <T> int buildAndLookup(List<T> elements) {
+        Set<T> set = new HashSet<T>(elements);
+        int found = 0;
+        for (T e : elements) {
+            if (set.contains(e)) {
+                found++;
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * @param elements number of processed elements per run
+     * @param nanos accumulated duration of all measured runs in nanoseconds
+     * @return the throughput in elements per millisecond
+     * @author agent (18.10.2026)
+     */
+    private static double throughput(int elements, long nanos) {
+        return (double) elements * RUNS / (nanos / 1000000d);
+    }
+}
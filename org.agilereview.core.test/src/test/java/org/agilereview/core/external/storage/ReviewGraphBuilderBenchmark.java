@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import org.agilereview.core.utils.HelperClass;
+import org.eclipse.core.resources.IFile;
+import org.junit.Test;
+
+/**
+ * Microbenchmark for the reconstruction of a whole review graph as done by storage clients on startup. It compares the former construction via
+ * the single create methods of the {@link StorageAPI}, attaching the children of each parent separately, with the {@link ReviewGraphBuilder}.
+ * The benchmark is not part of the regular test run (the class name does not end with Test) and should be started explicitly as JUnit plug-in
+ * test.
+ * @author agent (18.10.2026)
+ */
+public class ReviewGraphBuilderBenchmark {
+    
+    /**
+     * Number of {@link Review}s in each graph
+     */
+    private static final int REVIEWS = 50;
+    /**
+     * Number of {@link Comment}s of each {@link Review}
+     */
+    private static final int COMMENTS = 100;
+    /**
+     * Number of {@link Reply}s of each {@link Comment}, each one answering the previous one
+     */
+    private static final int REPLIES = 5;
+    /**
+     * Number of measured runs per scenario, preceded by the same number of warm-up runs
+     */
+    private static final int RUNS = 20;
+    
+    /**
+     * Commented file of all {@link Comment}s
+     */
+    private final IFile file = HelperClass.getIFile("resources/Test.txt");
+    /**
+     * Creation and modification date of all objects
+     */
+    private final Calendar now = Calendar.getInstance();
+    
+    /**
+     * Measures the reconstruction of a review graph and adding all {@link Review}s to a {@link ReviewSet} for the former and the current
+     * construction.
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void benchmarkGraphReconstruction() {
+        long legacy = 0;
+        long current = 0;
+        for (int run = 0; run < 2 * RUNS; run++) {
+            ReviewSet legacySet = new ReviewSet();
+            ReviewSet currentSet = new ReviewSet();
+            long start = System.nanoTime();
+            buildLegacy(legacySet);
+            long middle = System.nanoTime();
+            buildWithBuilder(currentSet);
+            long end = System.nanoTime();
+            assertEquals(REVIEWS, legacySet.size());
+            assertEquals(REVIEWS, currentSet.size());
+            if (run >= RUNS) {
+                legacy += middle - start;
+                current += end - middle;
+            }
+        }
+        
+        report("single create methods", legacy);
+        report("review graph builder", current);
+    }
+    
+    /**
+     * Reconstructs the graph the way the storage clients did before the {@link ReviewGraphBuilder} existed, i.e. each {@link Review} reads its
+     * states on its own and the children of each parent are attached right after they have been created.
+     * @param reviewSet {@link ReviewSet} all {@link Review}s are added to
+     * @author agent (18.10.2026)
+     */
+    private void buildLegacy(ReviewSet reviewSet) {
+        List<Review> reviews = new ArrayList<Review>(REVIEWS);
+        for (int r = 0; r < REVIEWS; r++) {
+            Review review = StorageAPI.createReview("benchmarkReview" + r, "Review " + r, 0, "", "", "");
+            List<Comment> comments = new ArrayList<Comment>();
+            for (int c = 0; c < COMMENTS; c++) {
+                Comment comment = StorageAPI.createComment("c" + c, "author" + (c % 10), file, review, now, now, "", 0, 0, "");
+                comment.setReplies(createLegacyReplies(comment, "c" + c, REPLIES));
+                comments.add(comment);
+            }
+            review.setComments(comments);
+            reviews.add(review);
+        }
+        reviewSet.addAll(reviews);
+    }
+    
+    /**
+     * Creates a reply thread of the given depth below the given parent, attaching the replies of each {@link Reply} right after creation
+     * @param parent the parent of the thread
+     * @param parentId the ID of the parent
+     * @param depth number of {@link Reply}s in the thread
+     * @return the list containing the first {@link Reply} of the thread or an empty list if the depth is zero
+     * @author agent (18.10.2026)
+     */
+    private List<Reply> createLegacyReplies(Object parent, String parentId, int depth) {
+        List<Reply> replies = new ArrayList<Reply>();
+        if (depth > 0) {
+            String id = parentId + "r0";
+            Reply reply = StorageAPI.createReply(id, "author", now, now, "", parent);
+            reply.setReplies(createLegacyReplies(reply, id, depth - 1));
+            replies.add(reply);
+        }
+        return replies;
+    }
+    
+    /**
+     * Reconstructs the same graph with a {@link ReviewGraphBuilder}
+     * @param reviewSet {@link ReviewSet} all {@link Review}s are published to
+     * @author agent (18.10.2026)
+     */
+    private void buildWithBuilder(ReviewSet reviewSet) {
+        ReviewGraphBuilder builder = StorageAPI.createReviewGraphBuilder();
+        for (int r = 0; r < REVIEWS; r++) {
+            Review review = builder.addReview("benchmarkReview" + r, "Review " + r, 0, "", "", "");
+            for (int c = 0; c < COMMENTS; c++) {
+                Object parent = builder.addComment(review, "c" + c, "author" + (c % 10), file, now, now, "", 0, 0, "");
+                String parentId = "c" + c;
+                for (int d = 0; d < REPLIES; d++) {
+                    parentId += "r0";
+                    parent = builder.addReply(parent, parentId, "author", now, now, "");
+                }
+            }
+        }
+        builder.publish(reviewSet);
+    }
+    
+    /**
+     * Prints the throughput of a scenario
+     * @param scenario name of the scenario
+     * @param nanos accumulated duration of all measured runs in nanoseconds
+     * @author agent (18.10.2026)
+     */
+    private static void report(String scenario, long nanos) {
+        double graphsPerSecond = RUNS / (nanos / 1000000000d);
+        System.out.println(String.format("%s: %.1f graphs/s (%d reviews, %d comments, %d replies per graph)", scenario, graphsPerSecond, REVIEWS,
+                REVIEWS * COMMENTS, REVIEWS * COMMENTS * REPLIES));
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import org.agilereview.core.external.storage.constants.PropertyChangeEventKeys;
+import org.agilereview.core.utils.HelperClass;
+import org.eclipse.core.resources.IFile;
+import org.junit.Test;
+
+/**
+ * TestClass for {@link ReviewGraphBuilder}
+ * @author agent (18.10.2026)
+ */
+public class ReviewGraphBuilderTest {
+    
+    /**
+     * Checks that all children are attached to their parents and that changes of the children are propagated after publishing the graph
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testPublish() {
+        Calendar now = Calendar.getInstance();
+        IFile file = HelperClass.getIFile("resources/Test.txt");
+        ReviewGraphBuilder builder = StorageAPI.createReviewGraphBuilder();
+        Review r1 = builder.addReview("graphReview1", "Review 1", 0, "", "", "");
+        Review r2 = builder.addReview("graphReview2", "Review 2", 0, "", "", "");
+        Comment c1 = builder.addComment(r1, "c0", "author", file, now, now, "", 0, 0, "");
+        Comment c2 = builder.addComment(r1, "c1", "author", file, now, now, "", 0, 0, "");
+        Reply reply = builder.addReply(c1, "c0r0", "author", now, now, "");
+        Reply nestedReply = builder.addReply(reply, "c0r0r0", "author", now, now, "");
+        
+        // nothing is attached before publishing
+        assertTrue(r1.getComments().isEmpty());
+        
+        ReviewSet reviewSet = new ReviewSet();
+        HelperPropertyChangeListener reviewsListener = new HelperPropertyChangeListener(PropertyChangeEventKeys.REVIEWSET_REVIEWS);
+        reviewSet.addPropertyChangeListener(reviewsListener);
+        List<Review> reviews = builder.publish(reviewSet);
+        
+        assertEquals(Arrays.asList(r1, r2), reviews);
+        assertEquals(2, reviewSet.size());
+        assertTrue(reviewsListener.getPropertyChanged());
+        assertEquals(Arrays.asList(c1, c2), r1.getComments());
+        assertTrue(r2.getComments().isEmpty());
+        assertEquals(Arrays.asList(reply), c1.getReplies());
+        assertEquals(Arrays.asList(nestedReply), reply.getReplies());
+        assertSame(reply, nestedReply.getParent());
+        
+        // listeners are wired along the whole graph
+        HelperPropertyChangeListener textListener = new HelperPropertyChangeListener(PropertyChangeEventKeys.REPLY_TEXT);
+        reviewSet.addPropertyChangeListener(textListener);
+        nestedReply.setText("changed");
+        assertTrue(textListener.getPropertyChanged());
+    }
+    
+    /**
+     * Checks that a {@link ReviewGraphBuilder} can only be built once
+     * @author agent (18.10.2026)
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testBuildTwice() {
+        ReviewGraphBuilder builder = StorageAPI.createReviewGraphBuilder();
+        builder.addReview("graphReview3", "Review 3", 0, "", "", "");
+        builder.build();
+        builder.build();
+    }
+}
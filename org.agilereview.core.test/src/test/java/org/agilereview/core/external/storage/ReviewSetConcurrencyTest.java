@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.agilereview.core.external.storage.constants.PropertyChangeEventKeys;
+import org.agilereview.core.utils.HelperClass;
+import org.junit.Test;
+
+/**
+ * Stress tests for the concurrent access to a {@link ReviewSet}
+ * @author agent (18.10.2026)
+ */
+public class ReviewSetConcurrencyTest {
+    
+    /**
+     * Number of threads modifying the {@link ReviewSet}
+     */
+    private static final int WRITERS = 8;
+    /**
+     * Number of threads iterating over the {@link ReviewSet}
+     */
+    private static final int READERS = 4;
+    /**
+     * Number of {@link Review}s added by each writer
+     */
+    private static final int REVIEWS_PER_WRITER = 200;
+    
+    /**
+     * Concurrently adds and removes {@link Review}s while other threads iterate over the {@link ReviewSet}. No iteration should fail and the
+     * resulting {@link ReviewSet} should contain exactly the {@link Review}s which have not been removed.
+     * @throws InterruptedException if the test thread has been interrupted
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testConcurrentModificationAndIteration() throws InterruptedException {
+        final ReviewSet reviewSet = new ReviewSet();
+        final Review[][] created = new Review[WRITERS][REVIEWS_PER_WRITER];
+        final List<Throwable> errors = new CopyOnWriteArrayList<Throwable>();
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch writersDone = new CountDownLatch(WRITERS);
+        final CountDownLatch readersDone = new CountDownLatch(READERS);
+        
+        for (int w = 0; w < WRITERS; w++) {
+            final int writer = w;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < REVIEWS_PER_WRITER; i++) {
+                            created[writer][i] = new Review("stress-" + writer + "-" + i);
+                            reviewSet.add(created[writer][i]);
+                        }
+                        // remove every second review again, alternating the removal methods
+                        for (int i = 0; i < REVIEWS_PER_WRITER; i += 2) {
+                            Review r = created[writer][i];
+                            if (i % 4 == 0) {
+                                reviewSet.remove(r);
+                            } else {
+                                reviewSet.removeAll(Collections.singleton(r));
+                            }
+                        }
+                    } catch (Throwable t) {
+                        errors.add(t);
+                    } finally {
+                        writersDone.countDown();
+                    }
+                }
+            }).start();
+        }
+        
+        for (int r = 0; r < READERS; r++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        while (writing.get()) {
+                            int count = 0;
+                            for (Review review : reviewSet) {
+                                if (review == null) {
+                                    fail("Iteration returned null element");
+                                }
+                                count++;
+                            }
+                            assertTrue(count <= WRITERS * REVIEWS_PER_WRITER);
+                        }
+                    } catch (Throwable t) {
+                        errors.add(t);
+                    } finally {
+                        readersDone.countDown();
+                    }
+                }
+            }).start();
+        }
+        
+        start.countDown();
+        assertTrue("Writers did not terminate", writersDone.await(60, TimeUnit.SECONDS));
+        writing.set(false);
+        assertTrue("Readers did not terminate", readersDone.await(60, TimeUnit.SECONDS));
+        
+        if (!errors.isEmpty()) {
+            throw new AssertionError(errors.get(0));
+        }
+        assertEquals(WRITERS * REVIEWS_PER_WRITER / 2, reviewSet.size());
+        for (int w = 0; w < WRITERS; w++) {
+            for (int i = 0; i < REVIEWS_PER_WRITER; i++) {
+                assertEquals(i % 2 == 1, reviewSet.contains(created[w][i]));
+            }
+        }
+    }
+    
+    /**
+     * Checks that the {@link ReviewSet} passes immutable snapshots as old and new value of the {@link PropertyChangeEventKeys#REVIEWSET_REVIEWS}
+     * event, which are consistent with the state of the {@link ReviewSet} after the change
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testEventSnapshots() {
+        final ReviewSet reviewSet = new ReviewSet();
+        final List<PropertyChangeEvent> events = new CopyOnWriteArrayList<PropertyChangeEvent>();
+        reviewSet.addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(PropertyChangeEvent evt) {
+                if (PropertyChangeEventKeys.REVIEWSET_REVIEWS.equals(evt.getPropertyName())) {
+                    events.add(evt);
+                }
+            }
+        });
+        
+        Review review = new Review("snapshot-review");
+        reviewSet.add(review);
+        reviewSet.add(new Review("snapshot-review-2"));
+        assertEquals(2, events.size());
+        
+        @SuppressWarnings("unchecked")
+        Set<Review> oldValue = (Set<Review>) events.get(1).getOldValue();
+        @SuppressWarnings("unchecked")
+        Set<Review> newValue = (Set<Review>) events.get(1).getNewValue();
+        assertEquals(1, oldValue.size());
+        assertEquals(2, newValue.size());
+        assertEquals(reviewSet.getSnapshot(), newValue);
+        try {
+            newValue.remove(review);
+            fail("Event snapshots should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        
+        // later modifications must not change already published snapshots
+        reviewSet.clear();
+        assertEquals(2, newValue.size());
+        assertTrue(reviewSet.isEmpty());
+    }
+    
+    /**
+     * Checks that {@link ReviewSet#clear()} notifies the listeners of the cleared {@link Review}s without holding its lock, such that a listener
+     * may wait for another thread modifying the {@link ReviewSet}
+     * @throws InterruptedException if the test thread has been interrupted
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testClearNotifiesOutsideOfLock() throws InterruptedException {
+        final ReviewSet reviewSet = new ReviewSet();
+        Review review = new Review("clear-review");
+        review.addComment(new Comment("c0", HelperClass.getIFile("resources/Test.txt"), review));
+        reviewSet.add(review);
+        final List<Boolean> modified = new CopyOnWriteArrayList<Boolean>();
+        review.addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(PropertyChangeEvent evt) {
+                if (!PropertyChangeEventKeys.REVIEW_COMMENTS.equals(evt.getPropertyName())) { return; }
+                // like a receiver waiting for the display thread, which modifies the review set in the meantime
+                final CountDownLatch added = new CountDownLatch(1);
+                new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        reviewSet.add(new Review("clear-review-2"));
+                        added.countDown();
+                    }
+                }).start();
+                try {
+                    modified.add(added.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        
+        reviewSet.clear();
+        
+        assertEquals(Collections.singletonList(Boolean.TRUE), modified);
+        assertTrue(review.getComments().isEmpty());
+        assertEquals(1, reviewSet.size());
+    }
+}
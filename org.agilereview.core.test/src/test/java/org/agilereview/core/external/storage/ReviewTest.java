@@ -7,6 +7,7 @@
  */
 package org.agilereview.core.external.storage;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -16,14 +17,22 @@ import java.beans.PropertyChangeListener;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 import junit.framework.AssertionFailedError;
 
 import org.agilereview.core.external.preferences.AgileReviewPreferences;
 import org.agilereview.core.external.storage.Comment;
 import org.agilereview.core.external.storage.Review;
+import org.agilereview.core.external.storage.constants.PropertyChangeEventKeys;
 import org.agilereview.core.utils.HelperClass;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.AssertionFailedException;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.junit.Test;
@@ -293,6 +302,43 @@ public class ReviewTest {
                 "Review comments could not be cleared successfully!"); }
     }
     
+    /**
+     * Test method for {@link Review#getComments(String)}, {@link Review#getComments(org.eclipse.core.resources.IFile)} and
+     * {@link Review#getCommentedFiles()}.
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public final void testCommentIndices() {
+        Review review = new Review("indexReview");
+        IFile file1 = HelperClass.getIFile("resources/Test1.txt");
+        IFile file2 = HelperClass.getIFile("resources/Test2.txt");
+        Calendar now = Calendar.getInstance();
+        Comment c1 = new Comment("c1", "author1", file1, review, now, now, "", 0, 0, "");
+        Comment c2 = new Comment("c2", "author2", file1, review, now, now, "", 0, 0, "");
+        Comment c3 = new Comment("c3", "author1", file2, review, now, now, "", 0, 0, "");
+        review.addComment(c1);
+        review.addComment(c2);
+        review.addComment(c3);
+        
+        assertEquals(Arrays.asList(c1, c3), review.getComments("author1"));
+        assertEquals(Arrays.asList(c1, c2), review.getComments(file1));
+        Set<IFile> commentedFiles = review.getCommentedFiles();
+        assertEquals(new HashSet<IFile>(Arrays.asList(file1, file2)), commentedFiles);
+        
+        // moving a comment to another file updates the file index
+        c2.setCommentedFile(file2);
+        assertEquals(Arrays.asList(c1), review.getComments(file1));
+        assertEquals(Arrays.asList(c3, c2), review.getComments(file2));
+        
+        review.deleteComment(c1);
+        assertEquals(Arrays.asList(c3), review.getComments("author1"));
+        assertEquals(Collections.singleton(file2), review.getCommentedFiles());
+        // the previously returned set is a copy, which can be iterated safely while comments change
+        assertEquals(new HashSet<IFile>(Arrays.asList(file1, file2)), commentedFiles);
+        assertEquals(Arrays.asList(c2, c3), review.getComments());
+        assertEquals(c3, review.getComments().get(1));
+    }
+    
     /**
      * Test method for {@link org.agilereview.core.external.storage.Review#getIsOpen()}.
      * @author Malte Brunnlieb (19.02.2012)
@@ -374,4 +420,65 @@ public class ReviewTest {
         if (!pcl.getPropertyChanged()) { throw new AssertionFailedError("PropertyChangeEvent not forwarded correctly!"); }
     }
     
+    /**
+     * Test method for {@link ReviewPreferenceDispatcher#preferenceChange(org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent)}.
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testActiveReviewPreferenceDispatch() {
+        Review review = new Review("TestReviewActiveDispatch");
+        Review otherReview = new Review("TestReviewOtherDispatch");
+        HelperPropertyChangeListener pcl = new HelperPropertyChangeListener(PropertyChangeEventKeys.REVIEW_ISACTIVE_STATUS);
+        HelperPropertyChangeListener otherPcl = new HelperPropertyChangeListener(PropertyChangeEventKeys.REVIEW_ISACTIVE_STATUS);
+        review.addPropertyChangeListener(pcl);
+        otherReview.addPropertyChangeListener(otherPcl);
+        
+        InstanceScope.INSTANCE.getNode(AgileReviewPreferences.CORE_PLUGIN_ID).put(AgileReviewPreferences.ACTIVE_REVIEW_ID, review.getId());
+        
+        assertTrue(review.getIsActive());
+        assertTrue(pcl.getPropertyChanged());
+        assertFalse(otherReview.getIsActive());
+        assertFalse(otherPcl.getPropertyChanged());
+    }
+    
+    /**
+     * Test method for {@link Review#beginCommentBatch()} and {@link Review#endCommentBatch()}.
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testCommentBatch() {
+        Review review = new Review("TestReviewCommentBatch");
+        IFile file = HelperClass.getIFile("resources/Test.txt");
+        Calendar now = Calendar.getInstance();
+        Comment existing = new Comment("c0", "author", file, review, now, now, "", 0, 0, "");
+        review.addComment(existing);
+        
+        final List<PropertyChangeEvent> events = new ArrayList<PropertyChangeEvent>();
+        review.addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(PropertyChangeEvent evt) {
+                events.add(evt);
+            }
+        });
+        
+        review.beginCommentBatch();
+        review.beginCommentBatch();
+        for (int i = 1; i <= 10; i++) {
+            review.addComment(new Comment("c" + i, "author", file, review, now, now, "", 0, 0, ""));
+        }
+        review.endCommentBatch();
+        review.deleteComment(existing);
+        assertTrue(events.isEmpty());
+        review.endCommentBatch();
+        
+        assertEquals(1, events.size());
+        assertEquals(PropertyChangeEventKeys.REVIEW_COMMENTS, events.get(0).getPropertyName());
+        assertEquals(Arrays.asList(existing), events.get(0).getOldValue());
+        assertEquals(10, ((List<?>) events.get(0).getNewValue()).size());
+        
+        // single changes are notified again after the batch
+        review.deleteComment(review.getComments().get(0));
+        assertEquals(2, events.size());
+    }
+    
 }
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage.listeners;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import org.agilereview.core.external.storage.Comment;
+import org.agilereview.core.external.storage.Reply;
+import org.agilereview.core.external.storage.Review;
+import org.agilereview.core.external.storage.ReviewGraphBuilder;
+import org.agilereview.core.external.storage.ReviewSet;
+import org.agilereview.core.external.storage.StorageAPI;
+import org.agilereview.core.external.storage.constants.PropertyChangeEventKeys;
+import org.agilereview.core.utils.HelperClass;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * TestClass for {@link ModelEventBus}
+ * @author agent (18.10.2026)
+ */
+public class ModelEventBusTest {
+    
+    /**
+     * {@link ReviewSet} under test
+     */
+    private ReviewSet reviewSet;
+    /**
+     * {@link Review} contained in the {@link #reviewSet}
+     */
+    private Review review;
+    /**
+     * {@link Comment} of the {@link #review}
+     */
+    private Comment comment;
+    /**
+     * Nested {@link Reply} of the {@link #comment}
+     */
+    private Reply nestedReply;
+    
+    /**
+     * {@link IModelEventListener} recording all received events
+     * @author agent (18.10.2026)
+     */
+    private static class RecordingListener implements IModelEventListener<Object> {
+        
+        /**
+         * All received events
+         */
+        private final List<PropertyChangeEvent> events = new ArrayList<PropertyChangeEvent>();
+        
+        @Override
+        public void modelChanged(Object source, PropertyChangeEvent evt) {
+            assertSame(evt.getSource(), source);
+            events.add(evt);
+        }
+    }
+    
+    /**
+     * Creates a {@link ReviewSet} containing one {@link Review} with one {@link Comment} and a nested {@link Reply}
+     * @author agent (18.10.2026)
+     */
+    @Before
+    public void setUp() {
+        Calendar now = Calendar.getInstance();
+        ReviewGraphBuilder builder = StorageAPI.createReviewGraphBuilder();
+        review = builder.addReview("busReview", "Review", 0, "", "", "");
+        comment = builder.addComment(review, "c0", "author", HelperClass.getIFile("resources/Test.txt"), now, now, "", 0, 0, "");
+        Reply reply = builder.addReply(comment, "c0r0", "author", now, now, "");
+        nestedReply = builder.addReply(reply, "c0r0r0", "author", now, now, "");
+        reviewSet = new ReviewSet();
+        builder.publish(reviewSet);
+    }
+    
+    /**
+     * Checks that events are only delivered for the subscribed keys and source types, and that every change is delivered exactly once
+     * regardless of the depth of the changed object
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testSubscriptionFiltering() {
+        ModelEventBus bus = reviewSet.getEventBus();
+        RecordingListener replyTextListener = new RecordingListener();
+        RecordingListener commentListener = new RecordingListener();
+        RecordingListener reviewListener = new RecordingListener();
+        bus.subscribe(Object.class, replyTextListener, PropertyChangeEventKeys.REPLY_TEXT);
+        bus.subscribe(Comment.class, commentListener, PropertyChangeEventKeys.COMMENT_RECIPIENT, PropertyChangeEventKeys.REPLY_TEXT);
+        bus.subscribe(Review.class, reviewListener);
+        
+        nestedReply.setText("changed");
+        assertEquals(1, replyTextListener.events.size());
+        assertSame(nestedReply, replyTextListener.events.get(0).getSource());
+        assertEquals(0, commentListener.events.size());
+        assertEquals(0, reviewListener.events.size());
+        
+        comment.setRecipient("recipient");
+        assertEquals(1, replyTextListener.events.size());
+        assertEquals(1, commentListener.events.size());
+        assertEquals(PropertyChangeEventKeys.COMMENT_RECIPIENT, commentListener.events.get(0).getPropertyName());
+        assertEquals(0, reviewListener.events.size());
+        
+        review.setName("new name");
+        assertEquals(1, commentListener.events.size());
+        assertEquals(1, reviewListener.events.size());
+        assertEquals(PropertyChangeEventKeys.REVIEW_NAME, reviewListener.events.get(0).getPropertyName());
+        
+        bus.unsubscribe(replyTextListener);
+        nestedReply.setText("changed again");
+        assertEquals(1, replyTextListener.events.size());
+    }
+    
+    /**
+     * Checks the event counters and that no events are published for {@link Review}s removed from the {@link ReviewSet}
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testEventCounts() {
+        ModelEventBus bus = reviewSet.getEventBus();
+        bus.resetEventCounts();
+        nestedReply.setText("first");
+        nestedReply.setText("second");
+        comment.setText("text");
+        assertEquals(2, bus.getEventCount(PropertyChangeEventKeys.REPLY_TEXT));
+        assertEquals(1, bus.getEventCount(PropertyChangeEventKeys.COMMENT_TEXT));
+        assertEquals(Long.valueOf(2), bus.getEventCounts().get(PropertyChangeEventKeys.REPLY_TEXT));
+        
+        reviewSet.remove(review);
+        assertEquals(1, bus.getEventCount(PropertyChangeEventKeys.REVIEWSET_REVIEWS));
+        nestedReply.setText("third");
+        assertEquals(2, bus.getEventCount(PropertyChangeEventKeys.REPLY_TEXT));
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.preferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.agilereview.core.external.preferences.AgileReviewPreferences;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.junit.Test;
+
+/**
+ * TestClass for {@link ReviewStateService}
+ * @author agent (18.10.2026)
+ */
+public class ReviewStateServiceTest {
+    
+    /**
+     * Test method for {@link ReviewStateService#setOpen(java.util.Collection, boolean)}.
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testSetOpenCollection() {
+        ReviewStateService stateService = ReviewStateService.getInstance();
+        List<String> ids = new ArrayList<String>();
+        for (int i = 0; i < 200; i++) {
+            ids.add("TestReviewStateService" + i);
+        }
+        
+        stateService.setOpen(ids, true);
+        for (String id : ids) {
+            assertTrue(stateService.isOpen(id));
+        }
+        
+        stateService.setOpen(ids, false);
+        for (String id : ids) {
+            assertFalse(stateService.isOpen(id));
+        }
+        String openReviews = InstanceScope.INSTANCE.getNode(AgileReviewPreferences.CORE_PLUGIN_ID).get(AgileReviewPreferences.OPEN_REVIEWS, "");
+        assertFalse(openReviews.contains("TestReviewStateService"));
+    }
+    
+    /**
+     * Test method for {@link ReviewStateService#isOpen(String)} on external changes of the preference.
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testIsOpenAfterExternalChange() {
+        ReviewStateService stateService = ReviewStateService.getInstance();
+        InstanceScope.INSTANCE.getNode(AgileReviewPreferences.CORE_PLUGIN_ID).put(AgileReviewPreferences.OPEN_REVIEWS, "r1,r2");
+        
+        assertTrue(stateService.isOpen("r2"));
+        assertFalse(stateService.isOpen("r"));
+        assertEquals(2, ReviewStateService.parseReviewIds("r1,r2").size());
+    }
+    
+    /**
+     * Checks that preference listeners notified by {@link ReviewStateService#setOpen(String, boolean)} can query the service from another thread
+     * without a deadlock
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testListenerQueriesFromOtherThread() throws Exception {
+        final ReviewStateService stateService = ReviewStateService.getInstance();
+        final AtomicBoolean queried = new AtomicBoolean();
+        IPreferenceChangeListener listener = new IPreferenceChangeListener() {
+            @Override
+            public void preferenceChange(PreferenceChangeEvent event) {
+                if (!AgileReviewPreferences.OPEN_REVIEWS.equals(event.getKey())) { return; }
+                Thread query = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        stateService.getOpenReviewIds();
+                        queried.set(stateService.isOpen("TestListenerQuery"));
+                    }
+                });
+                query.start();
+                try {
+                    query.join(5000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        IEclipsePreferences preferences = InstanceScope.INSTANCE.getNode(AgileReviewPreferences.CORE_PLUGIN_ID);
+        preferences.addPreferenceChangeListener(listener);
+        try {
+            stateService.setOpen("TestListenerQuery", true);
+        } finally {
+            preferences.removePreferenceChangeListener(listener);
+            stateService.setOpen("TestListenerQuery", false);
+        }
+        assertTrue(queried.get());
+    }
+}
@@ -7,6 +7,8 @@
  */
 package org.agilereview.core;
 
+import java.util.concurrent.TimeUnit;
+
 import org.agilereview.core.controller.ContextController;
 import org.agilereview.core.controller.RegistryListener;
 import org.agilereview.core.controller.extension.EditorParserController;
@@ -14,6 +16,8 @@ import org.agilereview.core.controller.extension.ExtensionControllerFactory;
 import org.agilereview.core.controller.extension.ExtensionControllerFactory.ExtensionPoint;
 import org.agilereview.core.controller.extension.RDRController;
 import org.agilereview.core.controller.extension.StorageController;
+import org.agilereview.core.external.concurrent.AgileReviewExecutor;
+import org.agilereview.core.preferences.ReviewStateService;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
 
@@ -46,13 +50,14 @@ public class Activator extends AbstractUIPlugin {
     public void start(BundleContext context) throws Exception {
         super.start(context);
         plugin = this;
-        new Thread(new Runnable() {
+        // the controllers created by the listeners wait for each other while being initialized
+        AgileReviewExecutor.getInstance().executeBlocking(new Runnable() {
             
             @Override
             public void run() {
                 registerListeners();
             }
-        }).start();
+        });
     }
     
     /*
@@ -61,6 +66,8 @@ public class Activator extends AbstractUIPlugin {
      */
     @Override
     public void stop(BundleContext context) throws Exception {
+        ReviewStateService.getInstance().flushNow();
+        AgileReviewExecutor.getInstance().shutdown(5, TimeUnit.SECONDS);
         plugin = null;
         super.stop(context);
     }
@@ -8,6 +8,7 @@
 package org.agilereview.core.controller;
 
 import org.agilereview.common.ui.PlatformUITools;
+import org.agilereview.core.external.concurrent.AgileReviewExecutor;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IPerspectiveDescriptor;
 import org.eclipse.ui.IPerspectiveListener;
@@ -43,7 +44,7 @@ public class ContextController implements IPerspectiveListener {
      * @author Malte Brunnlieb (17.01.2013)
      */
     public ContextController() {
-        new Thread(new Runnable() {
+        AgileReviewExecutor.getInstance().execute(new Runnable() {
             
             @Override
             public void run() {
@@ -59,7 +60,7 @@ public class ContextController implements IPerspectiveListener {
                     }
                 });
             }
-        }).start();
+        });
     }
     
     /**
@@ -7,6 +7,8 @@
  */
 package org.agilereview.core.controller;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Interface to provide a common access point for all extension point controller
  * @author Malte Brunnlieb (02.06.2012)
@@ -18,4 +20,28 @@ public interface IExtensionController extends Runnable {
      * @author Malte Brunnlieb (02.06.2012)
      */
     void checkForNewClients();
+    
+    /**
+     * Returns whether the controller finished its first search for clients and is ready to be used
+     * @return <code>true</code>, if the controller is ready,<br><code>false</code>, otherwise
+     * @author agent (18.10.2026)
+     */
+    boolean isReady();
+    
+    /**
+     * Blocks the calling thread until the controller is ready to be used or the given timeout elapsed
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return <code>true</code>, if the controller is ready,<br><code>false</code>, if the timeout elapsed before
+     * @throws InterruptedException if the calling thread has been interrupted while waiting
+     * @author agent (18.10.2026)
+     */
+    boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException;
+    
+    /**
+     * Returns the time the controller took from its creation until it was ready to be used
+     * @return the startup duration in milliseconds or <code>-1</code> if the controller is not ready yet
+     * @author agent (18.10.2026)
+     */
+    long getStartupDuration();
 }
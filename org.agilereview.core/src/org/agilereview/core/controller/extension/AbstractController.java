@@ -10,12 +10,18 @@ package org.agilereview.core.controller.extension;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.agilereview.core.controller.IExtensionController;
+import org.agilereview.core.external.concurrent.AgileReviewExecutor;
 import org.agilereview.core.external.definition.IStorageClient;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Abstract class for managing an extension point on extensions implementing or extending the parameter type
@@ -24,6 +30,10 @@ import org.eclipse.core.runtime.Platform;
  */
 public abstract class AbstractController<T> implements IExtensionController {
     
+    /**
+     * Logger instance
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractController.class);
     /**
      * Extension point id
      */
@@ -34,9 +44,21 @@ public abstract class AbstractController<T> implements IExtensionController {
     private final HashMap<String, T> registeredClients = new HashMap<String, T>();
     
     /**
-     * Checks whether the controller was fully initialized (first checkForClients included)
+     * Latch released after the first search for clients, i.e. as soon as the ids of the registered clients are available
+     */
+    private final CountDownLatch clientsLatch = new CountDownLatch(1);
+    /**
+     * Latch released as soon as the controller was fully initialized (first checkForClients included)
+     */
+    private final CountDownLatch readyLatch = new CountDownLatch(1);
+    /**
+     * Creation time of the controller in nanoseconds
+     */
+    private final long creationTime = System.nanoTime();
+    /**
+     * Time in milliseconds the controller took from its creation until it was ready or -1 if it is not ready yet
      */
-    private volatile boolean initialized = false;
+    private volatile long startupDuration = -1;
     
     /**
      * Creates a new instance of an {@link AbstractController}
@@ -49,11 +71,19 @@ public abstract class AbstractController<T> implements IExtensionController {
     }
     
     /**
-     * Starts searching for new extensions registered at the ExtensionPoint asynchronously
+     * Starts searching for new extensions registered at the ExtensionPoint asynchronously. The search may wait for other controllers, so it does not
+     * run on the workers of the {@link AgileReviewExecutor}.
      * @author Malte Brunnlieb (02.06.2012)
      */
     public void checkForNewClients() {
-        new Thread(this).start();
+        try {
+            AgileReviewExecutor.getInstance().executeBlocking(this);
+        } catch (RejectedExecutionException e) {
+            LOG.error("The search for extensions of {} could not be started", extensionID, e);
+            // release waiting threads, as they would wait forever otherwise
+            clientsLatch.countDown();
+            markReady();
+        }
     }
     
     /**
@@ -64,20 +94,94 @@ public abstract class AbstractController<T> implements IExtensionController {
     @Override
     public void run() {
         synchronized (registeredClients) {
-            IConfigurationElement[] config = Platform.getExtensionRegistry().getConfigurationElementsFor(extensionID);
-            if (config.length == 0) {
-                registeredClients.clear();
-                handleNoExtensionAvailable();
-                return;
+            try {
+                IConfigurationElement[] config = Platform.getExtensionRegistry().getConfigurationElementsFor(extensionID);
+                if (config.length == 0) {
+                    registeredClients.clear();
+                    clientsLatch.countDown();
+                    handleNoExtensionAvailable();
+                    return;
+                }
+                
+                for (IConfigurationElement e : config) {
+                    registeredClients.put(e.getAttribute("id"), null);
+                }
+                
+                clientsLatch.countDown();
+                
+                doAfterCheckForClients();
+            } finally {
+                // also release waiting threads if the search failed, as they would wait forever otherwise
+                clientsLatch.countDown();
+                markReady();
             }
-            
-            for (IConfigurationElement e : config) {
-                registeredClients.put(e.getAttribute("id"), null);
+        }
+    }
+    
+    /* (non-Javadoc)
+     * @see org.agilereview.core.controller.IExtensionController#isReady()
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public boolean isReady() {
+        return readyLatch.getCount() == 0;
+    }
+    
+    /* (non-Javadoc)
+     * @see org.agilereview.core.controller.IExtensionController#awaitReady(long, java.util.concurrent.TimeUnit)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+        return readyLatch.await(timeout, unit);
+    }
+    
+    /* (non-Javadoc)
+     * @see org.agilereview.core.controller.IExtensionController#getStartupDuration()
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public long getStartupDuration() {
+        return startupDuration;
+    }
+    
+    /**
+     * Blocks the calling thread until the controller is ready to be used. An interruption while waiting will be restored afterwards.
+     * @author agent (18.10.2026)
+     */
+    protected void awaitReadyUninterruptibly() {
+        awaitUninterruptibly(readyLatch);
+    }
+    
+    /**
+     * Marks the controller as ready on the first call and logs the time the controller took to become ready
+     * @author agent (18.10.2026)
+     */
+    private void markReady() {
+        if (readyLatch.getCount() > 0) {
+            startupDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - creationTime);
+            readyLatch.countDown();
+            LOG.info("{} ready after {} ms", getClass().getSimpleName(), startupDuration);
+        }
+    }
+    
+    /**
+     * Blocks the calling thread until the given latch has been released. An interruption while waiting will be restored afterwards.
+     * @param latch {@link CountDownLatch} to wait for
+     * @author agent (18.10.2026)
+     */
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
             }
-            
-            initialized = true;
-            
-            doAfterCheckForClients();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
         }
     }
     
@@ -132,8 +236,7 @@ public abstract class AbstractController<T> implements IExtensionController {
      * @author Malte Brunnlieb (27.05.2012)
      */
     protected Set<String> getAvailableExtensions() {
-        while (!initialized) {
-        }
+        awaitUninterruptibly(clientsLatch);
         synchronized (registeredClients) {
             return new HashSet<String>(registeredClients.keySet());
         }
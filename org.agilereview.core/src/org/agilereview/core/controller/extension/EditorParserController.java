@@ -13,6 +13,8 @@ import java.util.Set;
 import org.agilereview.common.exception.ExceptionHandler;
 import org.agilereview.common.ui.PlatformUITools;
 import org.agilereview.core.Activator;
+import org.agilereview.core.external.concurrent.AgileReviewExecutor;
+import org.agilereview.core.external.definition.IBatchEditorParser;
 import org.agilereview.core.external.definition.IEditorParser;
 import org.agilereview.core.external.storage.Comment;
 import org.agilereview.core.parser.NullParser;
@@ -51,9 +53,10 @@ public class EditorParserController extends AbstractController<IEditorParser> im
      */
     private static final HashMap<String, IEditorParser> editorParserMap = new HashMap<String, IEditorParser>();
     /**
-     * Flag indicating whether all issues for initialization are finished
+     * A cache of concrete editor classes to the {@link IEditorParser} resolved for them. The cache will be cleared on every change of the
+     * registered extensions. Access to this map should be synchronized upon {@link #classToExtensionMap}.
      */
-    private volatile boolean initialized = false;
+    private static final HashMap<Class<?>, IEditorParser> resolvedParserCache = new HashMap<Class<?>, IEditorParser>();
     /**
      * This boolean value holds if the AgileReview perspective is currently open
      */
@@ -65,11 +68,15 @@ public class EditorParserController extends AbstractController<IEditorParser> im
      */
     EditorParserController() {
         super(IEDITORPARSER_ID);
-        new Thread(new Runnable() {
+        AgileReviewExecutor.getInstance().executeBlocking(new Runnable() {
             
             @Override
             public void run() {
-                while (!PreferenceInitializer.isInitialized) {
+                try {
+                    PreferenceInitializer.awaitInitialization();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
                 }
                 Display.getDefault().syncExec(new Runnable() {
                     @Override
@@ -86,18 +93,19 @@ public class EditorParserController extends AbstractController<IEditorParser> im
                         //initially call broughtToTop for already existing editor
                         final IEditorPart editor = PlatformUITools.getActiveWorkbenchPage().getActiveEditor();
                         if (editor != null) {
-                            new Thread(new Runnable() {
+                            // getting the parser waits for this controller to be ready
+                            AgileReviewExecutor.getInstance().executeBlocking(new Runnable() {
                                 
                                 @Override
                                 public void run() {
                                     partBroughtToTop(editor);
                                 }
-                            }).start();
+                            });
                         }
                     }
                 });
             }
-        }).start();
+        });
         
         checkForNewClients();
     }
@@ -110,7 +118,7 @@ public class EditorParserController extends AbstractController<IEditorParser> im
      */
     public void addTagsToEditorSelection(IEditorPart editor, Comment comment) {
         IEditorParser parser = getParser(editor.getClass());
-        Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.createFileSupportMap();
+        Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.getFileSupportMap();
         IFile file = (IFile) editor.getEditorInput().getAdapter(IFile.class);
         if (file != null) {
             String[] fileendings = fileSupportMap.get(file.getFileExtension());
@@ -136,7 +144,7 @@ public class EditorParserController extends AbstractController<IEditorParser> im
      */
     public void removeTags(IEditorPart editor, String tagId) {
         IEditorParser parser = getParser(editor.getClass());
-        Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.createFileSupportMap();
+        Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.getFileSupportMap();
         IFile file = (IFile) editor.getEditorInput().getAdapter(IFile.class);
         if (file != null) {
             String[] fileendings = fileSupportMap.get(file.getFileExtension());
@@ -150,6 +158,35 @@ public class EditorParserController extends AbstractController<IEditorParser> im
         }
     }
     
+    /**
+     * Removes all tags according to the given tagIds. If the responsible parser is an {@link IBatchEditorParser}, all tags will be removed within
+     * one modification of the editor's document, otherwise they will be removed one comment after another.
+     * @param editor {@link IEditorPart} in which the tags with the given ids should be removed
+     * @param tagIds ids of the comments to be removed
+     * @author agent (18.10.2026)
+     */
+    public void removeTags(IEditorPart editor, Set<String> tagIds) {
+        IEditorParser parser = getParser(editor.getClass());
+        Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.getFileSupportMap();
+        IFile file = (IFile) editor.getEditorInput().getAdapter(IFile.class);
+        if (file != null) {
+            String[] fileendings = fileSupportMap.get(file.getFileExtension());
+            if (fileendings != null) {
+                if (parser instanceof IBatchEditorParser) {
+                    ((IBatchEditorParser) parser).removeTagsInEditor(editor, tagIds, fileendings);
+                } else {
+                    for (String tagId : tagIds) {
+                        parser.removeTagsInEditor(editor, tagId, fileendings);
+                    }
+                }
+            } else {
+                // No annotations supported TODO: perhaps notify with "remember my answer"
+            }
+        } else {
+            ExceptionHandler.warnUser("Please save the current editor as a file in order to have annotation support.");
+        }
+    }
+    
     /**
      * Evaluates whether the editor class is supported by any {@link IEditorParser} and returns it if possible.
      * @param editorClass class of the editor to be parsed
@@ -157,9 +194,13 @@ public class EditorParserController extends AbstractController<IEditorParser> im
      * @author Malte Brunnlieb (15.07.2012)
      */
     private IEditorParser getParser(Class<?> editorClass) {
-        while (!initialized) {
-        }
+        awaitReadyUninterruptibly();
         synchronized (classToExtensionMap) {
+            IEditorParser cachedParser = resolvedParserCache.get(editorClass);
+            if (cachedParser != null) {
+                return cachedParser;
+            }
+            boolean creationFailed = false;
             for (Class<?> clazz : classToExtensionMap.keySet()) {
                 if (clazz.isAssignableFrom(editorClass)) {
                     try {
@@ -167,15 +208,25 @@ public class EditorParserController extends AbstractController<IEditorParser> im
                         if (!editorParserMap.containsKey(plugInID)) {
                             editorParserMap.put(plugInID, createNewExtension(classToExtensionMap.get(clazz)));
                         }
-                        return editorParserMap.get(plugInID);
+                        IEditorParser parser = editorParserMap.get(plugInID);
+                        if (parser != null) {
+                            resolvedParserCache.put(editorClass, parser);
+                        }
+                        return parser;
                     } catch (CoreException e) {
+                        creationFailed = true;
                         ExceptionHandler.logAndNotifyUser("An error occurred while creating the EditorParser " + classToExtensionMap.get(clazz), e,
                                 Activator.PLUGIN_ID);
                         e.printStackTrace();
                     }
                 }
             }
-            return new NullParser();
+            IEditorParser nullParser = new NullParser();
+            if (!creationFailed) {
+                // only cache the null parser if all parsers could be created, otherwise retry the resolution next time
+                resolvedParserCache.put(editorClass, nullParser);
+            }
+            return nullParser;
         }
     }
     
@@ -189,6 +240,7 @@ public class EditorParserController extends AbstractController<IEditorParser> im
         synchronized (classToExtensionMap) {
             Set<String> extensions = getAvailableExtensions();
             classToExtensionMap.clear();
+            resolvedParserCache.clear();
             for (String extension : extensions) {
                 Class<?> clazz = getClass(extension, "editor");
                 if (clazz != null) {
@@ -196,7 +248,6 @@ public class EditorParserController extends AbstractController<IEditorParser> im
                 }
             }
         }
-        initialized = true;
     }
     
     /**
@@ -256,7 +307,7 @@ public class EditorParserController extends AbstractController<IEditorParser> im
     public void partBroughtToTop(IWorkbenchPart part) {
         if (perspectiveOpen && part instanceof IEditorPart) {
             IEditorParser parser = getParser(part.getClass());
-            Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.createFileSupportMap();
+            Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.getFileSupportMap();
             IFile file = (IFile) ((IEditorPart) part).getEditorInput().getAdapter(IFile.class);
             try {
                 String[] fileendings = fileSupportMap.get(file.getFileExtension());
@@ -320,7 +371,7 @@ public class EditorParserController extends AbstractController<IEditorParser> im
             IEditorPart editor = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage().getActiveEditor();
             if (editor != null) {
                 IEditorParser parser = getParser(editor.getClass());
-                Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.createFileSupportMap();
+                Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.getFileSupportMap();
                 IFile file = (IFile) editor.getEditorInput().getAdapter(IFile.class);
                 String[] fileendings = fileSupportMap.get(file.getFileExtension());
                 if (fileendings != null) {
@@ -7,6 +7,8 @@
  */
 package org.agilereview.core.controller.extension;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.agilereview.common.exception.ExceptionHandler;
@@ -27,6 +29,10 @@ public class RDRController extends AbstractController<IReviewDataReceiver> {
      * ExtensionPoint id for extensions implementing {@link IReviewDataReceiver}
      */
     public static final String IREVIEWDATARECEIVER_ID = "org.agilereview.core.ReviewDataReceiver";
+    /**
+     * Dispatcher notifying the {@link IReviewDataReceiver}s concurrently
+     */
+    private final ReviewDataDispatcher dispatcher = new ReviewDataDispatcher();
     
     /**
      * Creates a new instance of {@link RDRController}
@@ -47,19 +53,29 @@ public class RDRController extends AbstractController<IReviewDataReceiver> {
     }
     
     /**
-     * Notifies all registered {@link IReviewDataReceiver}s with the new data provided by the backend
+     * Notifies all registered {@link IReviewDataReceiver}s concurrently with the new data provided by the backend
      * @param newData list of {@link Review}s
      * @author Malte Brunnlieb (28.03.2012)
      */
     void notifyAllClients(ReviewSet newData) {
         Set<String> clients = getAvailableExtensions();
+        Map<String, IReviewDataReceiver> receivers = new LinkedHashMap<String, IReviewDataReceiver>();
         for (String client : clients) {
             try {
-                notifyClient(getUniqueExtension(client), newData);
+                receivers.put(client, getUniqueExtension(client));
             } catch (CoreException e) {
                 ExceptionHandler.logAndNotifyUser("The ReviewDataReceiver '" + client
                         + "' could not be instantiated! This can lead to inconsistent data views.", e, Activator.PLUGIN_ID);
             }
         }
+        dispatcher.dispatch(receivers, newData);
+    }
+    
+    /**
+     * @return the {@link ReviewDataDispatcher} providing the notification statistics of the {@link IReviewDataReceiver}s
+     * @author agent (18.10.2026)
+     */
+    public ReviewDataDispatcher getDispatcher() {
+        return dispatcher;
     }
 }
@@ -0,0 +1,323 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Apache License v2.0 which accompanies this distribution, and is available
+ * at http://www.apache.org/licenses/LICENSE-2.0.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.controller.extension;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.agilereview.common.exception.ExceptionHandler;
+import org.agilereview.core.Activator;
+import org.agilereview.core.external.concurrent.AgileReviewExecutor;
+import org.agilereview.core.external.definition.IDisplayThreadReviewDataReceiver;
+import org.agilereview.core.external.definition.IReviewDataReceiver;
+import org.agilereview.core.external.storage.ReviewSet;
+import org.eclipse.swt.widgets.Display;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ReviewDataDispatcher} notifies {@link IReviewDataReceiver}s concurrently about new review data. Each receiver is notified in its own
+ * task, such that a slow or failing receiver neither delays nor aborts the notification of the others. {@link IDisplayThreadReviewDataReceiver}s
+ * are notified on the display thread, all others on the {@link AgileReviewExecutor}. The caller does not wait for the receivers. Receivers not
+ * finished within the notification timeout are reported and continue in the background. Additionally, the latency, the failures and the timeouts
+ * of the notifications are recorded per receiver.
+ * @author agent (18.10.2026)
+ */
+public class ReviewDataDispatcher {
+    
+    /**
+     * Logger instance
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(ReviewDataDispatcher.class);
+    /**
+     * Default time in milliseconds each receiver may take to process new review data before it is reported
+     */
+    static final long NOTIFICATION_TIMEOUT = 5000;
+    /**
+     * Time in milliseconds each receiver may take to process new review data before it is reported
+     */
+    private final long notificationTimeout;
+    /**
+     * Notification statistics per receiver id
+     */
+    private final ConcurrentMap<String, ReceiverStatistics> statistics = new ConcurrentHashMap<String, ReceiverStatistics>();
+    
+    /**
+     * Notification statistics of one receiver
+     * @author agent (18.10.2026)
+     */
+    private static final class ReceiverStatistics {
+        
+        /**
+         * Number of finished notifications
+         */
+        private final AtomicLong notifications = new AtomicLong();
+        /**
+         * Number of failed notifications
+         */
+        private final AtomicLong failures = new AtomicLong();
+        /**
+         * Number of notifications not finished within the notification timeout
+         */
+        private final AtomicLong timeouts = new AtomicLong();
+        /**
+         * Accumulated latency of all finished notifications in nanoseconds
+         */
+        private final AtomicLong accumulatedLatency = new AtomicLong();
+        /**
+         * Latency of the last finished notification in nanoseconds
+         */
+        private volatile long lastLatency;
+    }
+    
+    /**
+     * Notification of one receiver
+     * @author agent (18.10.2026)
+     */
+    private final class Notification implements Runnable {
+        
+        /**
+         * Id of the receiver
+         */
+        private final String receiverId;
+        /**
+         * Receiver to be notified
+         */
+        private final IReviewDataReceiver receiver;
+        /**
+         * New review data
+         */
+        private final ReviewSet newData;
+        /**
+         * Latch of the whole dispatch, counted down as soon as this notification finished or timed out
+         */
+        private final CountDownLatch completion;
+        /**
+         * States whether this notification already finished or timed out
+         */
+        private final AtomicBoolean completed = new AtomicBoolean();
+        /**
+         * Pending check for the timeout of this notification or <code>null</code> if it has not been scheduled
+         */
+        private volatile Future<?> timeoutCheck;
+        
+        /**
+         * Creates a new {@link Notification}
+         * @param receiverId id of the receiver
+         * @param receiver receiver to be notified
+         * @param newData new review data
+         * @param completion latch of the whole dispatch
+         * @author agent (18.10.2026)
+         */
+        Notification(String receiverId, IReviewDataReceiver receiver, ReviewSet newData, CountDownLatch completion) {
+            this.receiverId = receiverId;
+            this.receiver = receiver;
+            this.newData = newData;
+            this.completion = completion;
+        }
+        
+        /* (non-Javadoc)
+         * @see java.lang.Runnable#run()
+         * @author agent (18.10.2026)
+         */
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                receiver.setReviewData(newData);
+                failed = false;
+            } catch (Throwable e) {
+                ExceptionHandler.logAndNotifyUser("The ReviewDataReceiver '" + receiverId
+                        + "' failed to process the new review data! This can lead to inconsistent data views.", e, Activator.PLUGIN_ID);
+            } finally {
+                record(receiverId, System.nanoTime() - start, failed);
+                complete();
+                Future<?> check = timeoutCheck;
+                if (check != null) {
+                    check.cancel(false);
+                }
+            }
+        }
+        
+        /**
+         * Schedules the check for the timeout of this notification
+         * @author agent (18.10.2026)
+         */
+        void scheduleTimeoutCheck() {
+            try {
+                timeoutCheck = AgileReviewExecutor.getInstance().schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (complete()) {
+                            statisticsOf(receiverId).timeouts.incrementAndGet();
+                            LOG.warn("The ReviewDataReceiver '{}' did not process the new review data within {} ms", receiverId,
+                                    notificationTimeout);
+                        }
+                    }
+                }, notificationTimeout, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                LOG.warn("The timeout of the ReviewDataReceiver '{}' cannot be observed", receiverId, e);
+            }
+        }
+        
+        /**
+         * Marks this notification as completed, i.e. finished or timed out
+         * @return <code>true</code>, if this notification has been completed by this call,<br><code>false</code>, if it has been completed before
+         * @author agent (18.10.2026)
+         */
+        boolean complete() {
+            if (completed.compareAndSet(false, true)) {
+                completion.countDown();
+                return true;
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * Creates a new {@link ReviewDataDispatcher} with the {@link #NOTIFICATION_TIMEOUT}
+     * @author agent (18.10.2026)
+     */
+    public ReviewDataDispatcher() {
+        this(NOTIFICATION_TIMEOUT);
+    }
+    
+    /**
+     * Creates a new {@link ReviewDataDispatcher}
+     * @param notificationTimeout time in milliseconds each receiver may take to process new review data before it is reported
+     * @author agent (18.10.2026)
+     */
+    ReviewDataDispatcher(long notificationTimeout) {
+        this.notificationTimeout = notificationTimeout;
+    }
+    
+    /**
+     * Notifies all given receivers concurrently about the new review data without waiting for them. Only
+     * {@link IDisplayThreadReviewDataReceiver}s are notified directly if called from the display thread.
+     * @param receivers mapping of receiver ids to the receivers to be notified
+     * @param newData new review data
+     * @return a latch, which is released as soon as each receiver either processed the new review data or exceeded the notification timeout
+     * @author agent (18.10.2026)
+     */
+    CountDownLatch dispatch(Map<String, IReviewDataReceiver> receivers, ReviewSet newData) {
+        boolean onDisplayThread = Display.getCurrent() != null;
+        CountDownLatch completion = new CountDownLatch(receivers.size());
+        for (Entry<String, IReviewDataReceiver> entry : receivers.entrySet()) {
+            Notification notification = new Notification(entry.getKey(), entry.getValue(), newData, completion);
+            if (entry.getValue() instanceof IDisplayThreadReviewDataReceiver && onDisplayThread) {
+                notification.run();
+                continue;
+            }
+            notification.scheduleTimeoutCheck();
+            try {
+                if (entry.getValue() instanceof IDisplayThreadReviewDataReceiver) {
+                    Display.getDefault().asyncExec(notification);
+                } else {
+                    AgileReviewExecutor.getInstance().execute(notification);
+                }
+            } catch (RejectedExecutionException e) {
+                notification.complete();
+                statisticsOf(entry.getKey()).failures.incrementAndGet();
+                ExceptionHandler.logAndNotifyUser("The ReviewDataReceiver '" + entry.getKey()
+                        + "' could not be notified! This can lead to inconsistent data views.", e, Activator.PLUGIN_ID);
+            }
+        }
+        return completion;
+    }
+    
+    /**
+     * Returns the average latency of all finished notifications of the given receiver
+     * @param receiverId id of the receiver
+     * @return the average latency in milliseconds or <code>-1</code> if the receiver has not been notified yet
+     * @author agent (18.10.2026)
+     */
+    public long getAverageLatency(String receiverId) {
+        ReceiverStatistics s = statistics.get(receiverId);
+        if (s == null || s.notifications.get() == 0) { return -1; }
+        return TimeUnit.NANOSECONDS.toMillis(s.accumulatedLatency.get() / s.notifications.get());
+    }
+    
+    /**
+     * Returns the latency of the last finished notification of the given receiver
+     * @param receiverId id of the receiver
+     * @return the latency in milliseconds or <code>-1</code> if the receiver has not been notified yet
+     * @author agent (18.10.2026)
+     */
+    public long getLastLatency(String receiverId) {
+        ReceiverStatistics s = statistics.get(receiverId);
+        if (s == null || s.notifications.get() == 0) { return -1; }
+        return TimeUnit.NANOSECONDS.toMillis(s.lastLatency);
+    }
+    
+    /**
+     * Returns the number of failed notifications of the given receiver
+     * @param receiverId id of the receiver
+     * @return the number of notifications which threw an exception or could not be started
+     * @author agent (18.10.2026)
+     */
+    public long getFailureCount(String receiverId) {
+        ReceiverStatistics s = statistics.get(receiverId);
+        return s == null ? 0 : s.failures.get();
+    }
+    
+    /**
+     * Returns the number of notifications of the given receiver, which did not finish within the notification timeout
+     * @param receiverId id of the receiver
+     * @return the number of timed out notifications
+     * @author agent (18.10.2026)
+     */
+    public long getTimeoutCount(String receiverId) {
+        ReceiverStatistics s = statistics.get(receiverId);
+        return s == null ? 0 : s.timeouts.get();
+    }
+    
+    /**
+     * Records a finished notification
+     * @param receiverId id of the notified receiver
+     * @param latency latency of the notification in nanoseconds
+     * @param failed states whether the notification failed
+     * @author agent (18.10.2026)
+     */
+    private void record(String receiverId, long latency, boolean failed) {
+        ReceiverStatistics s = statisticsOf(receiverId);
+        s.lastLatency = latency;
+        s.accumulatedLatency.addAndGet(latency);
+        s.notifications.incrementAndGet();
+        if (failed) {
+            s.failures.incrementAndGet();
+        }
+        LOG.debug("ReviewDataReceiver '{}' processed the new review data in {} ms", receiverId, TimeUnit.NANOSECONDS.toMillis(latency));
+    }
+    
+    /**
+     * Returns the statistics of the given receiver, creating them if necessary
+     * @param receiverId id of the receiver
+     * @return the statistics of the receiver
+     * @author agent (18.10.2026)
+     */
+    private ReceiverStatistics statisticsOf(String receiverId) {
+        ReceiverStatistics s = statistics.get(receiverId);
+        if (s == null) {
+            ReceiverStatistics newStatistics = new ReceiverStatistics();
+            s = statistics.putIfAbsent(receiverId, newStatistics);
+            if (s == null) {
+                s = newStatistics;
+            }
+        }
+        return s;
+    }
+}
@@ -0,0 +1,361 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.concurrent;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared executor for all background tasks of the AgileReview plug-ins. Short tasks are executed by a bounded number of named daemon workers with a
+ * bounded queue. Tasks waiting for other components, e.g. for a controller to become ready or for the display thread, have to be executed via
+ * {@link #executeBlocking(Runnable)} on separate threads, such that they cannot starve the workers they wait for. If the queue of the workers is
+ * full, further tasks overflow to these separate threads, so the submitting thread, which might be the display thread, never executes a task
+ * itself. Tasks submitted after the {@link #shutdown(long, TimeUnit)} are rejected with a {@link RejectedExecutionException}. Delayed tasks are
+ * handed over to the workers by a single timer thread. Additionally, the executor records the number of executed tasks as well as their latency,
+ * i.e. the time from submission until the task finished.<br>
+ * {@link #getInstance()} creates a new executor if the current one has been shut down, e.g. when the plug-in is restarted.
+ * @author agent (18.10.2026)
+ */
+public final class AgileReviewExecutor {
+    
+    /**
+     * Logger instance
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(AgileReviewExecutor.class);
+    /**
+     * Number of worker threads
+     */
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors());
+    /**
+     * Maximum number of threads executing blocking tasks and tasks overflowing the queue of the workers
+     */
+    private static final int MAX_BLOCKING_THREADS = 32;
+    /**
+     * Maximum number of queued tasks
+     */
+    private static final int QUEUE_CAPACITY = 256;
+    /**
+     * Time in seconds idle worker threads will be kept alive
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    /**
+     * The current instance or <code>null</code> if it has not been created yet
+     */
+    private static AgileReviewExecutor instance;
+    /**
+     * The underlying executor
+     */
+    private final ThreadPoolExecutor executor;
+    /**
+     * Executor for blocking tasks and tasks overflowing the queue of the {@link #executor}. It does not queue tasks but starts a new thread for
+     * each task if no idle thread is available.
+     */
+    private final ThreadPoolExecutor blockingExecutor;
+    /**
+     * Timer handing over delayed tasks to the {@link #executor}
+     */
+    private final ScheduledThreadPoolExecutor timer;
+    /**
+     * Number of finished tasks
+     */
+    private final AtomicLong finishedTasks = new AtomicLong();
+    /**
+     * Accumulated latency of all finished tasks in nanoseconds
+     */
+    private final AtomicLong accumulatedLatency = new AtomicLong();
+    /**
+     * Maximum latency of all finished tasks in nanoseconds
+     */
+    private final AtomicLong maxLatency = new AtomicLong();
+    
+    /**
+     * {@link ThreadFactory} creating named daemon threads
+     * @author agent (18.10.2026)
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+        
+        /**
+         * Name prefix of all created threads
+         */
+        private final String namePrefix;
+        /**
+         * Number of the next thread
+         */
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        
+        /**
+         * Creates a new {@link NamedThreadFactory}
+         * @param namePrefix name prefix of all created threads
+         * @author agent (18.10.2026)
+         */
+        NamedThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+        
+        /* (non-Javadoc)
+         * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+         * @author agent (18.10.2026)
+         */
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+    
+    /**
+     * Handler for tasks which could not be queued. Tasks will be handed over to the {@link AgileReviewExecutor#blockingExecutor} as long as the
+     * executor has not been shut down and will be rejected otherwise.
+     * @author agent (18.10.2026)
+     */
+    private final class SaturationHandler implements RejectedExecutionHandler {
+        
+        /* (non-Javadoc)
+         * @see java.util.concurrent.RejectedExecutionHandler#rejectedExecution(java.lang.Runnable, java.util.concurrent.ThreadPoolExecutor)
+         * @author agent (18.10.2026)
+         */
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) { throw new RejectedExecutionException("The executor has already been shut down"); }
+            LOG.warn("Background task queue is full. The task will be executed on an additional thread");
+            blockingExecutor.execute(r);
+        }
+    }
+    
+    /**
+     * Task wrapper recording the latency of the wrapped task
+     * @author agent (18.10.2026)
+     */
+    private final class MeasuredTask implements Runnable {
+        
+        /**
+         * The wrapped task
+         */
+        private final Runnable task;
+        /**
+         * Submission time in nanoseconds
+         */
+        private final long submissionTime = System.nanoTime();
+        
+        /**
+         * Creates a new {@link MeasuredTask}
+         * @param task the task to be executed
+         * @author agent (18.10.2026)
+         */
+        MeasuredTask(Runnable task) {
+            this.task = task;
+        }
+        
+        /* (non-Javadoc)
+         * @see java.lang.Runnable#run()
+         * @author agent (18.10.2026)
+         */
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.error("An unexpected exception occurred in a background task", e);
+                throw e;
+            } finally {
+                recordLatency(System.nanoTime() - submissionTime);
+            }
+        }
+    }
+    
+    /**
+     * Creates a new {@link AgileReviewExecutor}. Use {@link #getInstance()} to obtain the shared instance.
+     * @author agent (18.10.2026)
+     */
+    AgileReviewExecutor() {
+        blockingExecutor = new ThreadPoolExecutor(0, MAX_BLOCKING_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                new NamedThreadFactory("AgileReview-blocking-"));
+        executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(
+                QUEUE_CAPACITY), new NamedThreadFactory("AgileReview-worker-"), new SaturationHandler());
+        executor.allowCoreThreadTimeOut(true);
+        timer = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("AgileReview-timer-"));
+    }
+    
+    /**
+     * Returns the shared instance of the {@link AgileReviewExecutor}. If the current instance has been shut down, a new one will be created.
+     * @return the shared instance of the {@link AgileReviewExecutor}
+     * @author agent (18.10.2026)
+     */
+    public static synchronized AgileReviewExecutor getInstance() {
+        if (instance == null || instance.isShutdown()) {
+            instance = new AgileReviewExecutor();
+        }
+        return instance;
+    }
+    
+    /**
+     * Executes the given task asynchronously. The task must not wait for other background tasks or for the display thread, use
+     * {@link #executeBlocking(Runnable)} for such tasks.
+     * @param task task to be executed
+     * @throws RejectedExecutionException if the executor has already been shut down or all threads are busy
+     * @author agent (18.10.2026)
+     */
+    public void execute(Runnable task) {
+        executor.execute(new MeasuredTask(task));
+    }
+    
+    /**
+     * Executes the given task asynchronously on a separate thread. This should be used for tasks waiting for other components, e.g. for other
+     * background tasks or the display thread, as they would block a worker otherwise.
+     * @param task task to be executed
+     * @throws RejectedExecutionException if the executor has already been shut down or all threads are busy
+     * @author agent (18.10.2026)
+     */
+    public void executeBlocking(Runnable task) {
+        if (executor.isShutdown()) { throw new RejectedExecutionException("The executor has already been shut down"); }
+        blockingExecutor.execute(new MeasuredTask(task));
+    }
+    
+    /**
+     * Executes the given task asynchronously. The task must not wait for other background tasks or for the display thread.
+     * @param task task to be executed
+     * @return a {@link Future} representing the pending completion of the task
+     * @throws RejectedExecutionException if the executor has already been shut down or all threads are busy
+     * @author agent (18.10.2026)
+     */
+    public Future<?> submit(Runnable task) {
+        return executor.submit(new MeasuredTask(task));
+    }
+    
+    /**
+     * Executes the given task asynchronously after the given delay. The task will not be executed if it has been cancelled before the delay
+     * elapsed.
+     * @param task task to be executed
+     * @param delay time until the task will be handed over to the workers
+     * @param unit unit of the delay
+     * @return a {@link Future} representing the pending hand over of the task to the workers
+     * @throws RejectedExecutionException if the executor has already been shut down
+     * @author agent (18.10.2026)
+     */
+    public Future<?> schedule(final Runnable task, long delay, TimeUnit unit) {
+        if (executor.isShutdown()) { throw new RejectedExecutionException("The executor has already been shut down"); }
+        return timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    execute(task);
+                } catch (RejectedExecutionException e) {
+                    LOG.warn("A delayed background task has been rejected", e);
+                }
+            }
+        }, delay, unit);
+    }
+    
+    /**
+     * @return <code>true</code>, if the executor has been shut down,<br><code>false</code>, otherwise
+     * @author agent (18.10.2026)
+     */
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+    
+    /**
+     * @return the number of tasks currently waiting for execution
+     * @author agent (18.10.2026)
+     */
+    public int getQueueLength() {
+        return executor.getQueue().size();
+    }
+    
+    /**
+     * @return the number of tasks currently being executed, including blocking tasks
+     * @author agent (18.10.2026)
+     */
+    public int getActiveTaskCount() {
+        return executor.getActiveCount() + blockingExecutor.getActiveCount();
+    }
+    
+    /**
+     * @return the number of finished tasks
+     * @author agent (18.10.2026)
+     */
+    public long getFinishedTaskCount() {
+        return finishedTasks.get();
+    }
+    
+    /**
+     * @return the average latency of all finished tasks in milliseconds, i.e. the time from submission until the task finished
+     * @author agent (18.10.2026)
+     */
+    public long getAverageTaskLatency() {
+        long finished = finishedTasks.get();
+        return finished == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(accumulatedLatency.get() / finished);
+    }
+    
+    /**
+     * @return the maximum latency of all finished tasks in milliseconds, i.e. the time from submission until the task finished
+     * @author agent (18.10.2026)
+     */
+    public long getMaxTaskLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatency.get());
+    }
+    
+    /**
+     * Shuts down the executor. Already submitted tasks will be executed, new tasks will be rejected and delayed tasks, which are still waiting for
+     * their delay, will be dropped. Waits for the given time for all tasks to be finished and interrupts all remaining tasks afterwards.
+     * @param timeout maximum time to wait for the termination of submitted tasks
+     * @param unit unit of the timeout
+     * @return <code>true</code>, if all tasks finished within the given time,<br><code>false</code>, otherwise
+     * @author agent (18.10.2026)
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        timer.shutdownNow();
+        executor.shutdown();
+        boolean terminated = false;
+        try {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            // the workers may still hand over tasks to the blocking executor, so it is shut down afterwards
+            if (executor.awaitTermination(timeout, unit)) {
+                blockingExecutor.shutdown();
+                terminated = blockingExecutor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!terminated) {
+            LOG.warn("{} background tasks did not finish in time and will be interrupted", getActiveTaskCount() + getQueueLength());
+            executor.shutdownNow();
+            blockingExecutor.shutdownNow();
+        }
+        LOG.info("Background executor shut down after {} tasks with an average latency of {} ms (max {} ms)", getFinishedTaskCount(),
+                getAverageTaskLatency(), getMaxTaskLatency());
+        return terminated;
+    }
+    
+    /**
+     * Records the latency of a finished task
+     * @param latency latency in nanoseconds
+     * @author agent (18.10.2026)
+     */
+    private void recordLatency(long latency) {
+        finishedTasks.incrementAndGet();
+        accumulatedLatency.addAndGet(latency);
+        long currentMax;
+        do {
+            currentMax = maxLatency.get();
+        } while (latency > currentMax && !maxLatency.compareAndSet(currentMax, latency));
+    }
+}
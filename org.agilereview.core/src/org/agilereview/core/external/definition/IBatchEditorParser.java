@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.definition;
+
+import java.util.Set;
+
+import org.eclipse.ui.IEditorPart;
+
+/**
+ * Optional extension of the {@link IEditorParser} interface for parsers, which are able to remove the tags of several comments within one
+ * modification of the editor's document. The tags of parsers not implementing this interface will be removed one comment after another.
+ * @author agent (18.10.2026)
+ */
+public interface IBatchEditorParser extends IEditorParser {
+    
+    /**
+     * Removes all tags according to the given tagIds. In contrast to multiple calls of
+     * {@link #removeTagsInEditor(IEditorPart, String, String[])}, all tags should be removed within one modification of the underlying document.
+     * @param editor {@link IEditorPart} in which the tags with the given ids should be removed
+     * @param tagIds ids of the comments to be removed
+     * @param multiLineCommentTags a two-dimensional array containing the begin and end tag which should be used for inserting the comment anchor
+     * @author agent (18.10.2026)
+     */
+    public void removeTagsInEditor(IEditorPart editor, Set<String> tagIds, String[] multiLineCommentTags);
+}
@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Apache License v2.0 which accompanies this distribution, and is available
+ * at http://www.apache.org/licenses/LICENSE-2.0.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.definition;
+
+/**
+ * Marker interface for {@link IReviewDataReceiver}s which have to be notified on the display thread. All other {@link IReviewDataReceiver}s will
+ * be notified concurrently on background threads, such that {@link #setReviewData(org.agilereview.core.external.storage.ReviewSet)} has to be
+ * thread-safe for them.
+ * @author agent (18.10.2026)
+ */
+public interface IDisplayThreadReviewDataReceiver extends IReviewDataReceiver {
+    
+}
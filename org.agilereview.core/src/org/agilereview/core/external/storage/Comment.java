@@ -30,7 +30,7 @@ public class Comment implements PropertyChangeListener {
     /**
      * The id of the comment that is retrieved from an {@link IStorageClient}
      */
-    private String id;
+    private final String id;
     /**
      * The {@link IFile} underlying the editor in which the comment was added
      */
@@ -38,12 +38,20 @@ public class Comment implements PropertyChangeListener {
     /**
      * The {@link Review} which the comment is related to
      */
-    private Review review = null;
+    private final Review review;
     /**
      * The author of the comment
      */
     //TODO maybe separate author object for sync with color?
-    private String author = InstanceScope.INSTANCE.getNode(Activator.PLUGIN_ID).get(AgileReviewPreferences.AUTHOR, System.getProperty("user.name"));
+    private final String author;
+    /**
+     * Key identifying this comment uniquely, composed of the IDs of the {@link Review}, the author and the comment's ID
+     */
+    private final String identityKey;
+    /**
+     * Cached hash code of the {@link #identityKey}
+     */
+    private final int hash;
     /**
      * The date when the comment was created initially
      */
@@ -80,7 +88,7 @@ public class Comment implements PropertyChangeListener {
     /**
      * {@link PropertyChangeSupport} of this POJO, used for firing {@link PropertyChangeEvent}s on changes of fields.
      */
-    private PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
+    private final ModelChangeSupport propertyChangeSupport = new ModelChangeSupport(this);
     
     /**
      * Constructor that should be used if a new comment is created.
@@ -90,8 +98,11 @@ public class Comment implements PropertyChangeListener {
      */
     Comment(String id, IFile commentedFile, Review review) {
         this.id = id;
+        this.author = InstanceScope.INSTANCE.getNode(Activator.PLUGIN_ID).get(AgileReviewPreferences.AUTHOR, System.getProperty("user.name"));
         this.commentedFile = commentedFile;
         this.review = review;
+        this.identityKey = createIdentityKey(review, author, id);
+        this.hash = identityKey.hashCode();
     }
     
     /**
@@ -119,6 +130,29 @@ public class Comment implements PropertyChangeListener {
         this.status = status;
         this.priority = priority;
         this.text = text;
+        this.identityKey = createIdentityKey(review, author, id);
+        this.hash = identityKey.hashCode();
+    }
+    
+    /**
+     * Creates the key identifying a comment uniquely
+     * @param review the {@link Review} the comment is related to
+     * @param author the author of the comment
+     * @param id the ID of the comment
+     * @return the identity key
+     * @author agent (18.10.2026)
+     */
+    private static String createIdentityKey(Review review, String author, String id) {
+        return (review == null ? null : review.getId()) + "\u0000" + author + "\u0000" + id;
+    }
+    
+    /**
+     * Returns the immutable key identifying this comment uniquely. Two comments are equal if and only if their identity keys are equal.
+     * @return the identity key of this comment
+     * @author agent (18.10.2026)
+     */
+    String getIdentityKey() {
+        return identityKey;
     }
     
     /**
@@ -150,8 +184,9 @@ public class Comment implements PropertyChangeListener {
         IFile oldValue = this.commentedFile;
         if (oldValue.equals(commentedFile)) return;
         this.commentedFile = commentedFile;
-        resetModificationDate();
-        propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.COMMENT_COMMENTED_FILE_REFERENCE, oldValue, this.commentedFile);
+        Calendar oldDate = resetModificationDate();
+        propertyChangeSupport.fireModification(PropertyChangeEventKeys.COMMENT_COMMENTED_FILE_REFERENCE, oldValue, this.commentedFile,
+                oldDate, this.modificationDate);
     }
     
     /**
@@ -176,12 +211,14 @@ public class Comment implements PropertyChangeListener {
     }
     
     /**
-     * Resets the modification date. Should be used if an attribute was changed e.g. in setters.
+     * Resets the modification date. Should be used if an attribute was changed e.g. in setters. The new modification date will be propagated
+     * together with the property change by {@link ModelChangeSupport#fireModification(String, Object, Object, Calendar, Calendar)}.
+     * @return the modification date before the reset
      */
-    private void resetModificationDate() {
+    private Calendar resetModificationDate() {
         Calendar oldValue = this.modificationDate;
         this.modificationDate = Calendar.getInstance();
-        propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.COMMENT_MODIFICATION_DATE, oldValue, this.modificationDate);
+        return oldValue;
     }
     
     /**
@@ -199,8 +236,8 @@ public class Comment implements PropertyChangeListener {
         // Check whether there was a real change
         if (oldValue.equals(recipient)) return;
         this.recipient = recipient;
-        resetModificationDate();
-        propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.COMMENT_RECIPIENT, oldValue, this.recipient);
+        Calendar oldDate = resetModificationDate();
+        propertyChangeSupport.fireModification(PropertyChangeEventKeys.COMMENT_RECIPIENT, oldValue, this.recipient, oldDate, this.modificationDate);
     }
     
     /**
@@ -218,8 +255,8 @@ public class Comment implements PropertyChangeListener {
         // Check whether there was a real change
         if (oldValue == status) return;
         this.status = status;
-        resetModificationDate();
-        propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.COMMENT_STATUS, oldValue, this.status);
+        Calendar oldDate = resetModificationDate();
+        propertyChangeSupport.fireModification(PropertyChangeEventKeys.COMMENT_STATUS, oldValue, this.status, oldDate, this.modificationDate);
     }
     
     /**
@@ -237,8 +274,8 @@ public class Comment implements PropertyChangeListener {
         // Check whether there was a real change
         if (oldValue == priority) return;
         this.priority = priority;
-        resetModificationDate();
-        propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.COMMENT_PRIORITY, oldValue, this.priority);
+        Calendar oldDate = resetModificationDate();
+        propertyChangeSupport.fireModification(PropertyChangeEventKeys.COMMENT_PRIORITY, oldValue, this.priority, oldDate, this.modificationDate);
     }
     
     /**
@@ -256,8 +293,8 @@ public class Comment implements PropertyChangeListener {
         // Check whether there was a real change
         if (oldValue.equals(text)) return;
         this.text = text;
-        resetModificationDate();
-        propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.COMMENT_TEXT, oldValue, this.text);
+        Calendar oldDate = resetModificationDate();
+        propertyChangeSupport.fireModification(PropertyChangeEventKeys.COMMENT_TEXT, oldValue, this.text, oldDate, this.modificationDate);
     }
     
     /**
@@ -289,9 +326,10 @@ public class Comment implements PropertyChangeListener {
             if (!this.replies.contains(reply)) {
                 List<Reply> oldValue = new ArrayList<Reply>(this.replies);
                 this.replies.add(reply);
-                resetModificationDate();
+                Calendar oldDate = resetModificationDate();
                 reply.addPropertyChangeListener(this);
-                if (!massOperationLock) propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.COMMENT_REPLIES, oldValue, this.replies);
+                if (!massOperationLock) propertyChangeSupport.fireModification(PropertyChangeEventKeys.COMMENT_REPLIES, oldValue, this.replies,
+                        oldDate, this.modificationDate);
                 
             }
         }
@@ -306,8 +344,9 @@ public class Comment implements PropertyChangeListener {
             List<Reply> oldValue = new ArrayList<Reply>(this.replies);
             this.replies.remove(reply);
             reply.removePropertyChangeListener(this);
-            resetModificationDate();
-            if (!massOperationLock) propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.COMMENT_REPLIES, oldValue, this.replies);
+            Calendar oldDate = resetModificationDate();
+            if (!massOperationLock) propertyChangeSupport.fireModification(PropertyChangeEventKeys.COMMENT_REPLIES, oldValue, this.replies,
+                    oldDate, this.modificationDate);
         }
     }
     
@@ -365,7 +404,7 @@ public class Comment implements PropertyChangeListener {
      */
     @Override
     public int hashCode() {
-        return ((review == null ? review : review.getId()) + author + id).hashCode();
+        return hash;
     }
     
     /* (non-Javadoc)
@@ -374,6 +413,9 @@ public class Comment implements PropertyChangeListener {
      */
     @Override
     public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
         if (o == null) {
             return false;
         }
@@ -381,11 +423,7 @@ public class Comment implements PropertyChangeListener {
             return false;
         }
         Comment commentToCompare = (Comment) o;
-        if (this.getReview().equals(commentToCompare.getReview()) && this.author.equals(commentToCompare.getAuthor())
-                && this.getId().equals(commentToCompare.getId())) {
-            return true;
-        }
-        return false;
+        return this.hash == commentToCompare.hash && this.identityKey.equals(commentToCompare.identityKey);
     }
     
     /* (non-Javadoc)
@@ -0,0 +1,282 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Container for the {@link Comment}s of one {@link Review}. The {@link Comment}s are stored in insertion order and are keyed by their identity
+ * key, such that membership checks and removals take constant time. Additionally, the {@link Comment}s are indexed by their author and by their
+ * commented file.<br> The container does not support {@link #set(int, Comment)} and {@link #add(int, Comment)}, as the order of the
+ * {@link Comment}s is always the insertion order. Adding an already contained {@link Comment} has no effect.<br> All accesses except the iteration
+ * are synchronized on the container, such that the indices can be queried while {@link Comment}s are added concurrently.
+ * @author agent (18.10.2026)
+ */
+final class CommentContainer extends AbstractList<Comment> {
+    
+    /**
+     * All {@link Comment}s in insertion order keyed by their {@link Comment#getIdentityKey() identity key}
+     */
+    private final Map<String, Comment> comments = new LinkedHashMap<String, Comment>();
+    /**
+     * Index of all {@link Comment}s by their author
+     */
+    private final Map<String, Set<Comment>> authorIndex = new HashMap<String, Set<Comment>>();
+    /**
+     * Index of all {@link Comment}s by their commented file
+     */
+    private final Map<IFile, Set<Comment>> fileIndex = new HashMap<IFile, Set<Comment>>();
+    /**
+     * Array of all {@link Comment}s in insertion order for positional access or <code>null</code> if it has to be rebuilt
+     */
+    private Comment[] positionCache;
+    
+    /**
+     * Iterator over the {@link CommentContainer} supporting {@link #remove()}
+     * @author agent (18.10.2026)
+     */
+    private final class CommentIterator implements Iterator<Comment> {
+        
+        /**
+         * Iterator of the underlying map
+         */
+        private final Iterator<Comment> it = comments.values().iterator();
+        /**
+         * {@link Comment} returned by the last call of {@link #next()}
+         */
+        private Comment current;
+        /**
+         * Expected modification count of the {@link CommentContainer}
+         */
+        private int expectedModCount = modCount;
+        
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+        
+        @Override
+        public Comment next() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            current = it.next();
+            return current;
+        }
+        
+        @Override
+        public void remove() {
+            synchronized (CommentContainer.this) {
+                if (current == null) throw new IllegalStateException();
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                it.remove();
+                unindex(current);
+                current = null;
+                expectedModCount = modCount;
+            }
+        }
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractCollection#size()
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public synchronized int size() {
+        return comments.size();
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractList#get(int)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public synchronized Comment get(int index) {
+        if (positionCache == null) {
+            positionCache = comments.values().toArray(new Comment[comments.size()]);
+        }
+        return positionCache[index];
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractCollection#contains(java.lang.Object)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public synchronized boolean contains(Object o) {
+        if (!(o instanceof Comment)) return false;
+        return comments.containsKey(((Comment) o).getIdentityKey());
+    }
+    
+    /**
+     * Appends the given {@link Comment} if it is not already contained
+     * @param comment {@link Comment} to be added
+     * @return <code>true</code> if the {@link Comment} has been added,<br><code>false</code> if it was already contained
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public synchronized boolean add(Comment comment) {
+        String key = comment.getIdentityKey();
+        if (comments.containsKey(key)) return false;
+        comments.put(key, comment);
+        addToIndex(authorIndex, comment.getAuthor(), comment);
+        addToIndex(fileIndex, comment.getCommentedFile(), comment);
+        modified();
+        return true;
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractCollection#remove(java.lang.Object)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public synchronized boolean remove(Object o) {
+        if (!(o instanceof Comment)) return false;
+        Comment removed = comments.remove(((Comment) o).getIdentityKey());
+        if (removed == null) return false;
+        unindex(removed);
+        return true;
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractList#remove(int)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public synchronized Comment remove(int index) {
+        Comment comment = get(index);
+        remove(comment);
+        return comment;
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractList#clear()
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public synchronized void clear() {
+        comments.clear();
+        authorIndex.clear();
+        fileIndex.clear();
+        modified();
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractList#iterator()
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public Iterator<Comment> iterator() {
+        return new CommentIterator();
+    }
+    
+    /**
+     * Returns all {@link Comment}s of the given author in the order they have been added
+     * @param author author of the {@link Comment}s
+     * @return a new {@link List} of all {@link Comment}s of the given author
+     * @author agent (18.10.2026)
+     */
+    synchronized List<Comment> getByAuthor(String author) {
+        Set<Comment> result = authorIndex.get(author);
+        return result == null ? new ArrayList<Comment>(0) : new ArrayList<Comment>(result);
+    }
+    
+    /**
+     * Returns all {@link Comment}s on the given file
+     * @param file commented file
+     * @return a new {@link List} of all {@link Comment}s on the given file
+     * @author agent (18.10.2026)
+     */
+    synchronized List<Comment> getByFile(IFile file) {
+        Set<Comment> result = fileIndex.get(file);
+        return result == null ? new ArrayList<Comment>(0) : new ArrayList<Comment>(result);
+    }
+    
+    /**
+     * @return a new {@link Set} of all files which are commented by at least one {@link Comment} of this container
+     * @author agent (18.10.2026)
+     */
+    synchronized Set<IFile> getCommentedFiles() {
+        return new HashSet<IFile>(fileIndex.keySet());
+    }
+    
+    /**
+     * Updates the file index after the commented file of a contained {@link Comment} has been changed
+     * @param comment {@link Comment} whose commented file has been changed
+     * @param oldFile the previously commented file
+     * @author agent (18.10.2026)
+     */
+    synchronized void commentedFileChanged(Comment comment, IFile oldFile) {
+        if (!contains(comment)) return;
+        removeFromIndex(fileIndex, oldFile, comment);
+        addToIndex(fileIndex, comment.getCommentedFile(), comment);
+    }
+    
+    /**
+     * Removes the given already removed {@link Comment} from all secondary indices
+     * @param comment {@link Comment} which has been removed
+     * @author agent (18.10.2026)
+     */
+    private void unindex(Comment comment) {
+        removeFromIndex(authorIndex, comment.getAuthor(), comment);
+        removeFromIndex(fileIndex, comment.getCommentedFile(), comment);
+        modified();
+    }
+    
+    /**
+     * Invalidates the {@link #positionCache} and increments the modification count
+     * @author agent (18.10.2026)
+     */
+    private void modified() {
+        positionCache = null;
+        modCount++;
+    }
+    
+    /**
+     * Adds the given {@link Comment} to the given index
+     * @param index secondary index
+     * @param key key the {@link Comment} is indexed with
+     * @param comment {@link Comment} to be added
+     * @author agent (18.10.2026)
+     */
+    private static <K> void addToIndex(Map<K, Set<Comment>> index, K key, Comment comment) {
+        Set<Comment> entries = index.get(key);
+        if (entries == null) {
+            entries = new LinkedHashSet<Comment>();
+            index.put(key, entries);
+        }
+        entries.add(comment);
+    }
+    
+    /**
+     * Removes the given {@link Comment} from the given index
+     * @param index secondary index
+     * @param key key the {@link Comment} is indexed with
+     * @param comment {@link Comment} to be removed
+     * @author agent (18.10.2026)
+     */
+    private static <K> void removeFromIndex(Map<K, Set<Comment>> index, K key, Comment comment) {
+        Set<Comment> entries = index.get(key);
+        if (entries != null) {
+            entries.remove(comment);
+            if (entries.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Location of a {@link Comment} to be created by {@link CommentingAPI#createComments(java.util.List, String, String)}, consisting of the
+ * commented file and the commented line range.
+ * @author agent (18.10.2026)
+ */
+public final class CommentLocation {
+    
+    /**
+     * The file to be commented
+     */
+    private final IFile file;
+    /**
+     * Line number of the comment start tag
+     */
+    private final int startLine;
+    /**
+     * Line number of the comment end tag
+     */
+    private final int endLine;
+    
+    /**
+     * Creates a new {@link CommentLocation}
+     * @param file the file to be commented
+     * @param startLine line number of the comment start tag
+     * @param endLine line number of the comment end tag
+     * @author agent (18.10.2026)
+     */
+    public CommentLocation(IFile file, int startLine, int endLine) {
+        this.file = file;
+        this.startLine = startLine;
+        this.endLine = endLine;
+    }
+    
+    /**
+     * @return the file to be commented
+     * @author agent (18.10.2026)
+     */
+    public IFile getFile() {
+        return file;
+    }
+    
+    /**
+     * @return the line number of the comment start tag
+     * @author agent (18.10.2026)
+     */
+    public int getStartLine() {
+        return startLine;
+    }
+    
+    /**
+     * @return the line number of the comment end tag
+     * @author agent (18.10.2026)
+     */
+    public int getEndLine() {
+        return endLine;
+    }
+    
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public String toString() {
+        return (file == null ? "null" : file.getFullPath().toString()) + ":" + startLine + "-" + endLine;
+    }
+}
@@ -9,9 +9,16 @@ package org.agilereview.core.external.storage;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.agilereview.common.ui.PlatformUITools;
@@ -29,6 +36,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IEditorReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -128,10 +136,7 @@ public class CommentingAPI {
      */
     public static Comment createComment(IFile iFile, int startLine, int endLine, String author, String reviewId) throws IOException,
             NullArgumentException {
-        if (startLine < 0 || endLine < 0)
-            throw new IllegalArgumentException("Start line or end line must not be < 0. Start line was " + startLine + " and end line was " + endLine
-                    + ".");
-        if (!iFile.exists()) throw new FileNotFoundException("The file " + iFile.getFullPath() + " could not be found in the current workspace");
+        checkLocation(iFile, startLine, endLine);
         
         //get review
         Review review = getReview(reviewId);
@@ -143,7 +148,7 @@ public class CommentingAPI {
         Comment newComment = new Comment(commentId, iFile, review);
         review.addComment(newComment);
         
-        Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.createFileSupportMap();
+        Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.getFileSupportMap();
         String fileExtension = FilenameUtils.getExtension(iFile.getName());
         String[] multiLineCommentTags = fileSupportMap.get(fileExtension);
         if (multiLineCommentTags != null) {
@@ -156,6 +161,118 @@ public class CommentingAPI {
         return newComment;
     }
     
+    /**
+     * Creates one new {@link Comment} with the given author in the {@link Review} with the given review id for each of the given locations. In
+     * contrast to multiple calls of {@link #createComment(IFile, int, int, String, String)}, the locations are grouped per file, such that the
+     * tags of each file are added by one parser and the file is refreshed once. Furthermore, the new {@link Comment}s are added to the
+     * {@link Review} with one single notification, such that they will be persisted once.
+     * @param locations the locations to be commented
+     * @param author the author's name
+     * @param reviewId the ID of the review to which the comments belong
+     * @return the new {@link Comment}s in the order of the given locations
+     * @throws IOException if the start/end tags cannot be added or one of the files does not exist. In the latter case no comment will be created.
+     * @throws NullArgumentException if the review with the given ID cannot be found.
+     * @author agent (18.10.2026)
+     */
+    public static List<Comment> createComments(List<CommentLocation> locations, String author, String reviewId) throws IOException,
+            NullArgumentException {
+        for (CommentLocation location : locations) {
+            checkLocation(location.getFile(), location.getStartLine(), location.getEndLine());
+        }
+        
+        //get review
+        Review review = getReview(reviewId);
+        if (review == null) { throw new NullArgumentException(
+                "Comments could not be created. Currently no review data is provided by the StorageClient."); }
+        
+        //create comments
+        List<Comment> newComments = new ArrayList<Comment>(locations.size());
+        Map<IFile, List<Integer>> locationsPerFile = new LinkedHashMap<IFile, List<Integer>>();
+        review.beginCommentBatch();
+        try {
+            for (int i = 0; i < locations.size(); i++) {
+                IFile iFile = locations.get(i).getFile();
+                Comment newComment = new Comment(sController.getNewCommentId(author, review), iFile, review);
+                review.addComment(newComment);
+                newComments.add(newComment);
+                
+                List<Integer> fileLocations = locationsPerFile.get(iFile);
+                if (fileLocations == null) {
+                    fileLocations = new ArrayList<Integer>();
+                    locationsPerFile.put(iFile, fileLocations);
+                }
+                fileLocations.add(i);
+            }
+        } finally {
+            review.endCommentBatch();
+        }
+        
+        //add tags
+        Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.getFileSupportMap();
+        for (Entry<IFile, List<Integer>> entry : locationsPerFile.entrySet()) {
+            IFile iFile = entry.getKey();
+            String fileExtension = FilenameUtils.getExtension(iFile.getName());
+            String[] multiLineCommentTags = fileSupportMap.get(fileExtension);
+            if (multiLineCommentTags != null) {
+                List<Integer> fileLocations = entry.getValue();
+                // add tags bottom up, such that added tags cannot shift the lines of the remaining locations
+                Collections.sort(fileLocations, new StartLineComparator(locations));
+                FileParser fileParser = new FileParser(iFile.getLocation().toFile(), multiLineCommentTags);
+                for (int i : fileLocations) {
+                    CommentLocation location = locations.get(i);
+                    fileParser.addTags(newComments.get(i).getId(), location.getStartLine(), location.getEndLine());
+                }
+                refreshIFile(iFile);
+            } else {
+                LOG.info("File extension '{}' is currently not supported. Adding global file comments", fileExtension);
+            }
+        }
+        return newComments;
+    }
+    
+    /**
+     * Orders indices of {@link CommentLocation}s descending by their start lines
+     * @author agent (18.10.2026)
+     */
+    private static class StartLineComparator implements Comparator<Integer> {
+        
+        /**
+         * The indexed {@link CommentLocation}s
+         */
+        private final List<CommentLocation> locations;
+        
+        /**
+         * Creates a new {@link StartLineComparator} for indices of the given {@link CommentLocation}s
+         * @param locations the indexed {@link CommentLocation}s
+         * @author agent (18.10.2026)
+         */
+        StartLineComparator(List<CommentLocation> locations) {
+            this.locations = locations;
+        }
+        
+        @Override
+        public int compare(Integer o1, Integer o2) {
+            int line1 = locations.get(o1).getStartLine();
+            int line2 = locations.get(o2).getStartLine();
+            return line1 > line2 ? -1 : (line1 == line2 ? 0 : 1);
+        }
+    }
+    
+    /**
+     * Checks whether a {@link Comment} can be created at the given location
+     * @param iFile The file to which the comment will be added
+     * @param startLine line number of the for comment start tag
+     * @param endLine line number of the for comment end tag
+     * @throws FileNotFoundException if the file does not exist
+     * @author agent (18.10.2026)
+     */
+    private static void checkLocation(IFile iFile, int startLine, int endLine) throws FileNotFoundException {
+        if (startLine < 0 || endLine < 0)
+            throw new IllegalArgumentException("Start line or end line must not be < 0. Start line was " + startLine + " and end line was " + endLine
+                    + ".");
+        if (!iFile.exists()) throw new FileNotFoundException("The file " + iFile.getFullPath() + " could not be found in the current workspace");
+    }
+    
     /**
      * Resynchronizes the given {@link IFile} with the file system
      * @param iFile to be refreshed
@@ -200,9 +317,7 @@ public class CommentingAPI {
     public static void deleteReview(Review review) throws IOException {
         if (review == null) { throw new IllegalArgumentException("Review could not be null."); }
         
-        for (Comment c : new LinkedList<Comment>(review.getComments())) {
-            deleteComment(c);
-        }
+        deleteComments(new ArrayList<Comment>(review.getComments()));
         
         Object detail = sController.getAllReviews().getValue(ReviewSetMetaDataKeys.SHOW_IN_DETAIL_VIEW);
         if (review.equals(detail)) {
@@ -234,7 +349,7 @@ public class CommentingAPI {
         if (part != null) {
             eController.removeTags(part, comment.getId());
         } else {
-            Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.createFileSupportMap();
+            Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.getFileSupportMap();
             String[] multiLineCommentTags = fileSupportMap.get(comment.getCommentedFile().getFileExtension());
             if (multiLineCommentTags != null) {
                 FileParser fileParser = new FileParser(comment.getCommentedFile().getRawLocation().toFile(), multiLineCommentTags);
@@ -254,6 +369,98 @@ public class CommentingAPI {
         comment.getReview().deleteComment(comment);
     }
     
+    /**
+     * Deletes all given {@link Comment}s. In contrast to multiple calls of {@link #deleteComment(Comment)}, the tags are removed per file: the tags
+     * of files opened in an editor are removed within one modification of the editor's document, the tags of all other files are removed by one
+     * parser per file. Furthermore, the {@link Comment}s of each {@link Review} are removed with one single notification.
+     * @param comments {@link Comment}s which should be deleted
+     * @throws IOException if any commented file could not be read or written
+     * @author agent (18.10.2026)
+     */
+    public static void deleteComments(Collection<Comment> comments) throws IOException {
+        if (comments == null) { throw new IllegalArgumentException("Comments could not be null."); }
+        Map<IFile, Set<String>> tagIdsPerFile = new LinkedHashMap<IFile, Set<String>>();
+        Map<Review, List<Comment>> commentsPerReview = new LinkedHashMap<Review, List<Comment>>();
+        for (Comment c : comments) {
+            if (c == null) { throw new IllegalArgumentException("Comment could not be null."); }
+            if (c.getCommentedFile() != null) {
+                Set<String> tagIds = tagIdsPerFile.get(c.getCommentedFile());
+                if (tagIds == null) {
+                    tagIds = new LinkedHashSet<String>();
+                    tagIdsPerFile.put(c.getCommentedFile(), tagIds);
+                }
+                tagIds.add(c.getId());
+            }
+            List<Comment> reviewComments = commentsPerReview.get(c.getReview());
+            if (reviewComments == null) {
+                reviewComments = new ArrayList<Comment>();
+                commentsPerReview.put(c.getReview(), reviewComments);
+            }
+            reviewComments.add(c);
+        }
+        
+        //remove tags
+        Map<IFile, IEditorPart> openEditors = getOpenEditors();
+        Map<String, String[]> fileSupportMap = FileSupportPreferencesFactory.getFileSupportMap();
+        for (Entry<IFile, Set<String>> entry : tagIdsPerFile.entrySet()) {
+            IFile file = entry.getKey();
+            IEditorPart editor = openEditors.get(file);
+            if (editor != null) {
+                eController.removeTags(editor, entry.getValue());
+            } else {
+                String[] multiLineCommentTags = fileSupportMap.get(file.getFileExtension());
+                if (multiLineCommentTags != null) {
+                    FileParser fileParser = new FileParser(file.getRawLocation().toFile(), multiLineCommentTags);
+                    for (String tagId : entry.getValue()) {
+                        fileParser.removeTags(tagId);
+                    }
+                    LOG.info("Tags of {} comments removed from file '{}'.", entry.getValue().size(), file.getFullPath());
+                    refreshIFile(file);
+                } else {
+                    LOG.info("No tags were removed from file '{}' due to there are no multi line comment tags registered for file extension '.{}'",
+                            file.getFullPath(), file.getFileExtension());
+                }
+            }
+        }
+        
+        //remove comments
+        Object detail = sController.getAllReviews().getValue(ReviewSetMetaDataKeys.SHOW_IN_DETAIL_VIEW);
+        if (detail instanceof Comment && comments.contains(detail)) {
+            sController.getAllReviews().storeValue(ReviewSetMetaDataKeys.SHOW_IN_DETAIL_VIEW, null);
+        }
+        for (Entry<Review, List<Comment>> entry : commentsPerReview.entrySet()) {
+            Review review = entry.getKey();
+            review.beginCommentBatch();
+            try {
+                for (Comment c : entry.getValue()) {
+                    review.deleteComment(c);
+                }
+            } finally {
+                review.endCommentBatch();
+            }
+        }
+    }
+    
+    /**
+     * Collects all editors of the active workbench page, which are currently opened and show an {@link IFile}
+     * @return a mapping of the {@link IFile}s to the editors showing them
+     * @author agent (18.10.2026)
+     */
+    private static Map<IFile, IEditorPart> getOpenEditors() {
+        Map<IFile, IEditorPart> openEditors = new HashMap<IFile, IEditorPart>();
+        for (IEditorReference reference : PlatformUITools.getActiveWorkbenchPage().getEditorReferences()) {
+            // do not restore editors, which have not been opened yet, as their files can be changed directly
+            IEditorPart editor = reference.getEditor(false);
+            if (editor != null) {
+                IFile file = (IFile) editor.getEditorInput().getAdapter(IFile.class);
+                if (file != null) {
+                    openEditors.put(file, editor);
+                }
+            }
+        }
+        return openEditors;
+    }
+    
     /**
      * Deletes the {@link Reply} with the given reviewId. Use this, if you do not have a reference to the real reply.
      * @param replyId identifying the {@link Reply} which should be deleted
@@ -287,8 +494,7 @@ public class CommentingAPI {
      */
     private static Review getReview(String reviewId) {
         if (reviewId == null) { throw new IllegalArgumentException("Review id could not be null."); }
-        Set<Review> reviews = new HashSet<Review>(sController.getAllReviews());
-        for (Review r : reviews) {
+        for (Review r : sController.getAllReviews()) {
             if (r.getId().equals(reviewId)) { return r; }
         }
         return null;
@@ -301,8 +507,7 @@ public class CommentingAPI {
      * @author Malte Brunnlieb (17.12.2012)
      */
     private static Comment getComment(String commentId) {
-        Set<Review> reviews = new HashSet<Review>(sController.getAllReviews());
-        for (Review r : reviews) {
+        for (Review r : sController.getAllReviews()) {
             for (Comment c : r.getComments()) {
                 if (c.getId().equals(commentId)) { return c; }
             }
@@ -318,8 +523,7 @@ public class CommentingAPI {
      */
     private static Reply getReply(String replyId) {
         // TODO: Test me hard
-        Set<Review> reviews = new HashSet<Review>(sController.getAllReviews());
-        for (Review r : reviews) {
+        for (Review r : sController.getAllReviews()) {
             for (Comment c : r.getComments()) {
                 for (Reply reply : c.getReplies()) {
                     return getReply(replyId, reply);
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeSupport;
+import java.util.Calendar;
+
+import org.agilereview.core.external.storage.listeners.ModelEventBus;
+
+/**
+ * {@link PropertyChangeSupport} of the model objects. Besides notifying the registered {@link java.beans.PropertyChangeListener}s, all events
+ * fired by the model object itself are published once to the {@link ModelEventBus}es of all {@link ReviewSet}s containing the model object.
+ * Events which are only re-fired by the model object on behalf of one of its children are not published again.
+ * @author agent (18.10.2026)
+ */
+final class ModelChangeSupport extends PropertyChangeSupport {
+    
+    /**
+     * Generated serial version UID
+     */
+    private static final long serialVersionUID = -6232411089460937146L;
+    /**
+     * Empty array of {@link ModelEventBus}es
+     */
+    static final ModelEventBus[] NO_BUSES = new ModelEventBus[0];
+    /**
+     * The model object firing the events
+     */
+    private final Object source;
+    
+    /**
+     * Creates a new {@link ModelChangeSupport} for the given model object
+     * @param source {@link Review}, {@link Comment}, {@link Reply} or {@link ReviewSet} firing the events
+     * @author agent (18.10.2026)
+     */
+    ModelChangeSupport(Object source) {
+        super(source);
+        this.source = source;
+    }
+    
+    /**
+     * Fires a {@link ModificationEvent} for the change of a property which also changed the modification date of the source
+     * @param propertyName the {@link org.agilereview.core.external.storage.constants.PropertyChangeEventKeys} of the changed property
+     * @param oldValue old value of the property
+     * @param newValue new value of the property
+     * @param oldModificationDate modification date before the change
+     * @param newModificationDate modification date after the change
+     * @author agent (18.10.2026)
+     */
+    void fireModification(String propertyName, Object oldValue, Object newValue, Calendar oldModificationDate, Calendar newModificationDate) {
+        firePropertyChange(new ModificationEvent(source, propertyName, oldValue, newValue, oldModificationDate, newModificationDate));
+    }
+    
+    /* (non-Javadoc)
+     * @see java.beans.PropertyChangeSupport#firePropertyChange(java.beans.PropertyChangeEvent)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public void firePropertyChange(PropertyChangeEvent event) {
+        Object oldValue = event.getOldValue();
+        Object newValue = event.getNewValue();
+        if (oldValue != null && newValue != null && oldValue.equals(newValue)) { return; }
+        super.firePropertyChange(event);
+        if (event.getSource() == source) {
+            for (ModelEventBus bus : getEventBuses()) {
+                bus.publish(event);
+            }
+        }
+    }
+    
+    /**
+     * @return the {@link ModelEventBus}es of all {@link ReviewSet}s currently containing the model object
+     * @author agent (18.10.2026)
+     */
+    private ModelEventBus[] getEventBuses() {
+        Review review = null;
+        if (source instanceof ReviewSet) {
+            return ((ReviewSet) source).getEventBuses();
+        } else if (source instanceof Review) {
+            review = (Review) source;
+        } else if (source instanceof Comment) {
+            review = ((Comment) source).getReview();
+        } else if (source instanceof Reply) {
+            Comment rootComment = ((Reply) source).getRootComment();
+            review = rootComment == null ? null : rootComment.getReview();
+        }
+        ModelEventBus[] buses = review == null ? null : review.getEventBuses();
+        return buses == null ? NO_BUSES : buses;
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage;
+
+import java.beans.PropertyChangeEvent;
+import java.util.Calendar;
+
+/**
+ * {@link PropertyChangeEvent} fired by {@link Comment}s and {@link Reply}s on a change of one of their properties. Besides the property delta,
+ * the event carries the modification date of the changed object before and after the change, such that one change results in one single event
+ * instead of an additional modification date event.
+ * @author agent (18.10.2026)
+ */
+public class ModificationEvent extends PropertyChangeEvent {
+    
+    /**
+     * Generated serial version UID
+     */
+    private static final long serialVersionUID = 4310869413552815725L;
+    /**
+     * Modification date before the change
+     */
+    private final Calendar oldModificationDate;
+    /**
+     * Modification date after the change
+     */
+    private final Calendar newModificationDate;
+    
+    /**
+     * Creates a new {@link ModificationEvent}
+     * @param source the {@link Comment} or {@link Reply} which has been changed
+     * @param propertyName the {@link org.agilereview.core.external.storage.constants.PropertyChangeEventKeys} of the changed property
+     * @param oldValue old value of the property
+     * @param newValue new value of the property
+     * @param oldModificationDate modification date before the change
+     * @param newModificationDate modification date after the change
+     * @author agent (18.10.2026)
+     */
+    ModificationEvent(Object source, String propertyName, Object oldValue, Object newValue, Calendar oldModificationDate,
+            Calendar newModificationDate) {
+        super(source, propertyName, oldValue, newValue);
+        this.oldModificationDate = oldModificationDate;
+        this.newModificationDate = newModificationDate;
+    }
+    
+    /**
+     * @return the modification date of the changed object before the change
+     * @author agent (18.10.2026)
+     */
+    public Calendar getOldModificationDate() {
+        return oldModificationDate;
+    }
+    
+    /**
+     * @return the modification date of the changed object after the change
+     * @author agent (18.10.2026)
+     */
+    public Calendar getNewModificationDate() {
+        return newModificationDate;
+    }
+}
@@ -28,12 +28,12 @@ public final class Reply implements PropertyChangeListener {
     /**
      * Unique ID of this {@link Reply}
      */
-    private String id;
+    private final String id;
     /**
      * The author of the reply
      */
     //TODO maybe separate author object for sync with color?
-    private String author = InstanceScope.INSTANCE.getNode(Activator.PLUGIN_ID).get(AgileReviewPreferences.AUTHOR, System.getProperty("user.name"));
+    private final String author;
     /**
      * The date when the reply was create initially
      */
@@ -53,11 +53,23 @@ public final class Reply implements PropertyChangeListener {
     /**
      * The parent {@link Object} of this {@link Reply}, either a {@link Comment} or another {@link Reply}
      */
-    private Object parent = null;
+    private final Object parent;
+    /**
+     * Fully qualified key identifying this reply uniquely, composed of the identity key of the parent and the ID of this reply
+     */
+    private final String identityKey;
+    /**
+     * Cached hash code of the {@link #identityKey}
+     */
+    private final int hash;
+    /**
+     * The {@link Comment} at the root of the reply tree containing this {@link Reply}
+     */
+    private final Comment rootComment;
     /**
      * {@link PropertyChangeSupport} of this POJO, used for firing {@link PropertyChangeEvent}s on changes of fields.
      */
-    private PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
+    private final ModelChangeSupport propertyChangeSupport = new ModelChangeSupport(this);
     /**
      * Lock for add/remove/... operations on the review set which enables synchronized access and enables more specific property change events
      */
@@ -79,6 +91,9 @@ public final class Reply implements PropertyChangeListener {
         this.modificationDate = modificationDate;
         this.text = text;
         this.parent = parent;
+        this.identityKey = createIdentityKey(parent, id);
+        this.hash = identityKey.hashCode();
+        this.rootComment = findRootComment(parent);
     }
     
     /**
@@ -88,7 +103,47 @@ public final class Reply implements PropertyChangeListener {
      */
     Reply(String id, Object parent) {
         this.id = id;
+        this.author = InstanceScope.INSTANCE.getNode(Activator.PLUGIN_ID).get(AgileReviewPreferences.AUTHOR, System.getProperty("user.name"));
         this.parent = parent;
+        this.identityKey = createIdentityKey(parent, id);
+        this.hash = identityKey.hashCode();
+        this.rootComment = findRootComment(parent);
+    }
+    
+    /**
+     * Determines the {@link Comment} at the root of the reply tree. As the root {@link Comment} of the parent is already known, the costs do not
+     * depend on the depth of the reply within the reply tree.
+     * @param parent the parent {@link Object} of the reply, either a {@link Comment} or another {@link Reply}
+     * @return the root {@link Comment} or <code>null</code> if the parent is neither a {@link Comment} nor a {@link Reply}
+     * @author agent (18.10.2026)
+     */
+    private static Comment findRootComment(Object parent) {
+        if (parent instanceof Comment) {
+            return (Comment) parent;
+        } else if (parent instanceof Reply) {
+            return ((Reply) parent).rootComment;
+        }
+        return null;
+    }
+    
+    /**
+     * Creates the fully qualified key identifying a reply uniquely. As the identity key of the parent is already computed, the costs do not
+     * depend on the depth of the reply within the reply tree.
+     * @param parent the parent {@link Object} of the reply, either a {@link Comment} or another {@link Reply}
+     * @param id the ID of the reply
+     * @return the identity key
+     * @author agent (18.10.2026)
+     */
+    private static String createIdentityKey(Object parent, String id) {
+        String parentKey;
+        if (parent instanceof Comment) {
+            parentKey = ((Comment) parent).getIdentityKey();
+        } else if (parent instanceof Reply) {
+            parentKey = ((Reply) parent).identityKey;
+        } else {
+            parentKey = String.valueOf(parent);
+        }
+        return parentKey + "\u0000" + id;
     }
     
     /**
@@ -120,12 +175,14 @@ public final class Reply implements PropertyChangeListener {
     }
     
     /**
-     * Resets the modification date. Should be used if an attribute was changed e.g. in setters.
+     * Resets the modification date. Should be used if an attribute was changed e.g. in setters. The new modification date will be propagated
+     * together with the property change by {@link ModelChangeSupport#fireModification(String, Object, Object, Calendar, Calendar)}.
+     * @return the modification date before the reset
      */
-    private void resetModificationDate() {
+    private Calendar resetModificationDate() {
         Calendar oldValue = this.modificationDate;
         this.modificationDate = Calendar.getInstance();
-        propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REPLY_MODIFICATION_DATE, oldValue, this.modificationDate);
+        return oldValue;
     }
     
     /**
@@ -141,8 +198,8 @@ public final class Reply implements PropertyChangeListener {
     public void setText(String text) {
         String oldValue = this.text;
         this.text = text;
-        resetModificationDate();
-        propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REPLY_TEXT, oldValue, this.text);
+        Calendar oldDate = resetModificationDate();
+        propertyChangeSupport.fireModification(PropertyChangeEventKeys.REPLY_TEXT, oldValue, this.text, oldDate, this.modificationDate);
     }
     
     /**
@@ -175,8 +232,9 @@ public final class Reply implements PropertyChangeListener {
                 List<Reply> oldValue = new ArrayList<Reply>(this.replies);
                 this.replies.add(reply);
                 reply.addPropertyChangeListener(this);
-                resetModificationDate();
-                if (!massOperationLock) propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REPLY_REPLIES, oldValue, this.replies);
+                Calendar oldDate = resetModificationDate();
+                if (!massOperationLock) propertyChangeSupport.fireModification(PropertyChangeEventKeys.REPLY_REPLIES, oldValue, this.replies,
+                        oldDate, this.modificationDate);
             }
         }
     }
@@ -190,8 +248,9 @@ public final class Reply implements PropertyChangeListener {
             List<Reply> oldValue = new ArrayList<Reply>(this.replies);
             this.replies.remove(reply);
             reply.removePropertyChangeListener(this);
-            resetModificationDate();
-            if (!massOperationLock) propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REPLY_REPLIES, oldValue, this.replies);
+            Calendar oldDate = resetModificationDate();
+            if (!massOperationLock) propertyChangeSupport.fireModification(PropertyChangeEventKeys.REPLY_REPLIES, oldValue, this.replies,
+                    oldDate, this.modificationDate);
         }
     }
     
@@ -224,6 +283,14 @@ public final class Reply implements PropertyChangeListener {
         return this.parent;
     }
     
+    /**
+     * @return the {@link Comment} at the root of the reply tree containing this {@link Reply}
+     * @author agent (18.10.2026)
+     */
+    Comment getRootComment() {
+        return rootComment;
+    }
+    
     /**
      * Adds a {@link PropertyChangeListener} that is notified on {@link PropertyChangeEvent}s to this {@link Reply}.
      * @param listener
@@ -257,20 +324,7 @@ public final class Reply implements PropertyChangeListener {
      */
     @Override
     public int hashCode() {
-        Object stringForHash = this.getId();
-        
-        Object parentN = this.parent;
-        while (!(parentN instanceof Comment)) {
-            Reply parentReply = (Reply) parentN;
-            stringForHash = parentReply.getId() + stringForHash;
-            parentN = parentReply.getParent();
-        }
-        
-        Comment comment = (Comment) parentN;
-        
-        stringForHash = comment.getReview().getId() + comment.getId() + stringForHash;
-        
-        return stringForHash.hashCode();
+        return hash;
     }
     
     /* (non-Javadoc)
@@ -279,6 +333,9 @@ public final class Reply implements PropertyChangeListener {
      */
     @Override
     public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
         if (o == null) {
             return false;
         }
@@ -286,10 +343,7 @@ public final class Reply implements PropertyChangeListener {
             return false;
         }
         Reply replyToCompare = (Reply) o;
-        if (this.getId().equals(replyToCompare.getId()) && this.parent.equals(replyToCompare.parent)) {
-            return true;
-        }
-        return false;
+        return this.hash == replyToCompare.hash && this.identityKey.equals(replyToCompare.identityKey);
     }
     
     /* (non-Javadoc)
@@ -12,24 +12,20 @@ import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
-import org.agilereview.common.exception.ExceptionHandler;
-import org.agilereview.core.Activator;
 import org.agilereview.core.external.preferences.AgileReviewPreferences;
 import org.agilereview.core.external.storage.constants.PropertyChangeEventKeys;
-import org.eclipse.core.runtime.preferences.IEclipsePreferences;
-import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
-import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
-import org.eclipse.core.runtime.preferences.InstanceScope;
-import org.osgi.service.prefs.BackingStoreException;
+import org.agilereview.core.external.storage.listeners.ModelEventBus;
+import org.agilereview.core.preferences.ReviewStateService;
+import org.eclipse.core.resources.IFile;
 
 /**
  * A class that stores review data and a list of comments belonging to the review.
  * @author Peter Reuter (19.02.2012)
  */
-public class Review implements PropertyChangeListener, IPreferenceChangeListener {
+public class Review implements PropertyChangeListener {
     
     /**
      * The unique name of the review entered by the user
@@ -56,9 +52,9 @@ public class Review implements PropertyChangeListener, IPreferenceChangeListener
      */
     private String description = "";
     /**
-     * A {@link List} of {@link Comment}s that belong to this {@link Review}
+     * All {@link Comment}s that belong to this {@link Review}
      */
-    private List<Comment> comments = new ArrayList<Comment>(0);
+    private final CommentContainer comments = new CommentContainer();
     /**
      * A flag indicating whether the {@link Review} is closed or open
      */
@@ -70,11 +66,23 @@ public class Review implements PropertyChangeListener, IPreferenceChangeListener
     /**
      * {@link PropertyChangeSupport} of this POJO, used for firing {@link PropertyChangeEvent}s on changes of fields.
      */
-    private final PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
+    private final PropertyChangeSupport propertyChangeSupport = new ModelChangeSupport(this);
+    /**
+     * {@link ModelEventBus}es of all {@link ReviewSet}s containing this {@link Review}. The array is replaced on every change.
+     */
+    private volatile ModelEventBus[] eventBuses = ModelChangeSupport.NO_BUSES;
     /**
      * Lock for add/remove/... operations on the review set which enables synchronized access and enables more specific property change events
      */
     private Boolean massOperationLock = false;
+    /**
+     * Number of currently running comment batches, see {@link #beginCommentBatch()}
+     */
+    private int commentBatchDepth = 0;
+    /**
+     * {@link Comment}s of this {@link Review} before the outermost running comment batch has been started
+     */
+    private List<Comment> commentsBeforeBatch = null;
     
     /**
      * Constructor that should be used if a new {@link Review}w is created. The {@link Review} will be added to the list of open reviews.
@@ -83,7 +91,7 @@ public class Review implements PropertyChangeListener, IPreferenceChangeListener
     Review(String id) {
         this.id = id;
         setOpenReviewsPreference();
-        InstanceScope.INSTANCE.getNode(Activator.PLUGIN_ID).addPreferenceChangeListener(this);
+        ReviewPreferenceDispatcher.getInstance().register(this);
     }
     
     /**
@@ -96,22 +104,33 @@ public class Review implements PropertyChangeListener, IPreferenceChangeListener
      * @param description a text describing the e.g. the content or scope of this {@link Review}
      */
     Review(String id, String name, int status, String reference, String responsibility, String description) {
+        this(id, name, status, reference, responsibility, description, ReviewStateService.getInstance().isOpen(id), id.equals(ReviewStateService
+                .getInstance().getActiveReviewId()));
+        ReviewPreferenceDispatcher.getInstance().register(this);
+    }
+    
+    /**
+     * Constructor that should be used if the open and active state of the {@link Review} is already known, e.g. by the {@link ReviewGraphBuilder}.
+     * The {@link Review} will not be registered for changes of these states.
+     * @param id the id of the {@link Review}
+     * @param name the name of the {@link Review}
+     * @param status the status of the {@link Review}
+     * @param reference e.g. a reference to a bug tracker
+     * @param responsibility the person that is in charge for this {@link Review}
+     * @param description a text describing the e.g. the content or scope of this {@link Review}
+     * @param isOpen <code>true</code> if the {@link Review} is open,<br><code>false</code> otherwise
+     * @param isActive <code>true</code> if the {@link Review} is the active one,<br><code>false</code> otherwise
+     * @author agent (18.10.2026)
+     */
+    Review(String id, String name, int status, String reference, String responsibility, String description, boolean isOpen, boolean isActive) {
         this.id = id;
         this.name = name;
         this.status = status;
         this.reference = reference;
         this.responsibility = responsibility;
         this.description = description;
-        IEclipsePreferences preferences = InstanceScope.INSTANCE.getNode(Activator.PLUGIN_ID);
-        this.isOpen = preferences.get(AgileReviewPreferences.OPEN_REVIEWS, "").contains(this.id);
-        this.isActive = this.id.equals(preferences.get(AgileReviewPreferences.ACTIVE_REVIEW_ID, ""));
-        preferences.addPreferenceChangeListener(this);
-    }
-    
-    @Override
-    protected void finalize() throws Throwable {
-        InstanceScope.INSTANCE.getNode(Activator.PLUGIN_ID).removePreferenceChangeListener(this);
-        super.finalize();
+        this.isOpen = isOpen;
+        this.isActive = isActive;
     }
     
     /**
@@ -190,12 +209,42 @@ public class Review implements PropertyChangeListener, IPreferenceChangeListener
     }
     
     /**
+     * Returns all {@link Comment}s of this {@link Review} in the order they have been added. The returned list does not support positional
+     * modifications like {@link List#set(int, Object)}.
      * @return a list of comments belonging to this {@link Review}
      */
     public List<Comment> getComments() {
         return comments;
     }
     
+    /**
+     * Returns all {@link Comment}s of the given author without iterating over all {@link Comment}s of this {@link Review}
+     * @param author author of the {@link Comment}s
+     * @return a new list of all {@link Comment}s of this {@link Review} written by the given author
+     * @author agent (18.10.2026)
+     */
+    public List<Comment> getComments(String author) {
+        return comments.getByAuthor(author);
+    }
+    
+    /**
+     * Returns all {@link Comment}s on the given file without iterating over all {@link Comment}s of this {@link Review}
+     * @param commentedFile the commented file
+     * @return a new list of all {@link Comment}s of this {@link Review} on the given file
+     * @author agent (18.10.2026)
+     */
+    public List<Comment> getComments(IFile commentedFile) {
+        return comments.getByFile(commentedFile);
+    }
+    
+    /**
+     * @return a new {@link Set} of all files which are commented by at least one {@link Comment} of this {@link Review}
+     * @author agent (18.10.2026)
+     */
+    public Set<IFile> getCommentedFiles() {
+        return comments.getCommentedFiles();
+    }
+    
     /**
      * Sets the {@link Comment}s of this {@link Review}.<br><strong>Note: </strong>This method is intended to be used only while deriving
      * {@link Comment}s from external storage!
@@ -203,9 +252,11 @@ public class Review implements PropertyChangeListener, IPreferenceChangeListener
      * @author Peter Reuter (28.04.2012)
      */
     public void setComments(List<Comment> comments) {
-        this.comments = comments;
-        for (Comment comment : this.comments) {
-            comment.addPropertyChangeListener(this);
+        this.comments.clear();
+        for (Comment comment : comments) {
+            if (this.comments.add(comment)) {
+                comment.addPropertyChangeListener(this);
+            }
         }
     }
     
@@ -216,10 +267,11 @@ public class Review implements PropertyChangeListener, IPreferenceChangeListener
     public void addComment(Comment comment) {
         synchronized (massOperationLock) {
             if (!this.comments.contains(comment)) {
-                ArrayList<Comment> oldValue = new ArrayList<Comment>(this.comments);
+                boolean notify = !massOperationLock && commentBatchDepth == 0;
+                ArrayList<Comment> oldValue = notify ? new ArrayList<Comment>(this.comments) : null;
                 this.comments.add(comment);
                 comment.addPropertyChangeListener(this);
-                if (!massOperationLock) {
+                if (notify) {
                     propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEW_COMMENTS, oldValue, this.comments);
                 }
             }
@@ -232,15 +284,46 @@ public class Review implements PropertyChangeListener, IPreferenceChangeListener
      */
     public void deleteComment(Comment comment) {
         synchronized (massOperationLock) {
-            ArrayList<Comment> oldValue = new ArrayList<Comment>(this.comments);
+            if (!this.comments.contains(comment)) return;
+            boolean notify = !massOperationLock && commentBatchDepth == 0;
+            ArrayList<Comment> oldValue = notify ? new ArrayList<Comment>(this.comments) : null;
             this.comments.remove(comment);
             comment.removePropertyChangeListener(this);
-            if (!massOperationLock) {
+            if (notify) {
                 propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEW_COMMENTS, oldValue, this.comments);
             }
         }
     }
     
+    /**
+     * Starts a batch of {@link Comment} additions and deletions. Until the batch is finished by {@link #endCommentBatch()}, no events will be
+     * fired for {@link PropertyChangeEventKeys#REVIEW_COMMENTS}. Batches can be nested.
+     * @author agent (18.10.2026)
+     */
+    void beginCommentBatch() {
+        synchronized (massOperationLock) {
+            if (commentBatchDepth++ == 0) {
+                commentsBeforeBatch = new ArrayList<Comment>(this.comments);
+            }
+        }
+    }
+    
+    /**
+     * Finishes a batch started by {@link #beginCommentBatch()}. When the outermost batch is finished, one single event for
+     * {@link PropertyChangeEventKeys#REVIEW_COMMENTS} will be fired for all changes of the batch.
+     * @author agent (18.10.2026)
+     */
+    void endCommentBatch() {
+        List<Comment> oldValue;
+        synchronized (massOperationLock) {
+            if (commentBatchDepth == 0) throw new IllegalStateException("No comment batch has been started.");
+            if (--commentBatchDepth > 0) return;
+            oldValue = commentsBeforeBatch;
+            commentsBeforeBatch = null;
+        }
+        propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEW_COMMENTS, oldValue, this.comments);
+    }
+    
     /**
      * Deletes the {@link Comment} with the given index from this {@link Review};
      * @param index the index of the {@link Comment} that is to be deleted
@@ -314,14 +397,7 @@ public class Review implements PropertyChangeListener, IPreferenceChangeListener
         }
         
         if (id != null) {
-            IEclipsePreferences preferences = InstanceScope.INSTANCE.getNode(Activator.PLUGIN_ID);
-            preferences.put(AgileReviewPreferences.ACTIVE_REVIEW_ID, this.id);
-            try {
-                preferences.flush();
-            } catch (BackingStoreException e) {
-                String message = "AgileReview could not persistently save the ID of the active review.";
-                ExceptionHandler.logAndNotifyUser(e, message);
-            }
+            ReviewStateService.getInstance().setActiveReviewId(id);
         }
     }
     
@@ -365,63 +441,81 @@ public class Review implements PropertyChangeListener, IPreferenceChangeListener
      */
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
+        if (PropertyChangeEventKeys.COMMENT_COMMENTED_FILE_REFERENCE.equals(evt.getPropertyName()) && evt.getSource() instanceof Comment) {
+            synchronized (massOperationLock) {
+                comments.commentedFileChanged((Comment) evt.getSource(), (IFile) evt.getOldValue());
+            }
+        }
         propertyChangeSupport.firePropertyChange(evt);
     }
     
+    /**
+     * Attaches the {@link ModelEventBus} of a {@link ReviewSet} this {@link Review} has been added to
+     * @param bus {@link ModelEventBus} to be attached
+     * @author agent (18.10.2026)
+     */
+    synchronized void attachEventBus(ModelEventBus bus) {
+        for (ModelEventBus b : eventBuses) {
+            if (b == bus) { return; }
+        }
+        ModelEventBus[] newBuses = Arrays.copyOf(eventBuses, eventBuses.length + 1);
+        newBuses[eventBuses.length] = bus;
+        eventBuses = newBuses;
+    }
+    
+    /**
+     * Detaches the {@link ModelEventBus} of a {@link ReviewSet} this {@link Review} has been removed from
+     * @param bus {@link ModelEventBus} to be detached
+     * @author agent (18.10.2026)
+     */
+    synchronized void detachEventBus(ModelEventBus bus) {
+        List<ModelEventBus> newBuses = new ArrayList<ModelEventBus>(Arrays.asList(eventBuses));
+        if (newBuses.remove(bus)) {
+            eventBuses = newBuses.toArray(new ModelEventBus[newBuses.size()]);
+        }
+    }
+    
+    /**
+     * @return the {@link ModelEventBus}es of all {@link ReviewSet}s containing this {@link Review}
+     * @author agent (18.10.2026)
+     */
+    ModelEventBus[] getEventBuses() {
+        return eventBuses;
+    }
+    
     /**
      * Adds/removes this review to/from the preference holding a comma separated list of open reviews depending on its "open/closed" state.
      * @author Peter Reuter (26.06.2012)
      */
     void setOpenReviewsPreference() {
-        IEclipsePreferences preferences = InstanceScope.INSTANCE.getNode(Activator.PLUGIN_ID);
-        String reviewIdsPref = preferences.get(AgileReviewPreferences.OPEN_REVIEWS, "");
-        ArrayList<String> reviewIds;
-        
-        if ("".equals(reviewIdsPref)) {
-            reviewIds = new ArrayList<String>();
-        } else {
-            reviewIds = new ArrayList<String>(Arrays.asList(reviewIdsPref.split(",")));
-        }
-        
-        if (this.isOpen) {
-            if (!reviewIds.contains(this.id)) {
-                reviewIds.add(this.id);
-            }
-        } else {
-            reviewIds.remove(this.id);
-        }
-        
-        StringBuffer buf = new StringBuffer();
-        if (reviewIds.size() > 0) {
-            Iterator<String> i = reviewIds.iterator();
-            for (;;) {
-                buf.append(i.next());
-                if (!i.hasNext()) break;
-                buf.append(",");
-            }
-        }
-        preferences.put(AgileReviewPreferences.OPEN_REVIEWS, buf.toString());
-        
-        try {
-            preferences.flush();
-        } catch (BackingStoreException e) {
-            String message = "AgileReview could not persistently save list of open Reviews.";
-            ExceptionHandler.logAndNotifyUser(e, message);
+        ReviewStateService.getInstance().setOpen(this.id, this.isOpen);
+    }
+    
+    /**
+     * Updates the active state of this {@link Review} due to a changed {@link AgileReviewPreferences#ACTIVE_REVIEW_ID} preference. This method is
+     * intended to be called by the {@link ReviewPreferenceDispatcher} only.
+     * @param isActive the new active state
+     * @author agent (18.10.2026)
+     */
+    void updateIsActive(boolean isActive) {
+        boolean oldValue = this.isActive;
+        this.isActive = isActive;
+        if (this.isActive != oldValue) {
+            propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEW_ISACTIVE_STATUS, oldValue, this.isActive);
         }
     }
     
-    /* (non-Javadoc)
-     * @see org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener#preferenceChange(org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent)
-     * @author Peter Reuter (17.01.2013)
+    /**
+     * Updates the open state of this {@link Review} due to a changed {@link AgileReviewPreferences#OPEN_REVIEWS} preference. This method is
+     * intended to be called by the {@link ReviewPreferenceDispatcher} only.
+     * @param isOpen the new open state
+     * @author agent (18.10.2026)
      */
-    @Override
-    public void preferenceChange(PreferenceChangeEvent event) {
-        if (AgileReviewPreferences.ACTIVE_REVIEW_ID.equals(event.getKey())) {
-            boolean oldValue = this.isActive;
-            this.isActive = this.id.equals(event.getNewValue());
-            if (this.isActive != oldValue) {
-                propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEW_ISACTIVE_STATUS, oldValue, this.isActive);
-            }
+    void updateIsOpen(boolean isOpen) {
+        boolean oldValue = this.isOpen;
+        this.isOpen = isOpen;
+        if (this.isOpen != oldValue) {
+            propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEW_ISOPEN_STATUS, oldValue, this.isOpen);
         }
     }
     
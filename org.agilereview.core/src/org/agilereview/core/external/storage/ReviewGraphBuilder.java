@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.agilereview.core.external.definition.IStorageClient;
+import org.agilereview.core.preferences.ReviewStateService;
+import org.eclipse.core.resources.IFile;
+
+/**
+ * The {@link ReviewGraphBuilder} enables {@link IStorageClient}s to reconstruct a whole graph of {@link Review}s, {@link Comment}s and
+ * {@link Reply}s at once. In contrast to the single methods of the {@link StorageAPI}, the objects are only collected while building the graph.
+ * The open and active states of all {@link Review}s are read once, and no events are fired while building the graph. All children are attached
+ * to their parents and all listeners are wired in one pass by {@link #build()} or {@link #publish(ReviewSet)}.<br> A
+ * {@link ReviewGraphBuilder} can only be used once and is not thread-safe.
+ * @author agent (18.10.2026)
+ */
+public final class ReviewGraphBuilder {
+    
+    /**
+     * All {@link Review}s created by this builder in creation order
+     */
+    private final List<Review> reviews = new ArrayList<Review>();
+    /**
+     * {@link Comment}s collected for each {@link Review}
+     */
+    private final Map<Review, List<Comment>> comments = new IdentityHashMap<Review, List<Comment>>();
+    /**
+     * {@link Reply}s collected for each {@link Comment} or {@link Reply}
+     */
+    private final Map<Object, List<Reply>> replies = new IdentityHashMap<Object, List<Reply>>();
+    /**
+     * IDs of all open reviews at the time this builder has been created
+     */
+    private final Set<String> openReviewIds;
+    /**
+     * ID of the active review at the time this builder has been created
+     */
+    private final String activeReviewId;
+    /**
+     * States whether the graph has already been built
+     */
+    private boolean built = false;
+    
+    /**
+     * Creates a new {@link ReviewGraphBuilder}. Use {@link StorageAPI#createReviewGraphBuilder()} to obtain an instance.
+     * @author agent (18.10.2026)
+     */
+    ReviewGraphBuilder() {
+        ReviewStateService stateService = ReviewStateService.getInstance();
+        this.openReviewIds = stateService.getOpenReviewIds();
+        this.activeReviewId = stateService.getActiveReviewId();
+    }
+    
+    /**
+     * Creates a new {@link Review} as part of the graph
+     * @param id the id of the {@link Review}
+     * @param name the name of the {@link Review}
+     * @param status the status of the {@link Review}
+     * @param reference e.g. a reference to a bug tracker
+     * @param responsibility the person that is in charge for this {@link Review}
+     * @param description a text describing the e.g. the content or scope of this {@link Review}
+     * @return the new {@link Review}
+     * @author agent (18.10.2026)
+     */
+    public Review addReview(String id, String name, int status, String reference, String responsibility, String description) {
+        checkNotBuilt();
+        Review review = new Review(id, name, status, reference, responsibility, description, openReviewIds.contains(id), id.equals(activeReviewId));
+        reviews.add(review);
+        return review;
+    }
+    
+    /**
+     * Creates a new {@link Comment} as part of the graph. The {@link Comment} will be added to the given {@link Review} when building the graph.
+     * The {@link Review} may also be a {@link Review} which has not been created by this builder. Its {@link Comment}s will then be replaced by the
+     * {@link Comment}s added here.
+     * @param review the {@link Review} the comment is related to
+     * @param id the ID of the comment retrieved from the current {@link IStorageClient}
+     * @param author the author of the comment
+     * @param commentedFile the {@link IFile} underlying the editor in which the comment was added
+     * @param creationDate the date when the comment was initially created
+     * @param modificationDate the date when the comment was lastly modified
+     * @param recipient the person the comment is addressed to
+     * @param status the current status of the comment
+     * @param priority the priority of the comment
+     * @param text the text of the comment
+     * @return the new {@link Comment}
+     * @author agent (18.10.2026)
+     */
+    public Comment addComment(Review review, String id, String author, IFile commentedFile, Calendar creationDate, Calendar modificationDate,
+            String recipient, int status, int priority, String text) {
+        checkNotBuilt();
+        Comment comment = new Comment(id, author, commentedFile, review, creationDate, modificationDate, recipient, status, priority, text);
+        childrenOf(comments, review).add(comment);
+        return comment;
+    }
+    
+    /**
+     * Creates a new {@link Reply} as part of the graph. The {@link Reply} will be added to its parent when building the graph.
+     * @param parent the parent of the reply, either a {@link Comment} or another {@link Reply} created by this builder
+     * @param id the ID of the reply
+     * @param author the author of the reply
+     * @param creationDate the date when the reply was create initially
+     * @param modificationDate date when the reply was create lastly
+     * @param text the text of the reply
+     * @return the new {@link Reply}
+     * @author agent (18.10.2026)
+     */
+    public Reply addReply(Object parent, String id, String author, Calendar creationDate, Calendar modificationDate, String text) {
+        checkNotBuilt();
+        Reply reply = new Reply(id, author, creationDate, modificationDate, text, parent);
+        childrenOf(replies, parent).add(reply);
+        return reply;
+    }
+    
+    /**
+     * Attaches all collected children to their parents, wires all listeners and registers the new {@link Review}s for changes of their open and
+     * active states.
+     * @return all {@link Review}s created by this builder in creation order
+     * @author agent (18.10.2026)
+     */
+    public List<Review> build() {
+        checkNotBuilt();
+        built = true;
+        for (Entry<Object, List<Reply>> entry : replies.entrySet()) {
+            if (entry.getKey() instanceof Comment) {
+                ((Comment) entry.getKey()).setReplies(entry.getValue());
+            } else {
+                ((Reply) entry.getKey()).setReplies(entry.getValue());
+            }
+        }
+        for (Entry<Review, List<Comment>> entry : comments.entrySet()) {
+            entry.getKey().setComments(entry.getValue());
+        }
+        ReviewStateService stateService = ReviewStateService.getInstance();
+        String currentActiveId = stateService.getActiveReviewId();
+        for (Review review : reviews) {
+            ReviewPreferenceDispatcher.getInstance().register(review);
+            // catch up with state changes since this builder has been created
+            review.updateIsOpen(stateService.isOpen(review.getId()));
+            review.updateIsActive(review.getId().equals(currentActiveId));
+        }
+        return reviews;
+    }
+    
+    /**
+     * Builds the graph as described in {@link #build()} and adds all new {@link Review}s to the given {@link ReviewSet} with one single
+     * modification.
+     * @param reviewSet the {@link ReviewSet} the {@link Review}s should be added to
+     * @return all {@link Review}s created by this builder in creation order
+     * @author agent (18.10.2026)
+     */
+    public List<Review> publish(ReviewSet reviewSet) {
+        List<Review> result = build();
+        reviewSet.addAll(result);
+        return result;
+    }
+    
+    /**
+     * Returns the list of children collected for the given parent, creating it if necessary
+     * @param children map of all collected children
+     * @param parent parent object
+     * @return the list of children of the given parent
+     * @author agent (18.10.2026)
+     */
+    private static <P, C> List<C> childrenOf(Map<P, List<C>> children, P parent) {
+        List<C> result = children.get(parent);
+        if (result == null) {
+            result = new ArrayList<C>();
+            children.put(parent, result);
+        }
+        return result;
+    }
+    
+    /**
+     * @throws IllegalStateException if the graph has already been built
+     * @author agent (18.10.2026)
+     */
+    private void checkNotBuilt() {
+        if (built) throw new IllegalStateException("The review graph has already been built.");
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.agilereview.core.Activator;
+import org.agilereview.core.external.preferences.AgileReviewPreferences;
+import org.agilereview.core.preferences.ReviewStateService;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+/**
+ * The {@link ReviewPreferenceDispatcher} is the only {@link IPreferenceChangeListener} for the review state preferences
+ * {@link AgileReviewPreferences#ACTIVE_REVIEW_ID} and {@link AgileReviewPreferences#OPEN_REVIEWS}. Instead of registering every {@link Review} at
+ * the preference node, all {@link Review}s are indexed by their ID and only the {@link Review}s affected by a preference change will be updated.
+ * The index only holds weak references, such that no {@link Review} has to unregister itself explicitly.
+ * @author agent (18.10.2026)
+ */
+final class ReviewPreferenceDispatcher implements IPreferenceChangeListener {
+    
+    /**
+     * Unique instance of the {@link ReviewPreferenceDispatcher}
+     */
+    private static volatile ReviewPreferenceDispatcher instance;
+    /**
+     * Index of all registered {@link Review}s by their ID. Access to this map should be synchronized upon this map.
+     */
+    private final Map<String, List<ReviewReference>> reviewIndex = new HashMap<String, List<ReviewReference>>();
+    /**
+     * Queue of all {@link ReviewReference}s whose {@link Review}s have been garbage collected
+     */
+    private final ReferenceQueue<Review> collectedReviews = new ReferenceQueue<Review>();
+    
+    /**
+     * Weak reference to a {@link Review} which remembers the ID the {@link Review} was indexed with
+     * @author agent (18.10.2026)
+     */
+    private static final class ReviewReference extends WeakReference<Review> {
+        
+        /**
+         * ID of the referenced {@link Review}
+         */
+        private final String id;
+        
+        /**
+         * Creates a new {@link ReviewReference}
+         * @param review {@link Review} to be referenced
+         * @param queue {@link ReferenceQueue} the reference will be enqueued to after the {@link Review} has been garbage collected
+         * @author agent (18.10.2026)
+         */
+        ReviewReference(Review review, ReferenceQueue<Review> queue) {
+            super(review, queue);
+            this.id = review.getId();
+        }
+    }
+    
+    /**
+     * Creates the {@link ReviewPreferenceDispatcher} and registers it once on the preferences of the core plug-in
+     * @author agent (18.10.2026)
+     */
+    private ReviewPreferenceDispatcher() {
+        InstanceScope.INSTANCE.getNode(Activator.PLUGIN_ID).addPreferenceChangeListener(this);
+    }
+    
+    /**
+     * Returns the unique instance of the {@link ReviewPreferenceDispatcher}
+     * @return the unique instance of the {@link ReviewPreferenceDispatcher}
+     * @author agent (18.10.2026)
+     */
+    static ReviewPreferenceDispatcher getInstance() {
+        if (instance == null) {
+            synchronized (ReviewPreferenceDispatcher.class) {
+                if (instance == null) {
+                    instance = new ReviewPreferenceDispatcher();
+                }
+            }
+        }
+        return instance;
+    }
+    
+    /**
+     * Registers the given {@link Review} in order to be notified about changes of its open or active state
+     * @param review {@link Review} to be registered
+     * @author agent (18.10.2026)
+     */
+    void register(Review review) {
+        synchronized (reviewIndex) {
+            purgeCollectedReviews();
+            List<ReviewReference> references = reviewIndex.get(review.getId());
+            if (references == null) {
+                references = new LinkedList<ReviewReference>();
+                reviewIndex.put(review.getId(), references);
+            }
+            references.add(new ReviewReference(review, collectedReviews));
+        }
+    }
+    
+    /**
+     * Removes all index entries of {@link Review}s, which have been garbage collected
+     * @author agent (18.10.2026)
+     */
+    private void purgeCollectedReviews() {
+        Reference<? extends Review> ref;
+        while ((ref = collectedReviews.poll()) != null) {
+            ReviewReference reviewRef = (ReviewReference) ref;
+            List<ReviewReference> references = reviewIndex.get(reviewRef.id);
+            if (references != null) {
+                references.remove(reviewRef);
+                if (references.isEmpty()) {
+                    reviewIndex.remove(reviewRef.id);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns all currently registered {@link Review}s with the given ID
+     * @param id of the {@link Review}s to be returned
+     * @return all registered {@link Review}s with the given ID
+     * @author agent (18.10.2026)
+     */
+    private List<Review> getReviews(String id) {
+        List<Review> result = new ArrayList<Review>(1);
+        synchronized (reviewIndex) {
+            purgeCollectedReviews();
+            List<ReviewReference> references = reviewIndex.get(id);
+            if (references != null) {
+                for (ReviewReference ref : references) {
+                    Review review = ref.get();
+                    if (review != null) {
+                        result.add(review);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+    
+    /* (non-Javadoc)
+     * @see org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener#preferenceChange(org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public void preferenceChange(PreferenceChangeEvent event) {
+        if (AgileReviewPreferences.ACTIVE_REVIEW_ID.equals(event.getKey())) {
+            if (event.getOldValue() != null) {
+                for (Review r : getReviews(event.getOldValue().toString())) {
+                    r.updateIsActive(false);
+                }
+            }
+            if (event.getNewValue() != null) {
+                for (Review r : getReviews(event.getNewValue().toString())) {
+                    r.updateIsActive(true);
+                }
+            }
+        } else if (AgileReviewPreferences.OPEN_REVIEWS.equals(event.getKey())) {
+            Set<String> oldIds = ReviewStateService.parseReviewIds(event.getOldValue());
+            Set<String> newIds = ReviewStateService.parseReviewIds(event.getNewValue());
+            Iterator<String> it = oldIds.iterator();
+            while (it.hasNext()) {
+                String id = it.next();
+                if (newIds.remove(id)) {
+                    // state of reviews contained in both sets did not change
+                    it.remove();
+                }
+            }
+            for (String id : oldIds) {
+                for (Review r : getReviews(id)) {
+                    r.updateIsOpen(false);
+                }
+            }
+            for (String id : newIds) {
+                for (Review r : getReviews(id)) {
+                    r.updateIsOpen(true);
+                }
+            }
+        }
+    }
+}
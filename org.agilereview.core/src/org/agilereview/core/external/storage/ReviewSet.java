@@ -10,38 +10,56 @@ package org.agilereview.core.external.storage;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.agilereview.core.external.definition.IReviewDataReceiver;
 import org.agilereview.core.external.storage.constants.PropertyChangeEventKeys;
 import org.agilereview.core.external.storage.listeners.ICommentFilterListener;
+import org.agilereview.core.external.storage.listeners.ModelEventBus;
+import org.agilereview.core.preferences.ReviewStateService;
 
 /**
- * List of {@link Review}s provides property change support for the list itself and the reviews contained
+ * List of {@link Review}s provides property change support for the list itself and the reviews contained.<br> The {@link ReviewSet} is thread-safe
+ * and implements copy-on-write semantics: every modification publishes a new immutable snapshot of the contained {@link Review}s, whereas readers
+ * and iterators always work on the snapshot which was current when they started. Therefore, iterating the {@link ReviewSet} never throws a
+ * {@link java.util.ConcurrentModificationException} and does not need any external synchronization or defensive copy.<br> Modifications are
+ * serialized by an internal lock. {@link PropertyChangeEvent}s for {@link PropertyChangeEventKeys#REVIEWSET_REVIEWS} are fired on the modifying
+ * thread after the new snapshot has been published and outside of the internal lock. Thus, the publication of a snapshot happens-before the
+ * notification of the listeners about it, and every listener will see at least the state carried by the event's new value. The old and new
+ * values of these events are immutable snapshots.<br> The {@link ReviewSet} extends {@link AbstractSet} instead of {@link HashSet} since the
+ * snapshots have been introduced, as the internal storage of a {@link HashSet} cannot be replaced consistently.
  * @author Malte Brunnlieb (03.06.2012)
  */
-public final class ReviewSet extends HashSet<Review> implements PropertyChangeListener {
+public final class ReviewSet extends AbstractSet<Review> implements PropertyChangeListener {
     
     /**
-     * Generated serial version UID
+     * {@link PropertyChangeSupport} of this POJO, used for firing {@link PropertyChangeEvent}s on changes of fields.
      */
-    private static final long serialVersionUID = 1180422400668603041L;
+    private final PropertyChangeSupport propertyChangeSupport = new ModelChangeSupport(this);
     /**
-     * {@link PropertyChangeSupport} of this POJO, used for firing {@link PropertyChangeEvent}s on changes of fields.
+     * {@link ModelEventBus} delivering the changes of this {@link ReviewSet} and all model objects contained
+     */
+    private final ModelEventBus eventBus = new ModelEventBus();
+    /**
+     * The {@link #eventBus} as array, as published by the {@link ModelChangeSupport}
      */
-    private final PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
+    private final ModelEventBus[] eventBuses = new ModelEventBus[] { eventBus };
     /**
      * The {@link List} of currently registered {@link ICommentFilterListener}s
      */
-    private final List<ICommentFilterListener> commentFilterListeners = new LinkedList<ICommentFilterListener>();
+    private final List<ICommentFilterListener> commentFilterListeners = new CopyOnWriteArrayList<ICommentFilterListener>();
     /**
      * Current registered filter
      */
@@ -49,12 +67,152 @@ public final class ReviewSet extends HashSet<Review> implements PropertyChangeLi
     /**
      * Map for storing generic values
      */
-    private final Map<String, Object> genericMap = new HashMap<String, Object>();
+    private final Map<String, Object> genericMap = Collections.synchronizedMap(new HashMap<String, Object>());
+    /**
+     * Current immutable snapshot of all {@link Review}s. A new snapshot will be published on every modification.
+     */
+    private volatile Set<Review> reviews = Collections.emptySet();
+    /**
+     * Lock for add/remove/... operations on the review set which serializes all modifications
+     */
+    private final Object writeLock = new Object();
+    
+    /**
+     * Iterator over a snapshot of the {@link ReviewSet}. {@link #remove()} will remove the current element from the {@link ReviewSet} itself.
+     * @author agent (18.10.2026)
+     */
+    private final class SnapshotIterator implements Iterator<Review> {
+        
+        /**
+         * Iterator of the underlying snapshot
+         */
+        private final Iterator<Review> snapshotIterator;
+        /**
+         * The element returned by the last call of {@link #next()}
+         */
+        private Review current = null;
+        
+        /**
+         * Creates a new {@link SnapshotIterator} for the given snapshot
+         * @param snapshot to be iterated
+         * @author agent (18.10.2026)
+         */
+        SnapshotIterator(Set<Review> snapshot) {
+            this.snapshotIterator = snapshot.iterator();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return snapshotIterator.hasNext();
+        }
+        
+        @Override
+        public Review next() {
+            current = snapshotIterator.next();
+            return current;
+        }
+        
+        @Override
+        public void remove() {
+            if (current == null) { throw new IllegalStateException(); }
+            ReviewSet.this.remove(current);
+            current = null;
+        }
+    }
+    
+    /**
+     * Returns the current immutable snapshot of all {@link Review}s contained in this {@link ReviewSet}
+     * @return the current snapshot of all {@link Review}s
+     * @author agent (18.10.2026)
+     */
+    public Set<Review> getSnapshot() {
+        return reviews;
+    }
+    
+    /**
+     * Returns the {@link ModelEventBus} of this {@link ReviewSet}, which enables listeners to subscribe for specific changes of this
+     * {@link ReviewSet} and all {@link Review}s, {@link Comment}s and {@link Reply}s contained
+     * @return the {@link ModelEventBus} of this {@link ReviewSet}
+     * @author agent (18.10.2026)
+     */
+    public ModelEventBus getEventBus() {
+        return eventBus;
+    }
+    
+    /**
+     * @return the {@link ModelEventBus} of this {@link ReviewSet} as array
+     * @author agent (18.10.2026)
+     */
+    ModelEventBus[] getEventBuses() {
+        return eventBuses;
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractCollection#iterator()
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public Iterator<Review> iterator() {
+        return new SnapshotIterator(reviews);
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractCollection#size()
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public int size() {
+        return reviews.size();
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractCollection#contains(java.lang.Object)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public boolean contains(Object o) {
+        return reviews.contains(o);
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractCollection#toArray()
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public Object[] toArray() {
+        return reviews.toArray();
+    }
+    
+    /* (non-Javadoc)
+     * @see java.util.AbstractCollection#toArray(T[])
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return reviews.toArray(a);
+    }
     
     /**
-     * Lock for add/remove/... operations on the review set which enables synchronized access and enables more specific property change events
+     * Publishes the given set of {@link Review}s as new snapshot. Must only be called while holding the {@link #writeLock}.
+     * @param newReviews the new content of this {@link ReviewSet}
+     * @return the published snapshot
+     * @author agent (18.10.2026)
      */
-    private Boolean massOperationLock = false;
+    private Set<Review> publish(Set<Review> newReviews) {
+        Set<Review> snapshot = Collections.unmodifiableSet(newReviews);
+        reviews = snapshot;
+        return snapshot;
+    }
+    
+    /**
+     * Notifies all listeners about the change of the contained {@link Review}s
+     * @param oldSnapshot snapshot before the change
+     * @param newSnapshot snapshot after the change
+     * @author agent (18.10.2026)
+     */
+    private void fireReviewsChanged(Set<Review> oldSnapshot, Set<Review> newSnapshot) {
+        propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEWSET_REVIEWS, oldSnapshot, newSnapshot);
+    }
     
     /**
      * {@inheritDoc} <br> Added {@link PropertyChangeSupport} for tracking changes by {@link IReviewDataReceiver}
@@ -63,17 +221,19 @@ public final class ReviewSet extends HashSet<Review> implements PropertyChangeLi
      */
     @Override
     public boolean add(Review e) {
-        synchronized (massOperationLock) {
-            HashSet<Review> oldValue = new HashSet<Review>(this);
-            boolean changed = super.add(e);
-            if (changed) {
-                e.addPropertyChangeListener(this);
-                if (!massOperationLock) {
-                    propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEWSET_REVIEWS, oldValue, this);
-                }
-            }
-            return changed;
+        Set<Review> oldValue;
+        Set<Review> newValue;
+        synchronized (writeLock) {
+            oldValue = reviews;
+            if (oldValue.contains(e)) { return false; }
+            Set<Review> newReviews = new LinkedHashSet<Review>(oldValue);
+            newReviews.add(e);
+            newValue = publish(newReviews);
+            e.addPropertyChangeListener(this);
+            e.attachEventBus(eventBus);
         }
+        fireReviewsChanged(oldValue, newValue);
+        return true;
     }
     
     /**
@@ -83,16 +243,26 @@ public final class ReviewSet extends HashSet<Review> implements PropertyChangeLi
      */
     @Override
     public boolean addAll(Collection<? extends Review> c) {
-        synchronized (massOperationLock) {
-            massOperationLock = true;
-            HashSet<Review> oldValue = new HashSet<Review>(this);
-            boolean changed = super.addAll(c);
-            if (changed) {
-                propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEWSET_REVIEWS, oldValue, this);
+        Set<Review> oldValue;
+        Set<Review> newValue;
+        synchronized (writeLock) {
+            oldValue = reviews;
+            Set<Review> newReviews = new LinkedHashSet<Review>(oldValue);
+            List<Review> added = new ArrayList<Review>(c.size());
+            for (Review r : c) {
+                if (newReviews.add(r)) {
+                    added.add(r);
+                }
+            }
+            if (added.isEmpty()) { return false; }
+            newValue = publish(newReviews);
+            for (Review r : added) {
+                r.addPropertyChangeListener(this);
+                r.attachEventBus(eventBus);
             }
-            massOperationLock = false;
-            return changed;
         }
+        fireReviewsChanged(oldValue, newValue);
+        return true;
     }
     
     /**
@@ -102,18 +272,21 @@ public final class ReviewSet extends HashSet<Review> implements PropertyChangeLi
      */
     @Override
     public boolean remove(Object o) {
-        synchronized (massOperationLock) {
-            HashSet<Review> oldValue = new HashSet<Review>(this);
-            boolean success = super.remove(o);
-            if (success) {
-                ((Review) o).setOpenReviewsPreference();
-                ((Review) o).removePropertyChangeListener(this);
-                if (!massOperationLock) {
-                    propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEWSET_REVIEWS, oldValue, this);
-                }
-            }
-            return success;
+        Set<Review> oldValue;
+        Set<Review> newValue;
+        synchronized (writeLock) {
+            oldValue = reviews;
+            if (!oldValue.contains(o)) { return false; }
+            Set<Review> newReviews = new LinkedHashSet<Review>(oldValue);
+            newReviews.remove(o);
+            newValue = publish(newReviews);
+            ((Review) o).removePropertyChangeListener(this);
+            ((Review) o).detachEventBus(eventBus);
         }
+        // store the state outside of the lock, as the preference listeners are notified synchronously
+        ((Review) o).setOpenReviewsPreference();
+        fireReviewsChanged(oldValue, newValue);
+        return true;
     }
     
     /**
@@ -123,16 +296,22 @@ public final class ReviewSet extends HashSet<Review> implements PropertyChangeLi
      */
     @Override
     public boolean removeAll(Collection<?> c) {
-        synchronized (massOperationLock) {
-            massOperationLock = true;
-            HashSet<Review> oldValue = new HashSet<Review>(this);
-            boolean success = super.removeAll(c);
-            if (success) {
-                propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEWSET_REVIEWS, oldValue, this);
+        Set<Review> oldValue;
+        Set<Review> newValue;
+        synchronized (writeLock) {
+            oldValue = reviews;
+            Set<Review> newReviews = new LinkedHashSet<Review>(oldValue);
+            if (!newReviews.removeAll(c)) { return false; }
+            newValue = publish(newReviews);
+            for (Review r : oldValue) {
+                if (!newValue.contains(r)) {
+                    r.removePropertyChangeListener(this);
+                    r.detachEventBus(eventBus);
+                }
             }
-            massOperationLock = false;
-            return success;
         }
+        fireReviewsChanged(oldValue, newValue);
+        return true;
     }
     
     /**
@@ -142,22 +321,24 @@ public final class ReviewSet extends HashSet<Review> implements PropertyChangeLi
      */
     @Override
     public boolean retainAll(Collection<?> c) {
-        synchronized (massOperationLock) {
-            massOperationLock = true;
-            HashSet<Review> oldValue = new HashSet<Review>(this);
-            boolean success = super.retainAll(c);
-            if (success) {
-                ArrayList<Review> removedOnes = new ArrayList<Review>(oldValue);
-                removedOnes.removeAll(c);
-                for (Review r : removedOnes) {
-                    r.setOpenReviewsPreference();
-                    r.removePropertyChangeListener(this);
-                }
-                propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEWSET_REVIEWS, oldValue, this);
+        Set<Review> oldValue;
+        Set<Review> newValue;
+        ArrayList<Review> removedOnes;
+        synchronized (writeLock) {
+            oldValue = reviews;
+            Set<Review> newReviews = new LinkedHashSet<Review>(oldValue);
+            if (!newReviews.retainAll(c)) { return false; }
+            newValue = publish(newReviews);
+            removedOnes = new ArrayList<Review>(oldValue);
+            removedOnes.removeAll(newValue);
+            for (Review r : removedOnes) {
+                r.removePropertyChangeListener(this);
+                r.detachEventBus(eventBus);
             }
-            massOperationLock = false;
-            return success;
         }
+        storeOpenStates(removedOnes);
+        fireReviewsChanged(oldValue, newValue);
+        return true;
     }
     
     /**
@@ -167,14 +348,43 @@ public final class ReviewSet extends HashSet<Review> implements PropertyChangeLi
      */
     @Override
     public void clear() {
-        HashSet<Review> oldValue = new HashSet<Review>(this);
-        for (Review r : this) {
+        Set<Review> oldValue;
+        Set<Review> newValue;
+        synchronized (writeLock) {
+            oldValue = reviews;
+            for (Review r : oldValue) {
+                r.removePropertyChangeListener(this);
+                r.detachEventBus(eventBus);
+            }
+            newValue = publish(new LinkedHashSet<Review>());
+        }
+        // clear the comments outside of the lock, as the listeners of the reviews are notified synchronously
+        for (Review r : oldValue) {
             r.clearComments();
-            r.setOpenReviewsPreference();
-            r.removePropertyChangeListener(this);
         }
-        super.clear();
-        propertyChangeSupport.firePropertyChange(PropertyChangeEventKeys.REVIEWSET_REVIEWS, oldValue, this);
+        storeOpenStates(oldValue);
+        fireReviewsChanged(oldValue, newValue);
+    }
+    
+    /**
+     * Stores the open state of all given {@link Review}s with one single change of the open reviews preference per state. Must not be called while
+     * holding the {@link #writeLock}, as the preference listeners are notified synchronously.
+     * @param reviews {@link Review}s whose open state should be stored
+     * @author agent (18.10.2026)
+     */
+    private static void storeOpenStates(Collection<Review> reviews) {
+        List<String> openIds = new ArrayList<String>(reviews.size());
+        List<String> closedIds = new ArrayList<String>();
+        for (Review r : reviews) {
+            if (r.getIsOpen()) {
+                openIds.add(r.getId());
+            } else {
+                closedIds.add(r.getId());
+            }
+        }
+        ReviewStateService stateService = ReviewStateService.getInstance();
+        stateService.setOpen(openIds, true);
+        stateService.setOpen(closedIds, false);
     }
     
     /**
@@ -335,6 +545,6 @@ public final class ReviewSet extends HashSet<Review> implements PropertyChangeLi
      */
     @Override
     public int hashCode() {
-        return (int) (super.hashCode() ^ serialVersionUID);
+        return reviews.hashCode();
     }
 }
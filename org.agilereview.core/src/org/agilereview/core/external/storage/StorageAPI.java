@@ -64,4 +64,14 @@ public class StorageAPI {
     public static Reply createReply(String id, String author, Calendar creationDate, Calendar modificationDate, String text, Object parent) {
         return new Reply(id, author, creationDate, modificationDate, text, parent);
     }
+    
+    /**
+     * Creates a new {@link ReviewGraphBuilder} for reconstructing many {@link Review}s, {@link Comment}s and {@link Reply}s at once. This should
+     * be preferred over the single create methods when loading whole reviews from storage.
+     * @return a new {@link ReviewGraphBuilder}
+     * @author agent (18.10.2026)
+     */
+    public static ReviewGraphBuilder createReviewGraphBuilder() {
+        return new ReviewGraphBuilder();
+    }
 }
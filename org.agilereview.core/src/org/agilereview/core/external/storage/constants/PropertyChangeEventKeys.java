@@ -77,7 +77,10 @@ public final class PropertyChangeEventKeys {
     
     /**
      * {@link PropertyChangeEvent} key for changes of the modification date of a {@link Comment}
+     * @deprecated no separate event is fired anymore. Each change of a {@link Comment} results in one
+     *             {@link org.agilereview.core.external.storage.ModificationEvent} carrying the new modification date.
      */
+    @Deprecated
     public final static String COMMENT_MODIFICATION_DATE = "Comment_modificationDate";
     
     /**
@@ -107,7 +110,10 @@ public final class PropertyChangeEventKeys {
     
     /**
      * {@link PropertyChangeEvent} key for changes of the modification date of a {@link Reply}
+     * @deprecated no separate event is fired anymore. Each change of a {@link Reply} results in one
+     *             {@link org.agilereview.core.external.storage.ModificationEvent} carrying the new modification date.
      */
+    @Deprecated
     public final static String REPLY_MODIFICATION_DATE = "Reply_modificationDate";
     
     /**
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage.listeners;
+
+import java.beans.PropertyChangeEvent;
+
+import org.agilereview.core.external.storage.constants.PropertyChangeEventKeys;
+
+/**
+ * The {@link IModelEventListener} will be called by the {@link ModelEventBus} for all subscribed {@link PropertyChangeEventKeys} of model objects of
+ * the subscribed type
+ * @param <T> type of the model objects the listener is interested in
+ * @author agent (18.10.2026)
+ */
+public interface IModelEventListener<T> {
+    
+    /**
+     * Called whenever a subscribed property of a model object of the subscribed type changed
+     * @param source the model object which has been changed
+     * @param evt the {@link PropertyChangeEvent} describing the change
+     * @author agent (18.10.2026)
+     */
+    public void modelChanged(T source, PropertyChangeEvent evt);
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.external.storage.listeners;
+
+import java.beans.PropertyChangeEvent;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.agilereview.core.external.storage.ReviewSet;
+import org.agilereview.core.external.storage.constants.PropertyChangeEventKeys;
+
+/**
+ * The {@link ModelEventBus} of a {@link ReviewSet} delivers changes of all model objects contained in the {@link ReviewSet} directly from the
+ * changed object to the subscribed {@link IModelEventListener}s. In contrast to the {@link java.beans.PropertyChangeListener}s registered on the
+ * {@link ReviewSet}, events are not re-fired by every parent object and listeners only receive the {@link PropertyChangeEventKeys} and source
+ * types they subscribed for.<br> Subscriptions are stored in precomputed arrays per event key, which are replaced on every (rare) subscription
+ * change, such that dispatching an event does not need any locking. Additionally, the bus counts the published events per event key.
+ * @author agent (18.10.2026)
+ */
+public final class ModelEventBus {
+    
+    /**
+     * Empty array of {@link Subscription}s
+     */
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+    /**
+     * Immutable map of all subscriptions for specific event keys
+     */
+    private volatile Map<String, Subscription[]> keySubscriptions = Collections.emptyMap();
+    /**
+     * Subscriptions for all event keys
+     */
+    private volatile Subscription[] allKeySubscriptions = NO_SUBSCRIPTIONS;
+    /**
+     * Lock serializing all subscription changes
+     */
+    private final Object subscriptionLock = new Object();
+    /**
+     * Number of published events per event key
+     */
+    private final ConcurrentMap<String, AtomicLong> eventCounts = new ConcurrentHashMap<String, AtomicLong>();
+    
+    /**
+     * Subscription of an {@link IModelEventListener} for a specific source type
+     * @author agent (18.10.2026)
+     */
+    private static final class Subscription {
+        
+        /**
+         * Type of the model objects the listener is interested in
+         */
+        private final Class<?> sourceType;
+        /**
+         * Subscribed listener
+         */
+        private final IModelEventListener<Object> listener;
+        
+        /**
+         * Creates a new {@link Subscription}
+         * @param sourceType type of the model objects the listener is interested in
+         * @param listener subscribed listener
+         * @author agent (18.10.2026)
+         */
+        @SuppressWarnings("unchecked")
+        Subscription(Class<?> sourceType, IModelEventListener<?> listener) {
+            this.sourceType = sourceType;
+            // safe, as the listener will only be called with instances of the source type
+            this.listener = (IModelEventListener<Object>) listener;
+        }
+        
+        /**
+         * Notifies the listener if the event has been fired by a model object of the subscribed type
+         * @param evt the published {@link PropertyChangeEvent}
+         * @author agent (18.10.2026)
+         */
+        void deliver(PropertyChangeEvent evt) {
+            if (sourceType.isInstance(evt.getSource())) {
+                listener.modelChanged(evt.getSource(), evt);
+            }
+        }
+    }
+    
+    /**
+     * Subscribes the given listener for changes of model objects of the given type
+     * @param sourceType type of the model objects the listener is interested in, e.g. {@link org.agilereview.core.external.storage.Comment}
+     * @param listener listener to be notified
+     * @param eventKeys {@link PropertyChangeEventKeys} the listener is interested in. If no key is given, the listener will be notified on all
+     *            events of the given source type.
+     * @author agent (18.10.2026)
+     */
+    public <T> void subscribe(Class<T> sourceType, IModelEventListener<? super T> listener, String... eventKeys) {
+        Subscription subscription = new Subscription(sourceType, listener);
+        synchronized (subscriptionLock) {
+            if (eventKeys.length == 0) {
+                allKeySubscriptions = append(allKeySubscriptions, subscription);
+            } else {
+                Map<String, Subscription[]> newSubscriptions = new HashMap<String, Subscription[]>(keySubscriptions);
+                for (String key : eventKeys) {
+                    Subscription[] current = newSubscriptions.get(key);
+                    newSubscriptions.put(key, append(current == null ? NO_SUBSCRIPTIONS : current, subscription));
+                }
+                keySubscriptions = Collections.unmodifiableMap(newSubscriptions);
+            }
+        }
+    }
+    
+    /**
+     * Removes all subscriptions of the given listener
+     * @param listener listener to be removed
+     * @author agent (18.10.2026)
+     */
+    public void unsubscribe(IModelEventListener<?> listener) {
+        synchronized (subscriptionLock) {
+            allKeySubscriptions = removeListener(allKeySubscriptions, listener);
+            Map<String, Subscription[]> newSubscriptions = new HashMap<String, Subscription[]>();
+            for (Entry<String, Subscription[]> entry : keySubscriptions.entrySet()) {
+                Subscription[] remaining = removeListener(entry.getValue(), listener);
+                if (remaining.length > 0) {
+                    newSubscriptions.put(entry.getKey(), remaining);
+                }
+            }
+            keySubscriptions = Collections.unmodifiableMap(newSubscriptions);
+        }
+    }
+    
+    /**
+     * Publishes the given event to all listeners subscribed for its key and the type of its source. This method is intended to be called only by
+     * the model object which fired the event.
+     * @param evt {@link PropertyChangeEvent} to be published
+     * @author agent (18.10.2026)
+     */
+    public void publish(PropertyChangeEvent evt) {
+        countEvent(evt.getPropertyName());
+        Subscription[] subscriptions = keySubscriptions.get(evt.getPropertyName());
+        if (subscriptions != null) {
+            for (Subscription s : subscriptions) {
+                s.deliver(evt);
+            }
+        }
+        for (Subscription s : allKeySubscriptions) {
+            s.deliver(evt);
+        }
+    }
+    
+    /**
+     * Returns the number of events published for the given event key
+     * @param eventKey one of the {@link PropertyChangeEventKeys}
+     * @return the number of published events with the given key
+     * @author agent (18.10.2026)
+     */
+    public long getEventCount(String eventKey) {
+        AtomicLong count = eventCounts.get(eventKey);
+        return count == null ? 0 : count.get();
+    }
+    
+    /**
+     * @return a snapshot of the number of published events per event key
+     * @author agent (18.10.2026)
+     */
+    public Map<String, Long> getEventCounts() {
+        Map<String, Long> result = new HashMap<String, Long>();
+        for (Entry<String, AtomicLong> entry : eventCounts.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return result;
+    }
+    
+    /**
+     * Resets all event counters
+     * @author agent (18.10.2026)
+     */
+    public void resetEventCounts() {
+        eventCounts.clear();
+    }
+    
+    /**
+     * Increments the counter of the given event key
+     * @param eventKey event key
+     * @author agent (18.10.2026)
+     */
+    private void countEvent(String eventKey) {
+        AtomicLong count = eventCounts.get(eventKey);
+        if (count == null) {
+            AtomicLong newCount = new AtomicLong();
+            count = eventCounts.putIfAbsent(eventKey, newCount);
+            if (count == null) {
+                count = newCount;
+            }
+        }
+        count.incrementAndGet();
+    }
+    
+    /**
+     * Creates a new array consisting of the given subscriptions and the new subscription
+     * @param subscriptions current subscriptions
+     * @param subscription subscription to be appended
+     * @return the new array of subscriptions
+     * @author agent (18.10.2026)
+     */
+    private static Subscription[] append(Subscription[] subscriptions, Subscription subscription) {
+        Subscription[] result = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        result[subscriptions.length] = subscription;
+        return result;
+    }
+    
+    /**
+     * Creates a new array of all given subscriptions not belonging to the given listener
+     * @param subscriptions current subscriptions
+     * @param listener listener whose subscriptions should be removed
+     * @return the new array of subscriptions
+     * @author agent (18.10.2026)
+     */
+    private static Subscription[] removeListener(Subscription[] subscriptions, IModelEventListener<?> listener) {
+        int remaining = 0;
+        Subscription[] result = new Subscription[subscriptions.length];
+        for (Subscription s : subscriptions) {
+            if (s.listener != listener) {
+                result[remaining++] = s;
+            }
+        }
+        return remaining == subscriptions.length ? subscriptions : Arrays.copyOf(result, remaining);
+    }
+}
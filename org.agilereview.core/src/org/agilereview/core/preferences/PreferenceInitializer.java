@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Enumeration;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
 
 import org.agilereview.common.exception.ExceptionHandler;
 import org.agilereview.core.Activator;
@@ -21,13 +22,43 @@ import org.eclipse.swt.widgets.Display;
 public class PreferenceInitializer extends AbstractPreferenceInitializer {
     
     /**
-     * States whether all preferences have been initialized
+     * Latch released as soon as the initialization of the default preferences has been finished
      */
-    public static volatile boolean isInitialized = false;
+    private static final CountDownLatch initializationLatch = new CountDownLatch(1);
+    
+    /**
+     * Returns whether the initialization of the default preferences has been finished
+     * @return <code>true</code>, if the default preferences have been initialized,<br><code>false</code>, otherwise
+     * @author agent (18.10.2026)
+     */
+    public static boolean isInitialized() {
+        return initializationLatch.getCount() == 0;
+    }
+    
+    /**
+     * Blocks the calling thread until the initialization of the default preferences has been finished
+     * @throws InterruptedException if the calling thread has been interrupted while waiting
+     * @author agent (18.10.2026)
+     */
+    public static void awaitInitialization() throws InterruptedException {
+        initializationLatch.await();
+    }
     
     @Override
     public void initializeDefaultPreferences() {
-        
+        try {
+            initializeDefaults();
+        } finally {
+            // also release waiting threads if the default properties could not be loaded
+            initializationLatch.countDown();
+        }
+    }
+    
+    /**
+     * Initializes the default preferences
+     * @author agent (18.10.2026)
+     */
+    private void initializeDefaults() {
         final Properties pref = loadDefaultProperties();
         if (pref == null) return;
         
@@ -56,8 +87,6 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
             String next = properties.nextElement();
             preferences.put(next, pref.getProperty(next));
         }
-        
-        isInitialized = true;
     }
     
     /**
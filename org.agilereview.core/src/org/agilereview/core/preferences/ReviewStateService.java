@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.core.preferences;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.agilereview.common.exception.ExceptionHandler;
+import org.agilereview.core.Activator;
+import org.agilereview.core.external.preferences.AgileReviewPreferences;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.osgi.service.prefs.BackingStoreException;
+
+/**
+ * The {@link ReviewStateService} manages the open and active state of all reviews as stored in the preferences
+ * {@link AgileReviewPreferences#OPEN_REVIEWS} and {@link AgileReviewPreferences#ACTIVE_REVIEW_ID}. The set of open review IDs is kept in memory.
+ * Changes are written to the preference node immediately, whereas the preference node is persisted to disk by a delayed job, such that a burst of
+ * changes results in one single disk write.
+ * @author agent (18.10.2026)
+ */
+public final class ReviewStateService {
+    
+    /**
+     * Delay in milliseconds after the last change before the preferences will be persisted
+     */
+    private static final long FLUSH_DELAY = 500;
+    /**
+     * Unique instance of the {@link ReviewStateService}
+     */
+    private static final ReviewStateService instance = new ReviewStateService();
+    /**
+     * IDs of all currently open reviews in the order they have been opened
+     */
+    private final Set<String> openReviewIds = new LinkedHashSet<String>();
+    /**
+     * Value of the {@link AgileReviewPreferences#OPEN_REVIEWS} preference the {@link #openReviewIds} are synchronized with
+     */
+    private String openReviewsPref = null;
+    /**
+     * Value of {@link #openReviewsPref} which has been computed but not yet been written to the preferences or <code>null</code> if there is none
+     */
+    private String pendingOpenReviewsPref = null;
+    /**
+     * Lock serializing all writes of the preferences. Writes fire the preference listeners synchronously, so the monitor of this service must not
+     * be held while writing. Instead, this lock keeps concurrent writes in the order their values have been computed.
+     */
+    private final Object writeLock = new Object();
+    /**
+     * Job persisting the preference node, scheduled delayed on every change
+     */
+    private final Job flushJob = new Job("Saving AgileReview review states") {
+        
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            flush();
+            return Status.OK_STATUS;
+        }
+    };
+    
+    /**
+     * Creates the unique instance of the {@link ReviewStateService}
+     * @author agent (18.10.2026)
+     */
+    private ReviewStateService() {
+        flushJob.setSystem(true);
+    }
+    
+    /**
+     * Returns the unique instance of the {@link ReviewStateService}
+     * @return the unique instance of the {@link ReviewStateService}
+     * @author agent (18.10.2026)
+     */
+    public static ReviewStateService getInstance() {
+        return instance;
+    }
+    
+    /**
+     * Splits the comma separated list of review IDs as stored in {@link AgileReviewPreferences#OPEN_REVIEWS}
+     * @param reviewIdsPref preference value to be split
+     * @return the ordered set of review IDs contained in the given preference value
+     * @author agent (18.10.2026)
+     */
+    public static Set<String> parseReviewIds(Object reviewIdsPref) {
+        if (reviewIdsPref == null || "".equals(reviewIdsPref)) { return new LinkedHashSet<String>(); }
+        return new LinkedHashSet<String>(Arrays.asList(reviewIdsPref.toString().split(",")));
+    }
+    
+    /**
+     * Checks whether the review with the given ID is stored as open review
+     * @param reviewId ID of the review
+     * @return <code>true</code> if the review is open,<br><code>false</code> otherwise
+     * @author agent (18.10.2026)
+     */
+    public synchronized boolean isOpen(String reviewId) {
+        syncOpenReviewIds();
+        return openReviewIds.contains(reviewId);
+    }
+    
+    /**
+     * Returns the IDs of all open reviews at once, e.g. for reconstructing many reviews without querying the state of each review separately
+     * @return a copy of the ordered set of all open review IDs
+     * @author agent (18.10.2026)
+     */
+    public synchronized Set<String> getOpenReviewIds() {
+        syncOpenReviewIds();
+        return new LinkedHashSet<String>(openReviewIds);
+    }
+    
+    /**
+     * Stores the open state of the review with the given ID
+     * @param reviewId ID of the review
+     * @param isOpen <code>true</code> if the review should be stored as open review,<br><code>false</code> otherwise
+     * @author agent (18.10.2026)
+     */
+    public void setOpen(String reviewId, boolean isOpen) {
+        setOpen(Collections.singleton(reviewId), isOpen);
+    }
+    
+    /**
+     * Stores the open state of all reviews with the given IDs. The preference will be changed at most once per call.
+     * @param reviewIds IDs of the reviews
+     * @param isOpen <code>true</code> if the reviews should be stored as open reviews,<br><code>false</code> otherwise
+     * @author agent (18.10.2026)
+     */
+    public void setOpen(Collection<String> reviewIds, boolean isOpen) {
+        synchronized (writeLock) {
+            String newPref;
+            synchronized (this) {
+                syncOpenReviewIds();
+                boolean changed;
+                if (isOpen) {
+                    changed = openReviewIds.addAll(reviewIds);
+                } else {
+                    changed = openReviewIds.removeAll(reviewIds);
+                }
+                if (!changed) { return; }
+                newPref = joinReviewIds(openReviewIds);
+                openReviewsPref = newPref;
+                pendingOpenReviewsPref = newPref;
+            }
+            // write without holding the monitor, as the preference listeners are notified synchronously
+            getPreferences().put(AgileReviewPreferences.OPEN_REVIEWS, newPref);
+            synchronized (this) {
+                pendingOpenReviewsPref = null;
+            }
+            scheduleFlush();
+        }
+    }
+    
+    /**
+     * Stores the ID of the currently active review
+     * @param reviewId ID of the active review or an empty string if there is no active review
+     * @author agent (18.10.2026)
+     */
+    public void setActiveReviewId(String reviewId) {
+        synchronized (writeLock) {
+            IEclipsePreferences preferences = getPreferences();
+            if (reviewId.equals(preferences.get(AgileReviewPreferences.ACTIVE_REVIEW_ID, ""))) return;
+            preferences.put(AgileReviewPreferences.ACTIVE_REVIEW_ID, reviewId);
+            scheduleFlush();
+        }
+    }
+    
+    /**
+     * Returns the ID of the currently active review
+     * @return the ID of the currently active review or an empty string if there is no active review
+     * @author agent (18.10.2026)
+     */
+    public String getActiveReviewId() {
+        return getPreferences().get(AgileReviewPreferences.ACTIVE_REVIEW_ID, "");
+    }
+    
+    /**
+     * Persists all pending changes immediately, e.g. when shutting down the plug-in
+     * @author agent (18.10.2026)
+     */
+    public void flushNow() {
+        flushJob.cancel();
+        flush();
+    }
+    
+    /**
+     * Re-reads the set of open review IDs if the preference has been changed by someone else
+     * @author agent (18.10.2026)
+     */
+    private void syncOpenReviewIds() {
+        // the in-memory state is newer than the preference until the pending value has been written
+        if (pendingOpenReviewsPref != null) { return; }
+        String pref = getPreferences().get(AgileReviewPreferences.OPEN_REVIEWS, "");
+        if (!pref.equals(openReviewsPref)) {
+            openReviewIds.clear();
+            openReviewIds.addAll(parseReviewIds(pref));
+            openReviewsPref = pref;
+        }
+    }
+    
+    /**
+     * Joins the given review IDs to a comma separated list as stored in {@link AgileReviewPreferences#OPEN_REVIEWS}
+     * @param reviewIds review IDs to be joined
+     * @return the comma separated list of review IDs
+     * @author agent (18.10.2026)
+     */
+    private static String joinReviewIds(Set<String> reviewIds) {
+        StringBuilder buf = new StringBuilder();
+        Iterator<String> it = reviewIds.iterator();
+        while (it.hasNext()) {
+            buf.append(it.next());
+            if (it.hasNext()) {
+                buf.append(",");
+            }
+        }
+        return buf.toString();
+    }
+    
+    /**
+     * (Re-)schedules the persisting of the preferences, such that subsequent changes within the {@link #FLUSH_DELAY} are persisted together
+     * @author agent (18.10.2026)
+     */
+    private void scheduleFlush() {
+        flushJob.schedule(FLUSH_DELAY);
+    }
+    
+    /**
+     * Persists the preference node of the core plug-in
+     * @author agent (18.10.2026)
+     */
+    private void flush() {
+        try {
+            getPreferences().flush();
+        } catch (BackingStoreException e) {
+            ExceptionHandler.logAndNotifyUser("AgileReview could not persistently save the list of open reviews and the active review.", e,
+                    Activator.PLUGIN_ID);
+        }
+    }
+    
+    /**
+     * @return the instance scoped preferences of the core plug-in
+     * @author agent (18.10.2026)
+     */
+    private static IEclipsePreferences getPreferences() {
+        return InstanceScope.INSTANCE.getNode(Activator.PLUGIN_ID);
+    }
+}
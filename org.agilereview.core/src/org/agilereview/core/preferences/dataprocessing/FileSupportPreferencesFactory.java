@@ -7,12 +7,15 @@
  */
 package org.agilereview.core.preferences.dataprocessing;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.agilereview.core.external.preferences.AgileReviewPreferences;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.preferences.DefaultScope;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
 import org.eclipse.core.runtime.preferences.IScopeContext;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 
@@ -25,6 +28,29 @@ import com.google.gson.Gson;
  */
 public class FileSupportPreferencesFactory {
     
+    /**
+     * Cached mapping of file endings to comment tags or <code>null</code> if the mapping has to be reloaded from the preferences
+     */
+    private static volatile Map<String, String[]> cachedFileSupportMap;
+    /**
+     * States whether the {@link #invalidationListener} has been registered on the preferences
+     */
+    private static boolean listenerRegistered = false;
+    /**
+     * Listener invalidating the {@link #cachedFileSupportMap} on changes of the file support preferences
+     */
+    private static final IPreferenceChangeListener invalidationListener = new IPreferenceChangeListener() {
+        @Override
+        public void preferenceChange(PreferenceChangeEvent event) {
+            if (AgileReviewPreferences.SUPPORTED_FILES.equals(event.getKey())) {
+                // synchronized in order to not being overwritten by a concurrent reload of the outdated preferences
+                synchronized (FileSupportPreferencesFactory.class) {
+                    cachedFileSupportMap = null;
+                }
+            }
+        }
+    };
+    
     /**
      * Representation of one entry for file support of multi line comments.
      * @author Malte Brunnlieb (20.11.2012)
@@ -56,6 +82,28 @@ public class FileSupportPreferencesFactory {
         return result;
     }
     
+    /**
+     * Returns the cached mapping of file endings to comment tags. The mapping will only be reloaded from the eclipse preferences store if the file
+     * support preferences changed.
+     * @return an unmodifiable mapping of file endings to comment tags
+     * @author agent (18.10.2026)
+     */
+    public static Map<String, String[]> getFileSupportMap() {
+        Map<String, String[]> result = cachedFileSupportMap;
+        if (result == null) {
+            synchronized (FileSupportPreferencesFactory.class) {
+                if (!listenerRegistered) {
+                    InstanceScope.INSTANCE.getNode("org.agilereview.core").addPreferenceChangeListener(invalidationListener);
+                    DefaultScope.INSTANCE.getNode("org.agilereview.core").addPreferenceChangeListener(invalidationListener);
+                    listenerRegistered = true;
+                }
+                result = Collections.unmodifiableMap(createFileSupportMap());
+                cachedFileSupportMap = result;
+            }
+        }
+        return result;
+    }
+    
     /**
      * Factory method which loads the current eclipse preferences into object representation
      * @return an array of {@link FileSupportEntry}s
@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.agilereview.core.external.storage.Comment;
+import org.agilereview.core.external.storage.Review;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModelExtension;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.powermock.reflect.Whitebox;
+
+/**
+ * Test class for {@link AnnotationManager}
+ * @author agent (18.10.2026)
+ */
+public class AnnotationManagerTest {
+    
+    /**
+     * Content of the editor's document, which contains all annotated positions
+     */
+    private static final String CONTENT = "0123456789012345678901234567890123456789012345678901234567890";
+    /**
+     * Editor mock providing a document with the {@link #CONTENT}
+     */
+    private EditorFixture fixture;
+    /**
+     * Mocked annotation model of the editor
+     */
+    private IAnnotationModelExtension annotationModel;
+    /**
+     * Manager under test
+     */
+    private AnnotationManager manager;
+    /**
+     * {@link DataManager} instance before the test
+     */
+    private DataManager formerDataManager;
+    
+    /**
+     * Sets up an editor mock with a mocked annotation model and a {@link DataManager} knowing the comments c0, c1 and c2
+     * @author agent (18.10.2026)
+     */
+    @Before
+    public void setUp() {
+        fixture = new EditorFixture(CONTENT);
+        annotationModel = mock(IAnnotationModelExtension.class, withSettings().extraInterfaces(IAnnotationModel.class));
+        when(fixture.getProvider().getAnnotationModel(fixture.getInput())).thenReturn((IAnnotationModel) annotationModel);
+        
+        DataManager dataManager = mock(DataManager.class);
+        for (String id : Arrays.asList("c0", "c1", "c2")) {
+            Comment comment = mock(Comment.class);
+            Review review = mock(Review.class);
+            when(comment.getId()).thenReturn(id);
+            when(comment.getAuthor()).thenReturn("author");
+            when(comment.getReview()).thenReturn(review);
+            when(review.getId()).thenReturn("r0");
+            when(dataManager.getComment(id)).thenReturn(comment);
+        }
+        formerDataManager = Whitebox.getInternalState(DataManager.class, "instance");
+        Whitebox.setInternalState(DataManager.class, "instance", dataManager);
+        
+        manager = new AnnotationManager(fixture.getEditor());
+        ColorManager colorManager = mock(ColorManager.class);
+        when(colorManager.getAnnotationType(anyString())).thenReturn("type");
+        Whitebox.setInternalState(manager, "colorManager", colorManager);
+    }
+    
+    /**
+     * Restores the former {@link DataManager} instance
+     * @author agent (18.10.2026)
+     */
+    @After
+    public void tearDown() {
+        Whitebox.setInternalState(DataManager.class, "instance", formerDataManager);
+    }
+    
+    /**
+     * Checks that adding, moving and removing annotations is performed within one
+     * {@link IAnnotationModelExtension#replaceAnnotations(Annotation[], Map)} call and that moved annotations are not recreated
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testReconcileInOneBatch() {
+        Map<String, Position> positions = new HashMap<String, Position>();
+        positions.put("c0", new Position(0, 10));
+        positions.put("c1", new Position(20, 10));
+        manager.displayAnnotations(positions);
+        
+        Map<Annotation, Position> added = captureReplacement(1).getValue();
+        assertEquals(2, added.size());
+        Annotation c0 = annotationAt(added, new Position(0, 10));
+        Annotation c1 = annotationAt(added, new Position(20, 10));
+        when(((IAnnotationModel) annotationModel).getPosition(c0)).thenReturn(new Position(0, 10));
+        when(((IAnnotationModel) annotationModel).getPosition(c1)).thenReturn(new Position(20, 10));
+        
+        // move c0, remove c1 and add c2
+        positions.clear();
+        positions.put("c0", new Position(5, 10));
+        positions.put("c2", new Position(40, 5));
+        manager.displayAnnotations(positions);
+        
+        ArgumentCaptor<Annotation[]> removed = ArgumentCaptor.forClass(Annotation[].class);
+        ArgumentCaptor<Map<Annotation, Position>> captor = captureReplacement(2, removed);
+        added = captor.getValue();
+        assertEquals(new HashSet<Annotation>(Arrays.asList(c0, c1)), new HashSet<Annotation>(Arrays.asList(removed.getValue())));
+        assertEquals(2, added.size());
+        assertSame(c0, annotationAt(added, new Position(5, 10)));
+        assertTrue(added.containsValue(new Position(40, 5)));
+        verify((IAnnotationModel) annotationModel, never()).addAnnotation(any(Annotation.class), any(Position.class));
+    }
+    
+    /**
+     * Checks that the annotation model is not modified if all annotations are displayed at their positions already
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testReconcileWithoutChanges() {
+        Map<String, Position> positions = new HashMap<String, Position>();
+        positions.put("c0", new Position(0, 10));
+        manager.displayAnnotations(positions);
+        Annotation c0 = annotationAt(captureReplacement(1).getValue(), new Position(0, 10));
+        when(((IAnnotationModel) annotationModel).getPosition(c0)).thenReturn(new Position(0, 10));
+        
+        manager.displayAnnotations(positions);
+        manager.updateAnnotations(positions);
+        
+        verify(annotationModel, times(1)).replaceAnnotations(any(Annotation[].class), Matchers.<Map<Annotation, Position>> any());
+    }
+    
+    /**
+     * Checks that the comments are looked up at the positions shifted by changes of the document
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testLookupFollowsDocumentChanges() throws Exception {
+        Map<String, Position> positions = new HashMap<String, Position>();
+        positions.put("c0", new Position(0, 10));
+        positions.put("c1", new Position(20, 10));
+        manager.displayAnnotations(positions);
+        assertArrayEquals(new String[] { "c1" }, manager.getCommentsByPosition(new Position(25, 10)));
+        
+        fixture.getDocument().replace(5, 0, "inserted");
+        assertArrayEquals(new String[] { "c0" }, manager.getCommentsByOffset(15));
+        assertArrayEquals(new String[0], manager.getCommentsByPosition(new Position(18, 10)));
+        assertArrayEquals(new String[] { "c1" }, manager.getCommentsByOffset(28));
+        
+        manager.deleteAnnotation("c1");
+        assertArrayEquals(new String[0], manager.getCommentsByOffset(28));
+    }
+    
+    /**
+     * Verifies the number of {@link IAnnotationModelExtension#replaceAnnotations(Annotation[], Map)} calls and captures the added annotations
+     * @param calls expected number of calls
+     * @return the captor of the added annotations
+     * @author agent (18.10.2026)
+     */
+    private ArgumentCaptor<Map<Annotation, Position>> captureReplacement(int calls) {
+        return captureReplacement(calls, ArgumentCaptor.forClass(Annotation[].class));
+    }
+    
+    /**
+     * Verifies the number of {@link IAnnotationModelExtension#replaceAnnotations(Annotation[], Map)} calls and captures their arguments
+     * @param calls expected number of calls
+     * @param removed captor of the removed annotations
+     * @return the captor of the added annotations
+     * @author agent (18.10.2026)
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private ArgumentCaptor<Map<Annotation, Position>> captureReplacement(int calls, ArgumentCaptor<Annotation[]> removed) {
+        ArgumentCaptor<Map<Annotation, Position>> added = (ArgumentCaptor) ArgumentCaptor.forClass(Map.class);
+        verify(annotationModel, times(calls)).replaceAnnotations(removed.capture(), added.capture());
+        return added;
+    }
+    
+    /**
+     * Returns the annotation added at the given position
+     * @param added added annotations mapped to their positions
+     * @param position position of the annotation
+     * @return the annotation added at the given position
+     * @author agent (18.10.2026)
+     */
+    private static Annotation annotationAt(Map<Annotation, Position> added, Position position) {
+        for (Entry<Annotation, Position> entry : added.entrySet()) {
+            if (entry.getValue().equals(position)) { return entry.getKey(); }
+        }
+        throw new AssertionError("No annotation added at " + position);
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.junit.Test;
+
+/**
+ * Test class for {@link CodeCommentIndex}
+ * @author agent (18.10.2026)
+ */
+public class CodeCommentIndexTest {
+    
+    /**
+     * Java comment tags
+     */
+    private static final String[] TAGS = new String[] { "/*", "*/" };
+    /**
+     * Pattern matching AgileReview tags for {@link #TAGS}
+     */
+    private static final Pattern TAG_PATTERN = TagScanner.getInstance(TAGS).getTagPattern();
+    /**
+     * Document containing code comments and AgileReview tags
+     */
+    private static final String CONTENT = "class A {\n    /**\n     * Doc\n     */\n    int a; /*-?|c0|*/\n    /* single */ int b;\n"
+            + "    int c; /*-|c0|?*/\n    /*\n     * block\n     */\n}\n";
+    
+    /**
+     * Checks the lookups on an unchanged document
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testLookup() throws Exception {
+        IDocument document = new Document(CONTENT);
+        CodeCommentIndex index = new CodeCommentIndex(TAGS, TAG_PATTERN);
+        index.setDocument(document);
+        
+        assertEquals(-1, index.getLastBeginTagLine(-1));
+        assertEquals(-1, index.getLastBeginTagLine(0));
+        assertEquals(1, index.getLastBeginTagLine(3));
+        // AgileReview tags are ignored
+        assertEquals(1, index.getLastBeginTagLine(4));
+        assertEquals(5, index.getLastBeginTagLine(6));
+        assertEquals(3, index.getFirstEndTagLine(1));
+        assertEquals(9, index.getFirstEndTagLine(7));
+        assertIndexConsistent(document, index);
+    }
+    
+    /**
+     * Checks that the index is kept up to date while the document is changed
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testIncrementalUpdate() throws Exception {
+        IDocument document = new Document(CONTENT);
+        CodeCommentIndex index = new CodeCommentIndex(TAGS, TAG_PATTERN);
+        index.setDocument(document);
+        assertIndexConsistent(document, index);
+        
+        // insert lines in front of all comments
+        document.replace(document.getLineOffset(1), 0, "    int x;\n    int y;\n");
+        assertIndexConsistent(document, index);
+        
+        // remove the end of the javadoc comment
+        document.replace(document.getLineOffset(5), document.getLineLength(5), "");
+        assertIndexConsistent(document, index);
+        
+        // add a new block comment spanning multiple changed lines
+        document.replace(document.getLineOffset(2), 0, "    /* new\n     comment */\n");
+        assertIndexConsistent(document, index);
+        
+        // join two lines containing comment tags
+        int offset = document.getLineOffset(3) - 1;
+        document.replace(offset, 1, "");
+        assertIndexConsistent(document, index);
+        
+        // replace the whole document
+        document.set("/*\n*/\n/*-?|c1|?*/\n");
+        assertIndexConsistent(document, index);
+    }
+    
+    /**
+     * Checks that the index only registers its positions while holding the lock of the document
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testIndexWaitsForDocumentLock() throws Exception {
+        final Document document = new Document(CONTENT);
+        final Object lock = new Object();
+        document.setLockObject(lock);
+        final CodeCommentIndex index = new CodeCommentIndex(TAGS, TAG_PATTERN);
+        final CountDownLatch indexed = new CountDownLatch(1);
+        Thread lookupThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    index.setDocument(document);
+                    index.getLastBeginTagLine(3);
+                    indexed.countDown();
+                } catch (BadLocationException e) {
+                    // indexed will not be counted down
+                }
+            }
+        });
+        synchronized (lock) {
+            lookupThread.start();
+            assertFalse(indexed.await(100, TimeUnit.MILLISECONDS));
+        }
+        assertTrue(indexed.await(10, TimeUnit.SECONDS));
+        assertIndexConsistent(document, index);
+        index.dispose();
+    }
+    
+    /**
+     * Asserts that all lookups of the index match a naive computation on the document
+     * @param document indexed document
+     * @param index index to be checked
+     * @throws BadLocationException
+     * @author agent (18.10.2026)
+     */
+    private void assertIndexConsistent(IDocument document, CodeCommentIndex index) throws BadLocationException {
+        for (int line = 0; line < document.getNumberOfLines(); line++) {
+            int expectedBegin = -1;
+            for (int i = 0; i <= line; i++) {
+                if (lineContains(document, i, TAGS[0])) {
+                    expectedBegin = i;
+                }
+            }
+            int expectedEnd = -1;
+            for (int i = line; i < document.getNumberOfLines(); i++) {
+                if (lineContains(document, i, TAGS[1])) {
+                    expectedEnd = i;
+                    break;
+                }
+            }
+            assertEquals("begin tag line for line " + line, expectedBegin, index.getLastBeginTagLine(line));
+            assertEquals("end tag line for line " + line, expectedEnd, index.getFirstEndTagLine(line));
+        }
+    }
+    
+    /**
+     * Checks whether the given line contains the given string ignoring AgileReview tags
+     * @param document document to be checked
+     * @param line line of the document
+     * @param string string to be searched for
+     * @return true, if the line contains the string,<br>false, otherwise
+     * @throws BadLocationException
+     * @author agent (18.10.2026)
+     */
+    private boolean lineContains(IDocument document, int line, String string) throws BadLocationException {
+        String content = document.get(document.getLineOffset(line), document.getLineLength(line));
+        return TAG_PATTERN.matcher(content).replaceAll("").contains(string);
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link CommentPositionIndex}
+ * @author agent (18.10.2026)
+ */
+public class CommentPositionIndexTest {
+    
+    /**
+     * Position category of the reference positions
+     */
+    private static final String REFERENCE_CATEGORY = "reference";
+    /**
+     * Indexed document
+     */
+    private IDocument document;
+    /**
+     * Index under test
+     */
+    private CommentPositionIndex index;
+    /**
+     * Reference positions of the indexed comments, which are updated by the document in the same way as the indexed positions
+     */
+    private Map<String, Position> reference;
+    
+    /**
+     * Creates an index for a document of 100 characters with nested and overlapping comments
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Before
+    public void setUp() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            content.append("line " + i + "...\n");
+        }
+        document = new Document(content.toString());
+        document.addPositionCategory(REFERENCE_CATEGORY);
+        document.addPositionUpdater(new DefaultPositionUpdater(REFERENCE_CATEGORY));
+        index = new CommentPositionIndex(document);
+        reference = new HashMap<String, Position>();
+        
+        Map<String, Position> positions = new HashMap<String, Position>();
+        positions.put("c0", new Position(0, 60));
+        positions.put("c1", new Position(10, 10));
+        positions.put("c2", new Position(15, 30));
+        positions.put("c3", new Position(50, 0));
+        positions.put("c4", new Position(70, 20));
+        positions.put("c5", new Position(70, 5));
+        put(positions);
+    }
+    
+    /**
+     * Disposes the index
+     * @author agent (18.10.2026)
+     */
+    @After
+    public void tearDown() {
+        index.dispose();
+    }
+    
+    /**
+     * Checks the lookups on an unchanged document
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testLookup() {
+        assertEquals(new HashSet<String>(Arrays.asList("c0", "c1", "c2")), new HashSet<String>(index.getOverlappingComments(12, 5)));
+        assertEquals(new HashSet<String>(Arrays.asList("c0", "c3")), new HashSet<String>(index.getOverlappingComments(50, 0)));
+        assertEquals(new HashSet<String>(Arrays.asList("c4", "c5")), new HashSet<String>(index.getCoveringComments(70)));
+        assertEquals(Collections.singletonList("c4"), index.getCoveringComments(75));
+        assertEquals(Collections.emptyList(), index.getOverlappingComments(60, 10));
+        assertIndexConsistent();
+    }
+    
+    /**
+     * Checks that the index follows the changes of the document
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testDocumentChanges() throws Exception {
+        // insert in front of all comments
+        document.replace(0, 0, "xx");
+        assertIndexConsistent();
+        
+        // insert within overlapping comments
+        document.replace(20, 0, "inserted");
+        assertIndexConsistent();
+        
+        // delete a region covering the start of a comment
+        document.replace(14, 8, "");
+        assertIndexConsistent();
+        
+        // replace the exact range of a comment
+        Position c4 = reference.get("c4");
+        document.replace(c4.getOffset(), c4.getLength(), "replaced");
+        assertIndexConsistent();
+        
+        // delete a region containing whole comments
+        document.replace(60, document.getLength() - 60, "");
+        assertIndexConsistent();
+        assertFalse(index.getOverlappingComments(0, document.getLength()).contains("c5"));
+        
+        // replace the whole document
+        document.set("new content");
+        assertIndexConsistent();
+    }
+    
+    /**
+     * Checks that moved and removed comments are updated in the index
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testPutAndRemove() throws Exception {
+        put(Collections.singletonMap("c1", new Position(80, 10)));
+        remove(Collections.singleton("c4"));
+        assertIndexConsistent();
+        
+        document.replace(75, 10, "");
+        assertIndexConsistent();
+    }
+    
+    /**
+     * Adds the given positions to the index and the reference positions
+     * @param positions positions mapped to their comment keys
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    private void put(Map<String, Position> positions) throws Exception {
+        index.put(positions);
+        remove(positions.keySet(), false);
+        for (Entry<String, Position> entry : positions.entrySet()) {
+            Position p = new Position(entry.getValue().getOffset(), entry.getValue().getLength());
+            document.addPosition(REFERENCE_CATEGORY, p);
+            reference.put(entry.getKey(), p);
+        }
+    }
+    
+    /**
+     * Removes the given comments from the index and the reference positions
+     * @param commentKeys keys of the comments to be removed
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    private void remove(Set<String> commentKeys) throws Exception {
+        remove(commentKeys, true);
+    }
+    
+    /**
+     * Removes the given comments from the reference positions and optionally from the index
+     * @param commentKeys keys of the comments to be removed
+     * @param fromIndex states whether the comments should also be removed from the index
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    private void remove(Set<String> commentKeys, boolean fromIndex) throws Exception {
+        if (fromIndex) {
+            index.remove(commentKeys);
+        }
+        for (String key : commentKeys) {
+            Position p = reference.remove(key);
+            if (p != null) {
+                document.removePosition(REFERENCE_CATEGORY, p);
+            }
+        }
+    }
+    
+    /**
+     * Asserts that all lookups of the index match a naive computation on the reference positions
+     * @author agent (18.10.2026)
+     */
+    private void assertIndexConsistent() {
+        for (int offset = 0; offset <= document.getLength(); offset++) {
+            for (int length = 0; length <= 12 && offset + length <= document.getLength(); length += 3) {
+                Set<String> expected = new HashSet<String>();
+                for (Entry<String, Position> entry : reference.entrySet()) {
+                    if (!entry.getValue().isDeleted() && entry.getValue().overlapsWith(offset, length)) {
+                        expected.add(entry.getKey());
+                    }
+                }
+                assertEquals("overlapping comments of " + offset + ", " + length, expected,
+                        new HashSet<String>(index.getOverlappingComments(offset, length)));
+            }
+            Set<String> expected = new HashSet<String>();
+            for (Entry<String, Position> entry : reference.entrySet()) {
+                if (entry.getValue().includes(offset)) {
+                    expected.add(entry.getKey());
+                }
+            }
+            assertEquals("covering comments of " + offset, expected, new HashSet<String>(index.getCoveringComments(offset)));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.ui.IEditorInput;
+import org.eclipse.ui.texteditor.IDocumentProvider;
+import org.eclipse.ui.texteditor.ITextEditor;
+
+/**
+ * Test fixture providing an editor mock, whose document provider returns an in-memory document
+ * @author agent (18.10.2026)
+ */
+class EditorFixture {
+    
+    /**
+     * Mocked editor
+     */
+    private final ITextEditor editor;
+    /**
+     * Mocked document provider of the editor
+     */
+    private final IDocumentProvider provider;
+    /**
+     * Mocked input of the editor
+     */
+    private final IEditorInput input;
+    /**
+     * Document of the editor
+     */
+    private final IDocument document;
+    
+    /**
+     * Creates a new editor mock providing a {@link Document} with the given content
+     * @param content initial content of the document
+     * @author agent (18.10.2026)
+     */
+    EditorFixture(String content) {
+        this(new Document(content));
+    }
+    
+    /**
+     * Creates a new editor mock providing the given document
+     * @param document document of the editor
+     * @author agent (18.10.2026)
+     */
+    EditorFixture(IDocument document) {
+        this.document = document;
+        editor = mock(ITextEditor.class);
+        provider = mock(IDocumentProvider.class);
+        input = mock(IEditorInput.class);
+        when(editor.getDocumentProvider()).thenReturn(provider);
+        when(editor.getEditorInput()).thenReturn(input);
+        when(provider.getDocument(input)).thenReturn(document);
+    }
+    
+    /**
+     * @return the mocked editor
+     * @author agent (18.10.2026)
+     */
+    ITextEditor getEditor() {
+        return editor;
+    }
+    
+    /**
+     * @return the mocked document provider of the editor
+     * @author agent (18.10.2026)
+     */
+    IDocumentProvider getProvider() {
+        return provider;
+    }
+    
+    /**
+     * @return the mocked input of the editor
+     * @author agent (18.10.2026)
+     */
+    IEditorInput getInput() {
+        return input;
+    }
+    
+    /**
+     * @return the document of the editor
+     * @author agent (18.10.2026)
+     */
+    IDocument getDocument() {
+        return document;
+    }
+}
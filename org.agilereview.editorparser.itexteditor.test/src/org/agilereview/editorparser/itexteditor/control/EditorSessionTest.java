@@ -0,0 +1,304 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.agilereview.editorparser.itexteditor.exception.NoDocumentFoundException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.ui.IPropertyListener;
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Test class for {@link EditorSession}
+ * @author agent (18.10.2026)
+ */
+public class EditorSessionTest {
+    
+    /**
+     * Java comment tags
+     */
+    private static final String[] TAGS = new String[] { "/*", "*/" };
+    /**
+     * Maximum time in seconds to wait for another thread
+     */
+    private static final long TIMEOUT = 10;
+    /**
+     * Editor mock providing a document without comments
+     */
+    private EditorFixture fixture;
+    /**
+     * Mocked editor providing a document without comments
+     */
+    private ITextEditor editor;
+    /**
+     * Mocked parser extension
+     */
+    private EditorParserExtension parserExtension;
+    
+    /**
+     * Sets up an editor mock providing an in-memory document
+     * @author agent (18.10.2026)
+     */
+    @Before
+    public void setUp() {
+        fixture = new EditorFixture("class A {\n}\n");
+        editor = fixture.getEditor();
+        parserExtension = mock(EditorParserExtension.class);
+    }
+    
+    /**
+     * Checks that a session is opened only once and cannot be reopened after it has been closed
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testLifecycle() throws Exception {
+        EditorSession session = new EditorSession(editor, parserExtension);
+        assertFalse(session.isOpen());
+        assertNull(session.getParser());
+        
+        assertTrue(session.open(TAGS));
+        TagParser parser = session.getParser();
+        assertNotNull(parser);
+        assertNotNull(session.getAnnotationManager());
+        assertTrue(session.open(TAGS));
+        assertSame(parser, session.getParser());
+        verify(editor, times(1)).addPropertyListener(any(IPropertyListener.class));
+        
+        session.close();
+        assertFalse(session.isOpen());
+        assertFalse(session.open(TAGS));
+        verify(editor, times(1)).removePropertyListener(any(IPropertyListener.class));
+        // closing twice has no effect
+        session.close();
+        verify(editor, times(1)).removePropertyListener(any(IPropertyListener.class));
+    }
+    
+    /**
+     * Checks that a session closed before it has been opened will never be opened
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testCloseBeforeOpen() throws Exception {
+        EditorSession session = new EditorSession(editor, parserExtension);
+        session.close();
+        
+        assertFalse(session.open(TAGS));
+        assertNull(session.getParser());
+        assertNull(session.getReparseScheduler());
+        verify(editor, never()).addPropertyListener(any(IPropertyListener.class));
+    }
+    
+    /**
+     * Checks that closing a session does not wait for a thread currently parsing the document while opening the session and that the opening
+     * thread releases its components afterwards
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testCloseDoesNotWaitForOpening() throws Exception {
+        final CountDownLatch parsing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        blockDocumentAccess(parsing, release);
+        final EditorSession session = new EditorSession(editor, parserExtension);
+        final List<Boolean> results = new CopyOnWriteArrayList<Boolean>();
+        Thread opener = startOpening(session, results);
+        assertTrue(parsing.await(TIMEOUT, TimeUnit.SECONDS));
+        
+        // the opening thread is blocked within the parse
+        session.close();
+        assertFalse(session.isOpen());
+        release.countDown();
+        opener.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+        
+        assertEquals(1, results.size());
+        assertFalse(results.get(0));
+        assertNull(session.getParser());
+        verify(editor, never()).addPropertyListener(any(IPropertyListener.class));
+    }
+    
+    /**
+     * Checks that concurrent calls open the session exactly once and all of them see the same parser
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testConcurrentOpen() throws Exception {
+        final CountDownLatch parsing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        blockDocumentAccess(parsing, release);
+        final EditorSession session = new EditorSession(editor, parserExtension);
+        final List<Boolean> results = new CopyOnWriteArrayList<Boolean>();
+        Thread[] openers = new Thread[4];
+        for (int i = 0; i < openers.length; i++) {
+            openers[i] = startOpening(session, results);
+        }
+        assertTrue(parsing.await(TIMEOUT, TimeUnit.SECONDS));
+        release.countDown();
+        for (Thread opener : openers) {
+            opener.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+        }
+        
+        assertEquals(openers.length, results.size());
+        assertFalse(results.contains(Boolean.FALSE));
+        assertTrue(session.isOpen());
+        verify(editor, times(1)).addPropertyListener(any(IPropertyListener.class));
+        session.close();
+    }
+    
+    /**
+     * Checks that {@link EditorSession#tryOpen(String[])} does not wait for another thread currently opening the session
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testTryOpenDoesNotWait() throws Exception {
+        final CountDownLatch parsing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        blockDocumentAccess(parsing, release);
+        final EditorSession session = new EditorSession(editor, parserExtension);
+        final List<Boolean> results = new CopyOnWriteArrayList<Boolean>();
+        Thread opener = startOpening(session, results);
+        assertTrue(parsing.await(TIMEOUT, TimeUnit.SECONDS));
+        
+        // the opening thread is blocked within the parse
+        try {
+            assertFalse(session.tryOpen(TAGS));
+            assertFalse(session.isOpen());
+        } finally {
+            release.countDown();
+        }
+        opener.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+        
+        assertEquals(1, results.size());
+        assertTrue(results.get(0));
+        assertTrue(session.tryOpen(TAGS));
+        verify(editor, times(1)).addPropertyListener(any(IPropertyListener.class));
+        session.close();
+    }
+    
+    /**
+     * Checks that closing an open session does not wait for a running operation on the parser
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testCloseDoesNotWaitForParser() throws Exception {
+        final EditorSession session = new EditorSession(editor, parserExtension);
+        assertTrue(session.open(TAGS));
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Thread operation = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (session.getParser()) {
+                    locked.countDown();
+                    try {
+                        release.await(TIMEOUT, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        operation.start();
+        try {
+            assertTrue(locked.await(TIMEOUT, TimeUnit.SECONDS));
+            session.close();
+            assertFalse(session.isOpen());
+            verify(editor, times(1)).removePropertyListener(any(IPropertyListener.class));
+        } finally {
+            release.countDown();
+        }
+        operation.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+    }
+    
+    /**
+     * Checks that a session, which could not be opened, will be opened by the next call
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testFailedOpenIsRetried() throws Exception {
+        when(fixture.getProvider().getDocument(fixture.getInput())).thenReturn(null).thenReturn(fixture.getDocument());
+        EditorSession session = new EditorSession(editor, parserExtension);
+        try {
+            session.open(TAGS);
+            fail("The session must not be opened without a document");
+        } catch (NoDocumentFoundException e) {
+            // expected
+        }
+        assertFalse(session.isOpen());
+        
+        assertTrue(session.open(TAGS));
+        assertNotNull(session.getParser());
+        session.close();
+    }
+    
+    /**
+     * Blocks the first access of the editor's document until the given latch is released
+     * @param accessed latch released as soon as the document is accessed the first time
+     * @param release latch the first access waits for
+     * @author agent (18.10.2026)
+     */
+    private void blockDocumentAccess(final CountDownLatch accessed, final CountDownLatch release) {
+        when(fixture.getProvider().getDocument(fixture.getInput())).thenAnswer(new Answer<IDocument>() {
+            @Override
+            public IDocument answer(InvocationOnMock invocation) throws Throwable {
+                accessed.countDown();
+                release.await(TIMEOUT, TimeUnit.SECONDS);
+                return fixture.getDocument();
+            }
+        });
+    }
+    
+    /**
+     * Starts a thread opening the given session
+     * @param session session to be opened
+     * @param results list the result of the opening will be added to
+     * @return the started thread
+     * @author agent (18.10.2026)
+     */
+    private static Thread startOpening(final EditorSession session, final List<Boolean> results) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    results.add(session.open(TAGS));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        thread.start();
+        return thread;
+    }
+}
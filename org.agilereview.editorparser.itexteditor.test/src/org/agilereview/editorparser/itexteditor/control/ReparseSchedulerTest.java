@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ui.IEditorPart;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Test class for {@link ReparseScheduler}
+ * @author agent (18.10.2026)
+ */
+public class ReparseSchedulerTest {
+    
+    /**
+     * Debounce delay used for the tests in milliseconds
+     */
+    private static final long DELAY = 50;
+    /**
+     * Maximum time in seconds to wait for an expected reparse
+     */
+    private static final long TIMEOUT = 10;
+    /**
+     * Mocked editor
+     */
+    private IEditorPart editor;
+    /**
+     * Mocked parser extension recording all reparses
+     */
+    private EditorParserExtension parserExtension;
+    /**
+     * Force flags of all performed reparses
+     */
+    private final List<Boolean> reparses = new CopyOnWriteArrayList<Boolean>();
+    /**
+     * Latches released as soon as the first, second and third reparse started
+     */
+    private final CountDownLatch[] started = new CountDownLatch[] { new CountDownLatch(1), new CountDownLatch(1), new CountDownLatch(1) };
+    /**
+     * Latch all reparses wait for before they finish
+     */
+    private final CountDownLatch release = new CountDownLatch(1);
+    
+    /**
+     * Sets up the mocked parser extension, which records each reparse and blocks it until the {@link #release} latch is released
+     * @author agent (18.10.2026)
+     */
+    @Before
+    public void setUp() {
+        editor = mock(IEditorPart.class);
+        parserExtension = mock(EditorParserExtension.class);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                reparses.add((Boolean) invocation.getArguments()[1]);
+                int index = reparses.size() - 1;
+                if (index < started.length) {
+                    started[index].countDown();
+                }
+                release.await(TIMEOUT, TimeUnit.SECONDS);
+                return null;
+            }
+        }).when(parserExtension).reparse(eq(editor), anyBoolean());
+    }
+    
+    /**
+     * Checks that a burst of requests results in one reparse, which is forced if any request was forced
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testBurstIsCoalesced() throws Exception {
+        release.countDown();
+        ReparseScheduler scheduler = new ReparseScheduler(editor, parserExtension, DELAY);
+        for (int i = 0; i < 20; i++) {
+            scheduler.requestReparse(i == 5);
+        }
+        assertTrue(started[0].await(TIMEOUT, TimeUnit.SECONDS));
+        assertFalse(started[1].await(4 * DELAY, TimeUnit.MILLISECONDS));
+        
+        assertEquals(1, reparses.size());
+        assertTrue(reparses.get(0));
+        assertEquals(20, scheduler.getRequestCount());
+    }
+    
+    /**
+     * Checks that requests arriving during a running reparse result in exactly one further reparse
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testRequestsDuringReparseAreNotLost() throws Exception {
+        ReparseScheduler scheduler = new ReparseScheduler(editor, parserExtension, DELAY);
+        scheduler.requestReparse(false);
+        assertTrue(started[0].await(TIMEOUT, TimeUnit.SECONDS));
+        // the first reparse is running now
+        scheduler.requestReparse(false);
+        scheduler.requestReparse(true);
+        release.countDown();
+        assertTrue(started[1].await(TIMEOUT, TimeUnit.SECONDS));
+        assertFalse(started[2].await(4 * DELAY, TimeUnit.MILLISECONDS));
+        
+        assertEquals(2, reparses.size());
+        assertEquals(Boolean.FALSE, reparses.get(0));
+        assertEquals(Boolean.TRUE, reparses.get(1));
+    }
+    
+    /**
+     * Checks that disposing the scheduler cancels the pending reparse and ignores further requests
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testDisposeCancelsPendingReparse() throws Exception {
+        release.countDown();
+        ReparseScheduler scheduler = new ReparseScheduler(editor, parserExtension, DELAY);
+        scheduler.requestReparse(true);
+        scheduler.dispose();
+        scheduler.requestReparse(true);
+        assertFalse(started[0].await(4 * DELAY, TimeUnit.MILLISECONDS));
+        
+        assertTrue(reparses.isEmpty());
+        assertEquals(0, scheduler.getReparseCount());
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ISynchronizable;
+import org.eclipse.jface.text.Position;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link TagChangeTracker}
+ * @author agent (18.10.2026)
+ */
+public class TagChangeTrackerTest {
+    
+    /**
+     * Java comment tags
+     */
+    private static final String[] TAGS = new String[] { "/*", "*/" };
+    /**
+     * Begin tag of the comment c0
+     */
+    private static final String BEGIN_TAG = "/*-?|c0|*/";
+    /**
+     * Document containing the valid comment c0
+     */
+    private static final String CONTENT = "class A {\n    int a; " + BEGIN_TAG + "\n    int b; /*-|c0|?*/\n}\n";
+    /**
+     * Editor mock providing a document with the {@link #CONTENT}
+     */
+    private EditorFixture fixture;
+    /**
+     * Parser of the editor
+     */
+    private TagParser parser;
+    
+    /**
+     * {@link Document} providing its own lock object
+     * @author agent (18.10.2026)
+     */
+    private static class SynchronizableDocument extends Document implements ISynchronizable {
+        
+        /**
+         * Lock object of the document
+         */
+        private Object lockObject = new Object();
+        
+        /**
+         * Creates a new {@link SynchronizableDocument}
+         * @param content initial content
+         * @author agent (18.10.2026)
+         */
+        SynchronizableDocument(String content) {
+            super(content);
+        }
+        
+        @Override
+        public void setLockObject(Object lockObject) {
+            this.lockObject = lockObject;
+        }
+        
+        @Override
+        public Object getLockObject() {
+            return lockObject;
+        }
+    }
+    
+    /**
+     * Parses the {@link #CONTENT} initially
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Before
+    public void setUp() throws Exception {
+        fixture = new EditorFixture(CONTENT);
+        parser = new TagParser(fixture.getEditor(), TAGS);
+    }
+    
+    /**
+     * Checks that an edit outside of all tags does not require a full parse and that the positions are shifted by the document
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testEditOutsideTagsSkipsFullParse() throws Exception {
+        int offset = parser.getPosition("c0").getOffset();
+        int length = parser.getPosition("c0").getLength();
+        String insertion = "    // no tag\n";
+        fixture.getDocument().replace(CONTENT.indexOf("class A {\n") + "class A {\n".length(), 0, insertion);
+        
+        assertFalse(parser.parseIfRequired());
+        assertEquals(offset + insertion.length(), parser.getPosition("c0").getOffset());
+        assertEquals(length, parser.getPosition("c0").getLength());
+    }
+    
+    /**
+     * Checks that an edit within a tag requires a full parse
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testEditTouchingTagTriggersFullParse() throws Exception {
+        fixture.getDocument().replace(CONTENT.indexOf(BEGIN_TAG) + 3, 1, "");
+        
+        assertTrue(parser.parseIfRequired());
+        assertFalse(parser.parseIfRequired());
+    }
+    
+    /**
+     * Checks that an edit inserting a new tag requires a full parse
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testNewTagTriggersFullParse() throws Exception {
+        IDocument document = fixture.getDocument();
+        document.replace(document.getLineOffset(3), 0, "    int c; /*-?|c1|?*/\n");
+        
+        assertTrue(parser.parseIfRequired());
+        assertTrue(parser.getObservedComments().containsKey("c1"));
+    }
+    
+    /**
+     * Checks that the positions are only registered while holding the lock of the document
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testTrackWaitsForDocumentLock() throws Exception {
+        final SynchronizableDocument document = new SynchronizableDocument(CONTENT);
+        final TagChangeTracker tracker = new TagChangeTracker(new Object(), TagScanner.getInstance(TAGS).getTagPattern());
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch tracked = new CountDownLatch(1);
+        Thread lockHolder = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (document.getLockObject()) {
+                    locked.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        lockHolder.start();
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+        
+        Thread trackingThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                tracker.track(document, Collections.singleton(new Position(0, 1)), Collections.<Position[]> emptyList());
+                tracked.countDown();
+            }
+        });
+        trackingThread.start();
+        try {
+            assertFalse(tracked.await(100, TimeUnit.MILLISECONDS));
+        } finally {
+            release.countDown();
+        }
+        assertTrue(tracked.await(10, TimeUnit.SECONDS));
+        tracker.dispose();
+    }
+}
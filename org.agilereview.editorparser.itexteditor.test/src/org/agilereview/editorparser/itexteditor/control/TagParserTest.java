@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyBoolean;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.ui.IEditorInput;
+import org.eclipse.ui.texteditor.IDocumentProvider;
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link TagParser}
+ * @author agent (18.10.2026)
+ */
+public class TagParserTest {
+    
+    /**
+     * Java comment tags
+     */
+    private static final String[] TAGS = new String[] { "/*", "*/" };
+    /**
+     * Document containing the valid comment c0
+     */
+    private static final String VALID_CONTENT = "class A {\n    int a; /*-?|c0|*/\n    int b; /*-|c0|?*/\n}\n";
+    /**
+     * Document containing the valid comment c0 and an end tag of c1 without begin tag
+     */
+    private static final String CORRUPTED_CONTENT = "class A {\n    int a; /*-?|c0|*/\n    int b; /*-|c0|?*/\n    int c; /*-|c1|?*/\n}\n";
+    /**
+     * Document containing the valid comments c0, c1 and c2, where c1 is enclosed by c0
+     */
+    private static final String MULTIPLE_CONTENT = "class A {\n    int a; /*-?|c0|*/\n    int b; /*-?|c1|?*/\n    int c; /*-|c0|?*/\n    int d; /*-?|c2|?*/\n}\n";
+    /**
+     * Mocked editor
+     */
+    private ITextEditor editor;
+    /**
+     * Mocked document provider of the editor
+     */
+    private IDocumentProvider provider;
+    /**
+     * Mocked input of the editor
+     */
+    private IEditorInput input;
+    /**
+     * Document of the editor
+     */
+    private IDocument document;
+    
+    /**
+     * Sets up an editor mock providing an in-memory document
+     * @author agent (18.10.2026)
+     */
+    @Before
+    public void setUp() {
+        EditorFixture fixture = new EditorFixture(VALID_CONTENT);
+        editor = fixture.getEditor();
+        provider = fixture.getProvider();
+        input = fixture.getInput();
+        document = fixture.getDocument();
+    }
+    
+    /**
+     * Checks that parsing a document without corrupted tags does not save the document
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testParseValidDocumentWithoutSave() throws Exception {
+        TagParser parser = new TagParser(editor, TAGS);
+        parser.parseInput();
+        parser.parseInput();
+        
+        verifySaves(0);
+        assertTrue(parser.getObservedComments().containsKey("c0"));
+        assertEquals(VALID_CONTENT, document.get());
+    }
+    
+    /**
+     * Checks that repairing a corrupted document saves the document exactly once
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testParseCorruptedDocumentSavesOnce() throws Exception {
+        document.set(CORRUPTED_CONTENT);
+        TagParser parser = new TagParser(editor, TAGS);
+        verifySaves(1);
+        assertEquals("class A {\n    int a; /*-?|c0|*/\n    int b; /*-|c0|?*/\n    int c; \n}\n", document.get());
+        
+        // the document is repaired, so no further save is required
+        parser.parseInput();
+        verifySaves(1);
+    }
+    
+    /**
+     * Checks that the read-only parse mode neither changes nor saves a corrupted document
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testReadOnlyParse() throws Exception {
+        TagParser parser = new TagParser(editor, TAGS);
+        document.set(CORRUPTED_CONTENT);
+        parser.parseInput(false);
+        
+        verifySaves(0);
+        assertEquals(CORRUPTED_CONTENT, document.get());
+        assertTrue(parser.getObservedComments().containsKey("c0"));
+        assertFalse(parser.getObservedComments().containsKey("c1"));
+    }
+    
+    /**
+     * Checks that a reparse repairing tags corrupted after the initial parse saves the document exactly once
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testReparseCorruptedDocumentSavesOnce() throws Exception {
+        TagParser parser = new TagParser(editor, TAGS);
+        verifySaves(0);
+        document.set(CORRUPTED_CONTENT);
+        parser.parseInput();
+        
+        verifySaves(1);
+        assertEquals("class A {\n    int a; /*-?|c0|*/\n    int b; /*-|c0|?*/\n    int c; \n}\n", document.get());
+        assertTrue(parser.getObservedComments().containsKey("c0"));
+        assertFalse(parser.getObservedComments().containsKey("c1"));
+    }
+    
+    /**
+     * Checks that removing tags saves the document exactly once
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testRemoveTagsSavesOnce() throws Exception {
+        TagParser parser = new TagParser(editor, TAGS);
+        parser.removeTagsInDocument("c0");
+        
+        verifySaves(1);
+        assertFalse(parser.getObservedComments().containsKey("c0"));
+        assertEquals("class A {\n    int a; \n    int b; \n}\n", document.get());
+    }
+    
+    /**
+     * Checks that removing the tags of several comments at once removes all of their tags, keeps the remaining comment at its shifted position
+     * and saves the document exactly once
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testRemoveMultipleTags() throws Exception {
+        document.set(MULTIPLE_CONTENT);
+        TagParser parser = new TagParser(editor, TAGS);
+        Position before = parser.getPosition("c1");
+        parser.removeTagsInDocument(new HashSet<String>(Arrays.asList("c0", "c2", "unknown")));
+        
+        verifySaves(1);
+        assertEquals("class A {\n    int a; \n    int b; /*-?|c1|?*/\n    int c; \n    int d; \n}\n", document.get());
+        assertEquals(Collections.singleton("c1"), parser.getObservedComments().keySet());
+        // only the begin tag of c0 has been located in front of c1
+        Position after = parser.getPosition("c1");
+        assertEquals(before.getOffset() - "/*-?|c0|*/".length(), after.getOffset());
+        assertEquals(before.getLength(), after.getLength());
+    }
+    
+    /**
+     * Verifies the number of saves of the document
+     * @param count expected number of saves
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    private void verifySaves(int count) throws Exception {
+        verify(provider, times(count)).saveDocument(any(IProgressMonitor.class), eq(input), eq(document), anyBoolean());
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.agilereview.editorparser.itexteditor.control.TagScanner.ScanResult;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.junit.Test;
+
+/**
+ * Test class for {@link TagRepairer}
+ * @author agent (18.10.2026)
+ */
+public class TagRepairerTest {
+    
+    /**
+     * Java comment tags
+     */
+    private static final String[] TAGS = new String[] { "/*", "*/" };
+    
+    /**
+     * Checks that the positions computed by the repair match the positions of a scan of the repaired document
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testRepairWithoutRescan() throws Exception {
+        String text = "class A { /*-|c9|?*/\n/*-?|c0|-*/\n    int a; /*-?|c0|*/\n/*-?|c8|-*/\n    int b; /*-|c0|?*/ /*-|c0|?*/\n"
+                + "    int c; /*-?|c1|?*/\n/*-?|c7|*/ int d; /*-?|c2|*/\n    int e;\n    int f; /*-|c2|?*/\n}\n";
+        IDocument document = new Document(text);
+        TagScanner scanner = TagScanner.getInstance(TAGS);
+        ScanResult result = scanner.scan(document);
+        assertEquals(5, result.getCorruptedTags().size());
+        
+        assertTrue(TagRepairer.repair(document, result));
+        assertFalse(document.get().contains("c9"));
+        assertFalse(document.get().contains("c8"));
+        assertFalse(document.get().contains("c7"));
+        
+        ScanResult expected = scanner.scan(document);
+        assertTrue(expected.getCorruptedTags().isEmpty());
+        assertEquals(expected.getCommentPositions(), result.getCommentPositions());
+        assertEquals(expected.getTagPositions().keySet(), result.getTagPositions().keySet());
+        for (String key : expected.getTagPositions().keySet()) {
+            assertArrayEquals(expected.getTagPositions().get(key), result.getTagPositions().get(key));
+        }
+    }
+    
+    /**
+     * Checks that a document without corrupted tags is not changed
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testRepairValidDocument() throws Exception {
+        String text = "class A {\n    int a; /*-?|c0|*/\n    int b; /*-|c0|?*/\n}\n";
+        IDocument document = new Document(text);
+        ScanResult result = TagScanner.getInstance(TAGS).scan(document);
+        
+        assertFalse(TagRepairer.repair(document, result));
+        assertEquals(text, document.get());
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import static org.junit.Assert.assertEquals;
+
+import org.agilereview.editorparser.itexteditor.control.TagScanner.ScanResult;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.junit.Test;
+
+/**
+ * Microbenchmark for the {@link TagScanner}. The benchmark is not part of the regular test run (the class name does not end with Test) and
+ * should be started explicitly as JUnit plug-in test.
+ * @author agent (18.10.2026)
+ */
+public class TagScannerBenchmark {
+    
+    /**
+     * Java comment tags
+     */
+    private static final String[] TAGS = new String[] { "/*", "*/" };
+    /**
+     * Number of comments in the synthetic benchmark document
+     */
+    private static final int BENCHMARK_COMMENTS = 5000;
+    /**
+     * Number of scans performed by the benchmark
+     */
+    private static final int BENCHMARK_RUNS = 10;
+    
+    /**
+     * Benchmarks the scan of a large synthetic document
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void benchmarkScanLargeDocument() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < BENCHMARK_COMMENTS; i++) {
+            text.append("    /**\n     * Some documentation of method").append(i).append("\n     */\n");
+            text.append("    public void method").append(i).append("() { /*-?|r0|author|c").append(i).append("|*/\n");
+            for (int j = 0; j < 8; j++) {
+                text.append("        int value").append(j).append(" = ").append(i * j).append(";\n");
+            }
+            text.append("    } /*-|r0|author|c").append(i).append("|?*/\n\n");
+        }
+        IDocument document = new Document(text.toString());
+        TagScanner scanner = TagScanner.getInstance(TAGS);
+        
+        // warm up
+        ScanResult result = scanner.scan(document);
+        assertEquals(BENCHMARK_COMMENTS, result.getCommentPositions().size());
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_RUNS; i++) {
+            result = scanner.scan(document);
+        }
+        long average = (System.nanoTime() - start) / BENCHMARK_RUNS / 1000000;
+        System.out.println("TagScanner: " + document.getNumberOfLines() + " lines with " + BENCHMARK_COMMENTS + " comments scanned in " + average
+                + " ms on average");
+    }
+}
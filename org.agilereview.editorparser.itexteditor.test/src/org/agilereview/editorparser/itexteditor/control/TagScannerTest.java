@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+
+import org.agilereview.editorparser.itexteditor.control.TagScanner.ScanResult;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.junit.Test;
+
+/**
+ * Test class for {@link TagScanner}
+ * @author agent (18.10.2026)
+ */
+public class TagScannerTest {
+    
+    /**
+     * Java comment tags
+     */
+    private static final String[] TAGS = new String[] { "/*", "*/" };
+    
+    /**
+     * Checks that scanners are shared per comment tag pair
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testScannerReuse() {
+        assertSame(TagScanner.getInstance(TAGS), TagScanner.getInstance(new String[] { "/*", "*/" }));
+        assertFalse(TagScanner.getInstance(TAGS) == TagScanner.getInstance(new String[] { "<!--", "-->" }));
+    }
+    
+    /**
+     * Checks the resolution of begin and end tags as well as the computation of the tag positions to be removed
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testScanValidTags() throws Exception {
+        String text = "class A {\n/*-?|c0|-*/\n    int a;\n    int b; /*-|c0|?*/\n    int c; /*-?|c1|?*/\n}\n";
+        IDocument document = new Document(text);
+        ScanResult result = TagScanner.getInstance(TAGS).scan(document);
+        
+        assertTrue(result.getCorruptedTags().isEmpty());
+        assertEquals(2, result.getCommentPositions().size());
+        
+        // begin tag inserted with a new line --> whole line will be removed
+        Position[] c0 = result.getTagPositions().get("c0");
+        assertEquals(new Position(document.getLineOffset(1), document.getLineLength(1)), c0[0]);
+        assertEquals(new Position(text.indexOf("/*-|c0|?*/"), "/*-|c0|?*/".length()), c0[1]);
+        assertEquals(new Position(document.getLineOffset(1), document.getLineOffset(4) - document.getLineOffset(1)), result.getCommentPositions()
+                .get("c0"));
+        
+        // single line comment
+        Position[] c1 = result.getTagPositions().get("c1");
+        assertEquals(c1[0], c1[1]);
+        assertEquals(new Position(document.getLineOffset(4), document.getLineLength(4)), result.getCommentPositions().get("c1"));
+    }
+    
+    /**
+     * Checks that all kinds of corrupted tags are found in one scan
+     * @throws Exception
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testScanCorruptedTags() throws Exception {
+        String text = "/*-|c0|?*/\n/*-?|c1|*/\n/*-?|c1|*/\n/*-|c1|?*/\n/*-|c1|?*/\n/*-?|c2|*/\n";
+        IDocument document = new Document(text);
+        ScanResult result = TagScanner.getInstance(TAGS).scan(document);
+        
+        assertEquals(1, result.getTagPositions().size());
+        assertNotNull(result.getCommentPositions().get("c1"));
+        assertEquals(4, result.getCorruptedTags().size());
+        // orphan end tag, duplicate begin tag, duplicate end tag, begin tag without end tag in ascending order
+        Iterator<Position> it = result.getCorruptedTags().iterator();
+        assertEquals(document.getLineOffset(0), it.next().getOffset());
+        assertEquals(document.getLineOffset(2), it.next().getOffset());
+        assertEquals(document.getLineOffset(4), it.next().getOffset());
+        assertEquals(document.getLineOffset(5), it.next().getOffset());
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.prefs;
+
+import static org.junit.Assert.assertEquals;
+
+import org.agilereview.editorparser.itexteditor.prefs.AuthorPreferencesPojo.AuthorTag;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+
+/**
+ * Test class for {@link AuthorPreferencesPojo}
+ * @author agent (18.10.2026)
+ */
+public class AuthorPreferencesPojoTest {
+    
+    /**
+     * Checks that the direct accessors are consistent to the fields injected by JSON
+     * @author agent (18.10.2026)
+     */
+    @Test
+    public void testAccessorsMatchJsonFields() {
+        Gson gson = new Gson();
+        AuthorPreferencesPojo pojo = new AuthorPreferencesPojo();
+        for (AuthorTag authorTag : AuthorTag.values()) {
+            pojo.set(authorTag, "author_" + authorTag);
+        }
+        
+        AuthorPreferencesPojo loaded = gson.fromJson(gson.toJson(pojo), AuthorPreferencesPojo.class);
+        for (AuthorTag authorTag : AuthorTag.values()) {
+            assertEquals("author_" + authorTag, loaded.get(authorTag));
+        }
+        loaded = gson.fromJson("{ 'IDEUser':'ide', 'Author10':'last' }", AuthorPreferencesPojo.class);
+        assertEquals("ide", loaded.get(AuthorTag.IDEUser));
+        assertEquals("last", loaded.get(AuthorTag.Author10));
+        assertEquals(null, loaded.get(AuthorTag.Author2));
+    }
+}
@@ -1,14 +1,16 @@
 package org.agilereview.editorparser.itexteditor.control;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
-import org.agilereview.core.external.preferences.AgileReviewPreferences;
 import org.agilereview.core.external.storage.Comment;
-import org.agilereview.editorparser.itexteditor.prefs.AuthorReservationPreferences;
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.IAnnotationModel;
@@ -20,7 +22,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class is used to draw and manage annotations for a given text editor
+ * This class is used to draw and manage annotations for a given text editor. All accesses of the {@link #annotationMap} are synchronized on the
+ * manager. The positions of the annotated comments are additionally kept in a {@link CommentPositionIndex}, which follows the changes of the
+ * document and answers position lookups without asking the annotation model for every annotation.
  */
 public class AnnotationManager {
     
@@ -41,6 +45,10 @@ public class AnnotationManager {
      * The annotations added by AgileReview to the editor's annotation model
      */
     private final HashMap<String, Annotation> annotationMap = new HashMap<String, Annotation>();
+    /**
+     * Index of the positions of all annotated comments
+     */
+    private final CommentPositionIndex positionIndex;
     
     /**
      * Creates a new AgileAnnotationModel
@@ -49,6 +57,17 @@ public class AnnotationManager {
     AnnotationManager(IEditorPart editor) {
         IEditorInput input = editor.getEditorInput();
         this.annotationModel = (IAnnotationModelExtension) ((ITextEditor) editor).getDocumentProvider().getAnnotationModel(input);
+        IDocument document = ((ITextEditor) editor).getDocumentProvider().getDocument(input);
+        this.positionIndex = new CommentPositionIndex(document);
+    }
+    
+    /**
+     * Clears all annotations for the attached editor. This method should be called if the {@link AnnotationManager} is not used any more.
+     * @author agent (18.10.2026)
+     */
+    void dispose() {
+        clearAnnotations();
+        positionIndex.dispose();
     }
     
     /**
@@ -61,33 +80,13 @@ public class AnnotationManager {
     
     /**
      * Displays the given positions as annotations in the provided editor. Therefore annotations which should not be displayed any more will be
-     * removed and not yet drawn annotations will be added to the annotation model.
+     * removed, not yet drawn annotations will be added and annotations at a different position will be moved within one modification of the
+     * annotation model.
      * @param keyPositionMap a map of Positions which should be annotated and the comment keys correlated to the positions
      */
     void displayAnnotations(Map<String, Position> keyPositionMap) {
         if (keyPositionMap == null) keyPositionMap = new HashMap<String, Position>();
-        
-        //add annotations that are not already displayed
-        Map<Annotation, Position> annotationsToAdd = new HashMap<Annotation, Position>();
-        for (String s : keyPositionMap.keySet()) {
-            if (!annotationMap.containsKey(s)) {
-                Annotation annotation = createNewAnnotation(s);
-                if (annotation != null) {
-                    annotationsToAdd.put(annotation, keyPositionMap.get(s));
-                }
-            }
-        }
-        //remove annotations that should not be displayed
-        ArrayList<Annotation> annotationsToRemove = new ArrayList<Annotation>();
-        ArrayList<String> keysToDelete = new ArrayList<String>();
-        for (String key : annotationMap.keySet()) {
-            if (!keyPositionMap.containsKey(key)) {
-                annotationsToRemove.add(annotationMap.get(key));
-                keysToDelete.add(key);
-            }
-        }
-        annotationModel.replaceAnnotations(annotationsToRemove.toArray(new Annotation[0]), annotationsToAdd);
-        annotationMap.keySet().removeAll(keysToDelete);
+        reconcileAnnotations(keyPositionMap, true);
     }
     
     /**
@@ -95,11 +94,63 @@ public class AnnotationManager {
      * @param keyPositionMap a map of updated positions and the comment keys correlated to the positions
      */
     void updateAnnotations(Map<String, Position> keyPositionMap) {
-        for (String key : keyPositionMap.keySet()) {
-            if (annotationMap.get(key) != null) {
-                annotationModel.modifyAnnotationPosition(annotationMap.get(key), keyPositionMap.get(key));
+        reconcileAnnotations(keyPositionMap, false);
+    }
+    
+    /**
+     * Computes the difference between the displayed annotations and the given positions and applies all changes within one
+     * {@link IAnnotationModelExtension#replaceAnnotations(Annotation[], Map)} call, such that the editor is only repainted once. Moved annotations
+     * are removed and added again with their new position, but will not be recreated.
+     * @param keyPositionMap a map of positions and the comment keys correlated to the positions
+     * @param complete states whether the given map contains all annotations to be displayed. If so, annotations not contained will be removed and
+     *            missing annotations will be created. Otherwise, only existing annotations will be moved.
+     * @author agent (18.10.2026)
+     */
+    private synchronized void reconcileAnnotations(Map<String, Position> keyPositionMap, boolean complete) {
+        Map<Annotation, Position> annotationsToAdd = new HashMap<Annotation, Position>();
+        ArrayList<Annotation> annotationsToRemove = new ArrayList<Annotation>();
+        Map<String, Position> indexedPositions = new HashMap<String, Position>();
+        Set<String> removedKeys = new HashSet<String>();
+        int added = 0, moved = 0;
+        
+        //add annotations that are not already displayed and move annotations whose positions changed
+        for (Entry<String, Position> entry : keyPositionMap.entrySet()) {
+            Annotation annotation = annotationMap.get(entry.getKey());
+            if (annotation == null) {
+                if (complete) {
+                    annotation = createNewAnnotation(entry.getKey());
+                    if (annotation != null) {
+                        annotationsToAdd.put(annotation, entry.getValue());
+                        indexedPositions.put(entry.getKey(), entry.getValue());
+                        added++;
+                    }
+                }
+            } else if (!entry.getValue().equals(((IAnnotationModel) annotationModel).getPosition(annotation))) {
+                annotationsToRemove.add(annotation);
+                annotationsToAdd.put(annotation, entry.getValue());
+                indexedPositions.put(entry.getKey(), entry.getValue());
+                moved++;
+            }
+        }
+        
+        //remove annotations that should not be displayed
+        if (complete) {
+            Iterator<Entry<String, Annotation>> it = annotationMap.entrySet().iterator();
+            while (it.hasNext()) {
+                Entry<String, Annotation> entry = it.next();
+                if (!keyPositionMap.containsKey(entry.getKey())) {
+                    annotationsToRemove.add(entry.getValue());
+                    removedKeys.add(entry.getKey());
+                    it.remove();
+                }
             }
         }
+        
+        if (annotationsToRemove.isEmpty() && annotationsToAdd.isEmpty()) { return; }
+        annotationModel.replaceAnnotations(annotationsToRemove.toArray(new Annotation[0]), annotationsToAdd);
+        positionIndex.remove(removedKeys);
+        positionIndex.put(indexedPositions);
+        LOG.debug("Annotations reconciled: {} added, {} moved, {} removed", added, moved, annotationsToRemove.size() - moved);
     }
     
     /**
@@ -107,11 +158,12 @@ public class AnnotationManager {
      * @param commentKey The tag key of the comment for which this annotation holds
      * @param p The position to add the annotation on.
      */
-    void addAnnotation(String commentKey, Position p) {
+    synchronized void addAnnotation(String commentKey, Position p) {
         Annotation annotation = createNewAnnotation(commentKey);
         if (annotation != null) {
             LOG.debug("Add Annotation {} to position {}", annotation, p);
             ((IAnnotationModel) this.annotationModel).addAnnotation(annotation, p);
+            positionIndex.put(Collections.singletonMap(commentKey, p));
         }
     }
     
@@ -119,19 +171,20 @@ public class AnnotationManager {
      * Deletes all annotations correlating to the given comment keys
      * @param tagId unique tag key of the comment annotation which should be deleted
      */
-    void deleteAnnotation(String tagId) {
+    synchronized void deleteAnnotation(String tagId) {
         Annotation a = annotationMap.remove(tagId);
         if (a != null) {
             a.markDeleted(true);
         }
         annotationModel.replaceAnnotations(new Annotation[] { a }, null);
+        positionIndex.remove(Collections.singleton(tagId));
     }
     
     /**
      * Deletes all annotations correlating to the given comment keys
      * @param commentKeys unique tag keys of the comment annotations which should be deleted
      */
-    void deleteAnnotations(Set<String> commentKeys) {
+    synchronized void deleteAnnotations(Set<String> commentKeys) {
         HashSet<Annotation> annotationsToRemove = new HashSet<Annotation>();
         Annotation a;
         for (String key : commentKeys) {
@@ -142,6 +195,7 @@ public class AnnotationManager {
             }
         }
         annotationModel.replaceAnnotations(annotationsToRemove.toArray(new Annotation[0]), null);
+        positionIndex.remove(commentKeys);
     }
     
     /**
@@ -150,31 +204,28 @@ public class AnnotationManager {
      * @return all comments which are overlapping with the given {@link Position}
      */
     String[] getCommentsByPosition(Position p) {
-        HashSet<String> commentKeys = new HashSet<String>();
-        Position tmp;
-        for (String key : annotationMap.keySet()) {
-            tmp = ((IAnnotationModel) this.annotationModel).getPosition(annotationMap.get(key));
-            if (tmp.overlapsWith(p.getOffset(), p.getLength())) {
-                commentKeys.add(key);
-            }
-        }
-        return commentKeys.toArray(new String[0]);
+        return positionIndex.getOverlappingComments(p.getOffset(), p.getLength()).toArray(new String[0]);
     }
     
     /**
-     * Creates a new annotation for a given comment key
+     * Returns all comments which are covering the given offset, e.g. for hovers or the navigation between comments
+     * @param offset offset within the document
+     * @return all comments which are covering the given offset
+     * @author agent (18.10.2026)
+     */
+    String[] getCommentsByOffset(int offset) {
+        return positionIndex.getCoveringComments(offset).toArray(new String[0]);
+    }
+    
+    /**
+     * Creates a new annotation for a given comment key. Has to be called while holding the lock of the manager.
      * @param commentKey for which an annotation will be created
      * @return created annotation or<br>null, if the comment is not known
      */
     private Annotation createNewAnnotation(String commentKey) {
-        String annotationType;
         Comment comment = DataManager.getInstance().getComment(commentKey);
         if (comment == null) return null;
-        if (colorManager.isMultiColorEnabled() && colorManager.hasCustomizedColor(comment.getAuthor())) {
-            annotationType = AgileReviewPreferences.AUTHOR_COLOR_DEFAULT + "_" + new AuthorReservationPreferences().getAuthorTag(comment.getAuthor());
-        } else {
-            annotationType = AgileReviewPreferences.AUTHOR_COLOR_DEFAULT;
-        }
+        String annotationType = colorManager.getAnnotationType(comment.getAuthor());
         Annotation annotation = new Annotation(annotationType, true, "Review: " + comment.getReview().getId() + ", Author: " + comment.getAuthor()
                 + ", Comment-ID: " + comment.getId());
         this.annotationMap.put(commentKey, annotation);
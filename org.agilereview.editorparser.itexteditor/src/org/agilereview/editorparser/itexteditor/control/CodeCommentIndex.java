@@ -0,0 +1,360 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IPositionUpdater;
+import org.eclipse.jface.text.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link CodeCommentIndex} indexes all begin and end tags of code comments of a document, which are not part of an AgileReview tag. The index
+ * is built on the first lookup and afterwards updated incrementally by rescanning the lines touched by a document change. The tag occurrences are
+ * registered as {@link Position}s of the document, such that the document shifts them on every change. As the order of the positions never
+ * changes, the lookup of the code comment tags around a line is a binary search.<br>
+ * All state of the index is guarded by the lock of the indexed document (see {@link DocumentLocks}), which a synchronizable document also holds
+ * while updating its positions and notifying its listeners.
+ * @author agent (18.10.2026)
+ */
+class CodeCommentIndex implements IDocumentListener {
+    
+    /**
+     * Logger instance
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(CodeCommentIndex.class);
+    /**
+     * Prefix of the position category used by an index
+     */
+    private static final String CATEGORY_PREFIX = "org.agilereview.editorparser.itexteditor.codecomments.";
+    /**
+     * Begin tag of code comments
+     */
+    private final String beginTag;
+    /**
+     * End tag of code comments
+     */
+    private final String endTag;
+    /**
+     * Pattern matching a complete AgileReview tag
+     */
+    private final Pattern tagPattern;
+    /**
+     * Position category of this index
+     */
+    private final String category;
+    /**
+     * Position updater shifting the positions of the {@link #category}
+     */
+    private final IPositionUpdater positionUpdater;
+    /**
+     * Positions of all code comment begin tags in ascending order
+     */
+    private final List<Position> beginTags = new ArrayList<Position>();
+    /**
+     * Positions of all code comment end tags in ascending order
+     */
+    private final List<Position> endTags = new ArrayList<Position>();
+    /**
+     * Currently indexed document
+     */
+    private volatile IDocument document;
+    /**
+     * States whether the index of the current document is up to date
+     */
+    private boolean indexed = false;
+    
+    /**
+     * Creates a new {@link CodeCommentIndex}
+     * @param commentTags begin and end tag of code comments
+     * @param tagPattern pattern matching a complete AgileReview tag
+     * @author agent (18.10.2026)
+     */
+    CodeCommentIndex(String[] commentTags, Pattern tagPattern) {
+        this.beginTag = commentTags[0];
+        this.endTag = commentTags[1];
+        this.tagPattern = tagPattern;
+        this.category = CATEGORY_PREFIX + System.identityHashCode(this);
+        this.positionUpdater = new DefaultPositionUpdater(category);
+    }
+    
+    /**
+     * Sets the document to be indexed. The index will be built on the next lookup.
+     * @param document document to be indexed
+     * @author agent (18.10.2026)
+     */
+    void setDocument(IDocument document) {
+        if (this.document == document) { return; }
+        dispose();
+        synchronized (DocumentLocks.getLockObject(document)) {
+            this.document = document;
+            document.addPositionCategory(category);
+            document.addPositionUpdater(positionUpdater);
+        }
+        document.addDocumentListener(this);
+    }
+    
+    /**
+     * Returns the last line up to the given line which contains a code comment begin tag
+     * @param line line to start the search from
+     * @return the line of the last code comment begin tag or <code>-1</code> if there is no such line
+     * @throws BadLocationException if the line does not exist in the document
+     * @author agent (18.10.2026)
+     */
+    int getLastBeginTagLine(int line) throws BadLocationException {
+        IDocument document = this.document;
+        if (line < 0 || document == null) { return -1; }
+        synchronized (DocumentLocks.getLockObject(document)) {
+            if (!ensureIndexed(document)) { return -1; }
+            int end = line + 1 < document.getNumberOfLines() ? document.getLineOffset(line + 1) : document.getLength();
+            int index = indexOf(beginTags, end);
+            return index == 0 ? -1 : document.getLineOfOffset(beginTags.get(index - 1).getOffset());
+        }
+    }
+    
+    /**
+     * Returns the first line from the given line on which contains a code comment end tag
+     * @param line line to start the search from
+     * @return the line of the first code comment end tag or <code>-1</code> if there is no such line
+     * @throws BadLocationException if the line does not exist in the document
+     * @author agent (18.10.2026)
+     */
+    int getFirstEndTagLine(int line) throws BadLocationException {
+        IDocument document = this.document;
+        if (line < 0 || document == null) { return -1; }
+        synchronized (DocumentLocks.getLockObject(document)) {
+            if (!ensureIndexed(document)) { return -1; }
+            int index = indexOf(endTags, document.getLineOffset(line));
+            return index == endTags.size() ? -1 : document.getLineOfOffset(endTags.get(index).getOffset());
+        }
+    }
+    
+    /**
+     * Removes the index and all of its positions from the currently indexed document
+     * @author agent (18.10.2026)
+     */
+    void dispose() {
+        IDocument document = this.document;
+        if (document == null) { return; }
+        document.removeDocumentListener(this);
+        synchronized (DocumentLocks.getLockObject(document)) {
+            document.removePositionUpdater(positionUpdater);
+            try {
+                if (document.containsPositionCategory(category)) {
+                    document.removePositionCategory(category);
+                }
+            } catch (BadPositionCategoryException e) {
+                // already removed
+            }
+            this.document = null;
+            beginTags.clear();
+            endTags.clear();
+            indexed = false;
+        }
+    }
+    
+    /* (non-Javadoc)
+     * @see org.eclipse.jface.text.IDocumentListener#documentAboutToBeChanged(org.eclipse.jface.text.DocumentEvent)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event) {
+        IDocument document = event.getDocument();
+        synchronized (DocumentLocks.getLockObject(document)) {
+            if (!indexed || document != this.document) { return; }
+            // remove all tags of the lines to be changed, as the position updater cannot keep their order
+            try {
+                int firstLine = document.getLineOfOffset(event.getOffset());
+                int lastLine = document.getLineOfOffset(event.getOffset() + event.getLength());
+                unindex(document.getLineOffset(firstLine), document.getLineOffset(lastLine) + document.getLineLength(lastLine));
+            } catch (BadLocationException e) {
+                invalidate(e);
+            }
+        }
+    }
+    
+    /* (non-Javadoc)
+     * @see org.eclipse.jface.text.IDocumentListener#documentChanged(org.eclipse.jface.text.DocumentEvent)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public void documentChanged(DocumentEvent event) {
+        IDocument document = event.getDocument();
+        synchronized (DocumentLocks.getLockObject(document)) {
+            if (!indexed || document != this.document) { return; }
+            // rescan the changed lines
+            int textLength = event.getText() == null ? 0 : event.getText().length();
+            try {
+                int firstLine = document.getLineOfOffset(event.getOffset());
+                int lastLine = document.getLineOfOffset(event.getOffset() + textLength);
+                int start = document.getLineOffset(firstLine);
+                int end = document.getLineOffset(lastLine) + document.getLineLength(lastLine);
+                unindex(start, end);
+                index(start, end);
+            } catch (BadLocationException e) {
+                invalidate(e);
+            }
+        }
+    }
+    
+    /**
+     * Builds the index for the given document if not done yet. The lock of the document has to be held by the caller.
+     * @param document document the caller acquired the lock of
+     * @return true, if the index is up to date,<br>false, if the given document is not indexed (anymore)
+     * @throws BadLocationException
+     * @author agent (18.10.2026)
+     */
+    private boolean ensureIndexed(IDocument document) throws BadLocationException {
+        if (document != this.document) { return false; }
+        if (!indexed) {
+            index(0, document.getLength());
+            indexed = true;
+        }
+        return true;
+    }
+    
+    /**
+     * Drops the index, such that it will be rebuilt on the next lookup
+     * @param e cause of the invalidation
+     * @author agent (18.10.2026)
+     */
+    private void invalidate(BadLocationException e) {
+        LOG.debug("Code comment index out of sync. The index will be rebuilt on the next lookup.", e);
+        unindex(0, Integer.MAX_VALUE);
+        indexed = false;
+    }
+    
+    /**
+     * Adds all code comment tags within the given region of whole lines to the index
+     * @param start start offset of the region
+     * @param end end offset of the region (exclusive)
+     * @throws BadLocationException
+     * @author agent (18.10.2026)
+     */
+    private void index(int start, int end) throws BadLocationException {
+        String text = document.get(start, end - start);
+        List<Position> newBeginTags = new ArrayList<Position>();
+        List<Position> newEndTags = new ArrayList<Position>();
+        // skip all AgileReview tags
+        Matcher matcher = tagPattern.matcher(text);
+        int from = 0;
+        while (matcher.find()) {
+            collect(text, from, matcher.start(), start, beginTag, newBeginTags);
+            collect(text, from, matcher.start(), start, endTag, newEndTags);
+            from = matcher.end();
+        }
+        collect(text, from, text.length(), start, beginTag, newBeginTags);
+        collect(text, from, text.length(), start, endTag, newEndTags);
+        
+        insert(beginTags, newBeginTags);
+        insert(endTags, newEndTags);
+    }
+    
+    /**
+     * Collects all occurrences of the given tag within the given range of the text
+     * @param text text to be searched
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @param base offset of the text within the document
+     * @param tag tag to be searched for
+     * @param result list the {@link Position}s of all occurrences will be added to
+     * @author agent (18.10.2026)
+     */
+    private static void collect(String text, int from, int to, int base, String tag, List<Position> result) {
+        int i = text.indexOf(tag, from);
+        while (i >= 0 && i + tag.length() <= to) {
+            result.add(new Position(base + i, tag.length()));
+            i = text.indexOf(tag, i + tag.length());
+        }
+    }
+    
+    /**
+     * Inserts the given positions into the given list and registers them at the document
+     * @param list list of positions in ascending order
+     * @param positions positions in ascending order, which are not overlapping any position of the list
+     * @throws BadLocationException
+     * @author agent (18.10.2026)
+     */
+    private void insert(List<Position> list, List<Position> positions) throws BadLocationException {
+        if (positions.isEmpty()) { return; }
+        synchronized (DocumentLocks.getLockObject(document)) {
+            try {
+                for (Position p : positions) {
+                    document.addPosition(category, p);
+                }
+            } catch (BadPositionCategoryException e) {
+                // should not occur by construction
+                LOG.error("Position category {} could not be found", category, e);
+            }
+        }
+        list.addAll(indexOf(list, positions.get(0).getOffset()), positions);
+    }
+    
+    /**
+     * Removes all code comment tags within the given region from the index and the document
+     * @param start start offset of the region
+     * @param end end offset of the region (exclusive)
+     * @author agent (18.10.2026)
+     */
+    private void unindex(int start, int end) {
+        unindex(beginTags, start, end);
+        unindex(endTags, start, end);
+    }
+    
+    /**
+     * Removes all positions within the given region from the given list and the document
+     * @param list list of positions in ascending order
+     * @param start start offset of the region
+     * @param end end offset of the region (exclusive)
+     * @author agent (18.10.2026)
+     */
+    private void unindex(List<Position> list, int start, int end) {
+        List<Position> toRemove = list.subList(indexOf(list, start), indexOf(list, end));
+        synchronized (DocumentLocks.getLockObject(document)) {
+            for (Position p : toRemove) {
+                try {
+                    document.removePosition(category, p);
+                } catch (BadPositionCategoryException e) {
+                    // already removed
+                }
+            }
+        }
+        toRemove.clear();
+    }
+    
+    /**
+     * Returns the index of the first position with an offset greater or equal to the given offset
+     * @param list list of positions in ascending order
+     * @param offset offset to search for
+     * @return the index of the first position not before the offset or the size of the list if there is no such position
+     * @author agent (18.10.2026)
+     */
+    private static int indexOf(List<Position> list, int offset) {
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (list.get(mid).getOffset() < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
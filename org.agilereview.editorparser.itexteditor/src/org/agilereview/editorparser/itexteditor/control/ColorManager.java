@@ -1,9 +1,16 @@
 package org.agilereview.editorparser.itexteditor.control;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.agilereview.core.external.preferences.AgileReviewPreferences;
+import org.agilereview.editorparser.itexteditor.prefs.AuthorPreferencesPojo.AuthorTag;
 import org.agilereview.editorparser.itexteditor.prefs.AuthorReservationPreferences;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.preferences.DefaultScope;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
 import org.eclipse.core.runtime.preferences.IScopeContext;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 
@@ -15,16 +22,41 @@ import org.eclipse.core.runtime.preferences.InstanceScope;
 public class ColorManager {
     
     /**
-     * Author color reservation preferences
+     * Cached mapping of authors with a color reservation to their annotation types or <code>null</code> if the mapping has to be reloaded from the
+     * preferences
+     */
+    private static volatile Map<String, String> cachedAnnotationTypes;
+    /**
+     * Cached state of the multi color preference or <code>null</code> if the state has to be reloaded from the preferences
+     */
+    private static volatile Boolean cachedMultiColorEnabled;
+    /**
+     * States whether the {@link #invalidationListener} has been registered on the preferences
      */
-    private AuthorReservationPreferences reservationPrefs = new AuthorReservationPreferences();
+    private static boolean listenerRegistered = false;
+    /**
+     * Listener invalidating the cached preferences on changes of the author color preferences
+     */
+    private static final IPreferenceChangeListener invalidationListener = new IPreferenceChangeListener() {
+        @Override
+        public void preferenceChange(PreferenceChangeEvent event) {
+            // a reload holding the class lock may still read the outdated preferences, so the cache is reset after the reload finished
+            synchronized (ColorManager.class) {
+                if (AgileReviewPreferences.AUTHOR_COLOR_ALLOCATION.equals(event.getKey())) {
+                    cachedAnnotationTypes = null;
+                } else if (AgileReviewPreferences.AUTHOR_COLORS_ENABLED.equals(event.getKey())) {
+                    cachedMultiColorEnabled = null;
+                }
+            }
+        }
+    };
     
     /**
      * Reserves a new color for a given author when some is available and the author has not been registered yet.
      * @param author for which a new customized color should be reserved
      */
     public void addReservation(String author) {
-        reservationPrefs.addReservation(author);
+        new AuthorReservationPreferences().addReservation(author);
     }
     
     /**
@@ -33,7 +65,7 @@ public class ColorManager {
      * @return true, if the given author has reserved a customized color<br>false, otherwise
      */
     public boolean hasCustomizedColor(String author) {
-        return reservationPrefs.getAuthorTag(author) != null;
+        return getAnnotationTypes().containsKey(author.trim());
     }
     
     /**
@@ -41,7 +73,71 @@ public class ColorManager {
      * @return true if multiple colors are to be used<br>false otherwise
      */
     public boolean isMultiColorEnabled() {
-        IScopeContext[] scopes = new IScopeContext[] { InstanceScope.INSTANCE, DefaultScope.INSTANCE };
-        return Platform.getPreferencesService().getBoolean("org.agilereview.core", AgileReviewPreferences.AUTHOR_COLORS_ENABLED, false, scopes);
+        Boolean result = cachedMultiColorEnabled;
+        if (result == null) {
+            synchronized (ColorManager.class) {
+                registerListener();
+                IScopeContext[] scopes = new IScopeContext[] { InstanceScope.INSTANCE, DefaultScope.INSTANCE };
+                result = Platform.getPreferencesService().getBoolean("org.agilereview.core", AgileReviewPreferences.AUTHOR_COLORS_ENABLED, false,
+                        scopes);
+                cachedMultiColorEnabled = result;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the annotation type to be used for comments of the given author. The preferences will only be read if they changed since the last
+     * call.
+     * @param author author of the comment
+     * @return the annotation type of the author's customized color if multiple colors are enabled and the author has a reservation,<br>the
+     *         default annotation type, otherwise
+     * @author agent (18.10.2026)
+     */
+    public String getAnnotationType(String author) {
+        if (isMultiColorEnabled()) {
+            String annotationType = getAnnotationTypes().get(author.trim());
+            if (annotationType != null) { return annotationType; }
+        }
+        return AgileReviewPreferences.AUTHOR_COLOR_DEFAULT;
+    }
+    
+    /**
+     * Returns the cached mapping of authors with a color reservation to their annotation types. The mapping will only be reloaded from the eclipse
+     * preferences store if the color reservations changed.
+     * @return an unmodifiable mapping of trimmed author names to annotation types
+     * @author agent (18.10.2026)
+     */
+    private static Map<String, String> getAnnotationTypes() {
+        Map<String, String> result = cachedAnnotationTypes;
+        if (result == null) {
+            synchronized (ColorManager.class) {
+                registerListener();
+                AuthorReservationPreferences reservationPrefs = new AuthorReservationPreferences();
+                Map<String, String> annotationTypes = new HashMap<String, String>();
+                for (AuthorTag authorTag : AuthorTag.values()) {
+                    String author = reservationPrefs.getReservation(authorTag).trim();
+                    // the first reservation of an author wins
+                    if (!author.isEmpty() && !annotationTypes.containsKey(author)) {
+                        annotationTypes.put(author, AgileReviewPreferences.AUTHOR_COLOR_DEFAULT + "_" + authorTag);
+                    }
+                }
+                result = Collections.unmodifiableMap(annotationTypes);
+                cachedAnnotationTypes = result;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Registers the {@link #invalidationListener} on the preferences if not done yet. Has to be called while holding the class lock.
+     * @author agent (18.10.2026)
+     */
+    private static void registerListener() {
+        if (!listenerRegistered) {
+            InstanceScope.INSTANCE.getNode("org.agilereview.core").addPreferenceChangeListener(invalidationListener);
+            DefaultScope.INSTANCE.getNode("org.agilereview.core").addPreferenceChangeListener(invalidationListener);
+            listenerRegistered = true;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,442 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IPositionUpdater;
+import org.eclipse.jface.text.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link CommentPositionIndex} looks up the comments overlapping a region or covering an offset of a document in O(log n + k). The comment
+ * positions form an interval tree, which is stored implicitly in a list sorted by offset: the node of a range of the list is its middle element
+ * and references the position with the maximal end offset within its subtree.<br>
+ * Copies of the comment positions are registered in a position category of the document, such that the document shifts them on every change.
+ * A change keeps the order of the positions apart from the ones starting within the changed region, which are sorted again. The maximal end
+ * offsets of all subtrees not containing a position touched by the change remain valid, so only the paths from the touched positions to the
+ * root are updated. Only if a change deletes positions, the tree is rebuilt.<br>
+ * All state of the index is guarded by the lock of the document (see {@link DocumentLocks}).
+ * @author agent (18.10.2026)
+ */
+class CommentPositionIndex implements IDocumentListener {
+    
+    /**
+     * Logger instance
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(CommentPositionIndex.class);
+    /**
+     * Prefix of the position category used by an index
+     */
+    private static final String CATEGORY_PREFIX = "org.agilereview.editorparser.itexteditor.comments.";
+    /**
+     * Orders positions by their offset
+     */
+    private static final Comparator<Position> OFFSET_ORDER = new Comparator<Position>() {
+        @Override
+        public int compare(Position p1, Position p2) {
+            return p1.getOffset() < p2.getOffset() ? -1 : (p1.getOffset() == p2.getOffset() ? 0 : 1);
+        }
+    };
+    /**
+     * Indexed document
+     */
+    private final IDocument document;
+    /**
+     * Position category of this index
+     */
+    private final String category;
+    /**
+     * Position updater shifting the positions of the {@link #category}
+     */
+    private final IPositionUpdater positionUpdater;
+    /**
+     * Positions of all indexed comments in ascending order of their offsets
+     */
+    private List<CommentPosition> positions = new ArrayList<CommentPosition>();
+    /**
+     * Position with the maximal end offset within the subtree of each node of the tree
+     */
+    private CommentPosition[] maxEnds = new CommentPosition[0];
+    /**
+     * Indices of the positions touched by the current document change
+     */
+    private final List<Integer> touched = new ArrayList<Integer>();
+    /**
+     * Index of the first position starting within the region of the current document change
+     */
+    private int runStart;
+    /**
+     * Index after the last position starting within the region of the current document change
+     */
+    private int runEnd;
+    /**
+     * States whether the positions have been replaced during the current document change, such that the tree has to be rebuilt afterwards
+     */
+    private boolean rebuildRequired = false;
+    /**
+     * States whether the index has been disposed
+     */
+    private boolean disposed = false;
+    
+    /**
+     * Position of a comment within the document
+     * @author agent (18.10.2026)
+     */
+    private static class CommentPosition extends Position {
+        
+        /**
+         * Key of the comment
+         */
+        private final String commentKey;
+        
+        /**
+         * Creates a new {@link CommentPosition}
+         * @param commentKey key of the comment
+         * @param position initial position of the comment, which will be copied
+         * @author agent (18.10.2026)
+         */
+        CommentPosition(String commentKey, Position position) {
+            super(position.getOffset(), position.getLength());
+            this.commentKey = commentKey;
+        }
+    }
+    
+    /**
+     * Creates a new {@link CommentPositionIndex} for the given document
+     * @param document document the indexed positions refer to
+     * @author agent (18.10.2026)
+     */
+    CommentPositionIndex(IDocument document) {
+        this.document = document;
+        this.category = CATEGORY_PREFIX + System.identityHashCode(this);
+        this.positionUpdater = new DefaultPositionUpdater(category);
+        synchronized (DocumentLocks.getLockObject(document)) {
+            document.addPositionCategory(category);
+            document.addPositionUpdater(positionUpdater);
+        }
+        document.addDocumentListener(this);
+    }
+    
+    /**
+     * Adds the given comment positions to the index. Comments already indexed will be moved to the given positions.
+     * @param keyPositionMap a map of positions and the comment keys correlated to the positions
+     * @author agent (18.10.2026)
+     */
+    void put(Map<String, Position> keyPositionMap) {
+        replace(Collections.<String> emptySet(), keyPositionMap);
+    }
+    
+    /**
+     * Removes the positions of the given comments from the index
+     * @param commentKeys keys of the comments to be removed
+     * @author agent (18.10.2026)
+     */
+    void remove(Set<String> commentKeys) {
+        replace(commentKeys, Collections.<String, Position> emptyMap());
+    }
+    
+    /**
+     * Returns the keys of all comments overlapping with the given region (see {@link Position#overlapsWith(int, int)})
+     * @param offset offset of the region
+     * @param length length of the region
+     * @return the keys of all comments overlapping with the given region
+     * @author agent (18.10.2026)
+     */
+    List<String> getOverlappingComments(int offset, int length) {
+        List<String> commentKeys = new ArrayList<String>();
+        synchronized (DocumentLocks.getLockObject(document)) {
+            for (int i : collect(offset, offset + length)) {
+                CommentPosition p = positions.get(i);
+                if (p.overlapsWith(offset, length)) {
+                    commentKeys.add(p.commentKey);
+                }
+            }
+        }
+        return commentKeys;
+    }
+    
+    /**
+     * Returns the keys of all comments covering the given offset (see {@link Position#includes(int)})
+     * @param offset offset within the document
+     * @return the keys of all comments covering the given offset
+     * @author agent (18.10.2026)
+     */
+    List<String> getCoveringComments(int offset) {
+        List<String> commentKeys = new ArrayList<String>();
+        synchronized (DocumentLocks.getLockObject(document)) {
+            for (int i : collect(offset, offset)) {
+                CommentPosition p = positions.get(i);
+                if (p.includes(offset)) {
+                    commentKeys.add(p.commentKey);
+                }
+            }
+        }
+        return commentKeys;
+    }
+    
+    /**
+     * Removes the index and all of its positions from the document
+     * @author agent (18.10.2026)
+     */
+    void dispose() {
+        document.removeDocumentListener(this);
+        synchronized (DocumentLocks.getLockObject(document)) {
+            document.removePositionUpdater(positionUpdater);
+            try {
+                if (document.containsPositionCategory(category)) {
+                    document.removePositionCategory(category);
+                }
+            } catch (BadPositionCategoryException e) {
+                // already removed
+            }
+            positions = new ArrayList<CommentPosition>();
+            maxEnds = new CommentPosition[0];
+            disposed = true;
+        }
+    }
+    
+    /* (non-Javadoc)
+     * @see org.eclipse.jface.text.IDocumentListener#documentAboutToBeChanged(org.eclipse.jface.text.DocumentEvent)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event) {
+        synchronized (DocumentLocks.getLockObject(document)) {
+            // the positions have not been shifted yet, so the event offsets match the positions
+            int start = event.getOffset();
+            int end = start + event.getLength();
+            touched.clear();
+            touched.addAll(collect(start, end));
+            runStart = indexOf(start);
+            runEnd = indexOf(end + 1);
+            rebuildRequired = false;
+        }
+    }
+    
+    /* (non-Javadoc)
+     * @see org.eclipse.jface.text.IDocumentListener#documentChanged(org.eclipse.jface.text.DocumentEvent)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public void documentChanged(DocumentEvent event) {
+        synchronized (DocumentLocks.getLockObject(document)) {
+            if (disposed) { return; }
+            boolean rebuild = rebuildRequired;
+            for (int i = 0; !rebuild && i < touched.size(); i++) {
+                rebuild = positions.get(touched.get(i)).isDeleted();
+            }
+            if (rebuild) {
+                List<CommentPosition> remaining = new ArrayList<CommentPosition>(positions.size());
+                for (CommentPosition p : positions) {
+                    if (!p.isDeleted()) {
+                        remaining.add(p);
+                    }
+                }
+                Collections.sort(remaining, OFFSET_ORDER);
+                positions = remaining;
+                rebuild();
+            } else {
+                // the positions starting within the changed region might have been shifted differently
+                Collections.sort(positions.subList(runStart, runEnd), OFFSET_ORDER);
+                // the run is a subset of the touched positions, so all reordered nodes are updated as well
+                for (int i : touched) {
+                    update(0, positions.size(), i);
+                }
+            }
+            touched.clear();
+        }
+    }
+    
+    /**
+     * Removes the positions of the given comments and of the comments of the given map from the index and adds the positions of the map
+     * @param commentKeys keys of the comments to be removed
+     * @param keyPositionMap a map of positions to be added and the comment keys correlated to the positions
+     * @author agent (18.10.2026)
+     */
+    private void replace(Set<String> commentKeys, Map<String, Position> keyPositionMap) {
+        synchronized (DocumentLocks.getLockObject(document)) {
+            if (disposed) { return; }
+            List<CommentPosition> result = new ArrayList<CommentPosition>(positions.size() + keyPositionMap.size());
+            try {
+                for (CommentPosition p : positions) {
+                    if (commentKeys.contains(p.commentKey) || keyPositionMap.containsKey(p.commentKey)) {
+                        document.removePosition(category, p);
+                    } else {
+                        result.add(p);
+                    }
+                }
+                for (Entry<String, Position> entry : keyPositionMap.entrySet()) {
+                    CommentPosition p = new CommentPosition(entry.getKey(), entry.getValue());
+                    try {
+                        document.addPosition(category, p);
+                        result.add(p);
+                    } catch (BadLocationException e) {
+                        LOG.debug("Position {} of comment {} out of document bounds. The comment will not be indexed.", p, p.commentKey);
+                    }
+                }
+            } catch (BadPositionCategoryException e) {
+                // should not occur by construction
+                LOG.error("Position category {} could not be found", category, e);
+            }
+            Collections.sort(result, OFFSET_ORDER);
+            positions = result;
+            rebuild();
+            // positions added during a document change have not been recorded as touched
+            rebuildRequired = true;
+        }
+    }
+    
+    /**
+     * Collects the indices of all positions intersecting the given closed region, i.e. starting not after its end and ending not before its start
+     * @param start start offset of the region
+     * @param end end offset of the region
+     * @return the indices of all positions intersecting the given region
+     * @author agent (18.10.2026)
+     */
+    private List<Integer> collect(int start, int end) {
+        List<Integer> result = new ArrayList<Integer>();
+        collect(0, positions.size(), start, end, result);
+        return result;
+    }
+    
+    /**
+     * Collects the indices of all positions of the subtree of the given range intersecting the given closed region
+     * @param lo start index of the range (inclusive)
+     * @param hi end index of the range (exclusive)
+     * @param start start offset of the region
+     * @param end end offset of the region
+     * @param result list the indices will be added to
+     * @author agent (18.10.2026)
+     */
+    private void collect(int lo, int hi, int start, int end, List<Integer> result) {
+        if (lo >= hi) { return; }
+        int mid = (lo + hi) >>> 1;
+        if (endOf(maxEnds[mid]) < start) { return; }
+        collect(lo, mid, start, end, result);
+        CommentPosition p = positions.get(mid);
+        if (p.getOffset() > end) { return; }
+        if (endOf(p) >= start) {
+            result.add(mid);
+        }
+        collect(mid + 1, hi, start, end, result);
+    }
+    
+    /**
+     * Rebuilds the maximal end offsets of all nodes
+     * @author agent (18.10.2026)
+     */
+    private void rebuild() {
+        maxEnds = new CommentPosition[positions.size()];
+        build(0, positions.size());
+    }
+    
+    /**
+     * Computes the maximal end offsets of all nodes within the given range bottom up
+     * @param lo start index of the range (inclusive)
+     * @param hi end index of the range (exclusive)
+     * @author agent (18.10.2026)
+     */
+    private void build(int lo, int hi) {
+        if (lo >= hi) { return; }
+        int mid = (lo + hi) >>> 1;
+        build(lo, mid);
+        build(mid + 1, hi);
+        maxEnds[mid] = maxEnd(positions.get(mid), nodeMaxEnd(lo, mid), nodeMaxEnd(mid + 1, hi));
+    }
+    
+    /**
+     * Updates the maximal end offsets of all nodes on the path from the node of the given range to the node of the given index
+     * @param lo start index of the range (inclusive)
+     * @param hi end index of the range (exclusive)
+     * @param index index of the node, whose position has been changed
+     * @author agent (18.10.2026)
+     */
+    private void update(int lo, int hi, int index) {
+        int mid = (lo + hi) >>> 1;
+        if (index < mid) {
+            update(lo, mid, index);
+        } else if (index > mid) {
+            update(mid + 1, hi, index);
+        }
+        maxEnds[mid] = maxEnd(positions.get(mid), nodeMaxEnd(lo, mid), nodeMaxEnd(mid + 1, hi));
+    }
+    
+    /**
+     * Returns the position with the maximal end offset within the subtree of the given range
+     * @param lo start index of the range (inclusive)
+     * @param hi end index of the range (exclusive)
+     * @return the position with the maximal end offset or <code>null</code> if the range is empty
+     * @author agent (18.10.2026)
+     */
+    private CommentPosition nodeMaxEnd(int lo, int hi) {
+        return lo < hi ? maxEnds[(lo + hi) >>> 1] : null;
+    }
+    
+    /**
+     * Returns the index of the first position with an offset greater or equal to the given offset
+     * @param offset offset to search for
+     * @return the index of the first position not before the offset or the number of positions if there is no such position
+     * @author agent (18.10.2026)
+     */
+    private int indexOf(int offset) {
+        int low = 0;
+        int high = positions.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (positions.get(mid).getOffset() < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Returns the position with the maximal end offset of the given positions
+     * @param p position
+     * @param left position of the left subtree, might be <code>null</code>
+     * @param right position of the right subtree, might be <code>null</code>
+     * @return the position with the maximal end offset
+     * @author agent (18.10.2026)
+     */
+    private static CommentPosition maxEnd(CommentPosition p, CommentPosition left, CommentPosition right) {
+        CommentPosition max = p;
+        if (left != null && endOf(left) > endOf(max)) {
+            max = left;
+        }
+        if (right != null && endOf(right) > endOf(max)) {
+            max = right;
+        }
+        return max;
+    }
+    
+    /**
+     * Returns the end offset (exclusive) of the given position
+     * @param p position
+     * @return the end offset of the position
+     * @author agent (18.10.2026)
+     */
+    private static int endOf(Position p) {
+        return p.getOffset() + p.getLength();
+    }
+}
@@ -9,8 +9,8 @@ package org.agilereview.editorparser.itexteditor.control;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 import org.agilereview.core.external.definition.IReviewDataReceiver;
 import org.agilereview.core.external.storage.Comment;
@@ -25,17 +25,21 @@ import org.agilereview.core.external.storage.listeners.ICommentFilterListener;
 public class DataManager implements IReviewDataReceiver, ICommentFilterListener {
     
     /**
-     * Current set of reviews provided by the core plug-in
+     * Current set of reviews provided by the core plug-in. Volatile, as the review data is set on a background thread.
      */
-    private ReviewSet reviews;
+    private volatile ReviewSet reviews;
     /**
      * Currently visible comments
      */
-    private Set<Comment> visibleComments;
+    private volatile Set<Comment> visibleComments;
     /**
      * Instance created by the AgileReview core plug-in
      */
     private static volatile DataManager instance;
+    /**
+     * Latch released as soon as the first instance has been created
+     */
+    private static final CountDownLatch instanceLatch = new CountDownLatch(1);
     
     /**
      * Property change support for the filter mechanism
@@ -48,6 +52,7 @@ public class DataManager implements IReviewDataReceiver, ICommentFilterListener
      */
     public DataManager() {
         instance = this;
+        instanceLatch.countDown();
     }
     
     /**
@@ -56,7 +61,16 @@ public class DataManager implements IReviewDataReceiver, ICommentFilterListener
      * @author Malte Brunnlieb (23.11.2012)
      */
     public static DataManager getInstance() {
+        boolean interrupted = false;
         while (instance == null) {
+            try {
+                instanceLatch.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
         }
         return instance;
     }
@@ -67,7 +81,7 @@ public class DataManager implements IReviewDataReceiver, ICommentFilterListener
      * @author Malte Brunnlieb (22.11.2012)
      */
     @Override
-    public void setReviewData(ReviewSet reviews) {
+    public synchronized void setReviewData(ReviewSet reviews) {
         this.reviews = reviews;
         reviews.addCommentFilterListener(this);
     }
@@ -79,8 +93,9 @@ public class DataManager implements IReviewDataReceiver, ICommentFilterListener
      * @author Malte Brunnlieb (22.11.2012)
      */
     public Comment getComment(String id) {
-        Set<Review> reviews = new HashSet<Review>(this.reviews);
-        for (Review r : reviews) {
+        ReviewSet currentReviews = this.reviews;
+        if (currentReviews == null) { return null; }
+        for (Review r : currentReviews) {
             for (Comment c : r.getComments()) {
                 if (c.getId().equals(id)) {
                     return c;
@@ -97,7 +112,8 @@ public class DataManager implements IReviewDataReceiver, ICommentFilterListener
      * @author Malte Brunnlieb (01.06.2013)
      */
     public boolean isVisible(Comment comment) {
-        return visibleComments != null && visibleComments.contains(comment);
+        Set<Comment> currentVisibleComments = visibleComments;
+        return currentVisibleComments != null && currentVisibleComments.contains(comment);
     }
     
     /* (non-Javadoc)
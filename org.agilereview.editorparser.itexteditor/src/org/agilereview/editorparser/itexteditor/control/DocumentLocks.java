@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ISynchronizable;
+
+/**
+ * Provides the lock to be held while changing the position categories, position updaters and positions of a document, as the document updates
+ * its positions concurrently on the display thread (see {@link ISynchronizable}).
+ * @author agent (18.10.2026)
+ */
+final class DocumentLocks {
+    
+    /**
+     * Utility class, no instances
+     * @author agent (18.10.2026)
+     */
+    private DocumentLocks() {
+    }
+    
+    /**
+     * Returns the object to synchronize on when changing the positions of the given document
+     * @param document the document
+     * @return the lock object of the document if it provides one,<br>the document itself, otherwise
+     * @author agent (18.10.2026)
+     */
+    static Object getLockObject(IDocument document) {
+        if (document instanceof ISynchronizable) {
+            Object lock = ((ISynchronizable) document).getLockObject();
+            if (lock != null) { return lock; }
+        }
+        return document;
+    }
+}
@@ -7,15 +7,9 @@
  */
 package org.agilereview.editorparser.itexteditor.control;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
-
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IPropertyListener;
 import org.eclipse.ui.IWorkbenchPartConstants;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Listener which triggers reparsing of editor contents, if they changed in the background
@@ -24,26 +18,23 @@ import org.slf4j.LoggerFactory;
 public class EditorInputListener implements IPropertyListener {
     
     /**
-     * Logger instance
+     * Observed editor
      */
-    private static final Logger LOG = LoggerFactory.getLogger(EditorParserExtension.class);
-    
     private IEditorPart editorPart;
     /**
-     * {@link TagParser} for the target input
+     * Scheduler for the background reparse of the observed editor
      */
-    private EditorParserExtension tagParser;
-    
-    private List<Thread> propertyChangeThreads = new LinkedList<>();
+    private ReparseScheduler scheduler;
     
     /**
      * Creates a new input listener with the given target parser
-     * @param tagParser {@link TagParser} for the target editor
+     * @param editorPart editor to be observed
+     * @param tagParser {@link EditorParserExtension} managing the parser of the target editor
      * @author Malte Brunnlieb (16.06.2014)
      */
     public EditorInputListener(IEditorPart editorPart, EditorParserExtension tagParser) {
         this.editorPart = editorPart;
-        this.tagParser = tagParser;
+        this.scheduler = new ReparseScheduler(editorPart, tagParser);
     }
     
     /* (non-Javadoc)
@@ -53,30 +44,26 @@ public class EditorInputListener implements IPropertyListener {
     @Override
     public void propertyChanged(Object source, int propId) {
         if (propId == IWorkbenchPartConstants.PROP_INPUT || propId == IWorkbenchPartConstants.PROP_DIRTY) {
-            
-            synchronized (propertyChangeThreads) {
-                //check if there is already a waiting property change thread -> do not create an additional one
-                Iterator<Thread> it = propertyChangeThreads.iterator();
-                while (it.hasNext()) {
-                    Thread t = it.next();
-                    if (t.isAlive()) {
-                        return; // there is one thread currently running -> avoid overhead
-                    } else {
-                        it.remove();
-                    }
-                }
-                
-                // create new Thread as otherwise the property change event will be run in the single ui thread
-                // Thus thread locking will not work.
-                Thread newThread = new Thread(new Runnable() {
-                    @Override
-                    public void run() {
-                        tagParser.reparse(editorPart);
-                    }
-                });
-                propertyChangeThreads.add(newThread);
-                newThread.start();
-            }
+            // a new input always has to be parsed completely, otherwise only changed tags require a parse
+            // reparse in the background as otherwise the property change event will be run in the single ui thread
+            scheduler.requestReparse(propId == IWorkbenchPartConstants.PROP_INPUT);
         }
     }
+    
+    /**
+     * Stops observing the editor and cancels the pending reparse
+     * @author agent (18.10.2026)
+     */
+    public void dispose() {
+        editorPart.removePropertyListener(this);
+        scheduler.dispose();
+    }
+    
+    /**
+     * @return the {@link ReparseScheduler} of the observed editor for diagnostic purposes
+     * @author agent (18.10.2026)
+     */
+    ReparseScheduler getScheduler() {
+        return scheduler;
+    }
 }
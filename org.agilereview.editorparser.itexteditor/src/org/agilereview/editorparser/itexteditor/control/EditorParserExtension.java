@@ -9,12 +9,14 @@ package org.agilereview.editorparser.itexteditor.control;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.agilereview.common.exception.ExceptionHandler;
+import org.agilereview.core.external.definition.IBatchEditorParser;
 import org.agilereview.core.external.definition.IEditorParser;
 import org.agilereview.core.external.storage.Comment;
 import org.agilereview.editorparser.itexteditor.Activator;
@@ -24,7 +26,6 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Position;
 import org.eclipse.ui.IEditorPart;
-import org.eclipse.ui.texteditor.ITextEditor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,7 +33,7 @@ import org.slf4j.LoggerFactory;
  * Extension interface for the {@link IEditorParser} extension point and manager class for all created editor parsers of this plug-in
  * @author Malte Brunnlieb (11.11.2012)
  */
-public class EditorParserExtension implements IEditorParser, PropertyChangeListener {
+public class EditorParserExtension implements IBatchEditorParser, PropertyChangeListener {
     
     /**
      * Logger instance
@@ -40,13 +41,10 @@ public class EditorParserExtension implements IEditorParser, PropertyChangeListe
     private static final Logger LOG = LoggerFactory.getLogger(EditorParserExtension.class);
     
     /**
-     * Map which holds a parser for each opened editor
+     * Map which holds an {@link EditorSession} for each opened editor. The map is accessed concurrently by the ui thread, background reparses and
+     * the comment filter, whereas each session is opened and closed by exactly one thread.
      */
-    private HashMap<IEditorPart, TagParser> parserMap = new HashMap<IEditorPart, TagParser>();
-    /**
-     * Map which holds an {@link AnnotationManager} for each opened editor
-     */
-    private HashMap<IEditorPart, AnnotationManager> annotationManagerMap = new HashMap<IEditorPart, AnnotationManager>();
+    private final ConcurrentMap<IEditorPart, EditorSession> sessionMap = new ConcurrentHashMap<IEditorPart, EditorSession>();
     
     /**
      * Creates a new {@link IEditorParser} extension and register itself as a listener to manage the comment filter
@@ -64,13 +62,13 @@ public class EditorParserExtension implements IEditorParser, PropertyChangeListe
     public void addTagsToEditorSelection(IEditorPart editor, Comment comment, String[] multiLineCommentTags) {
         IFile file = (IFile) editor.getEditorInput().getAdapter(IFile.class);
         if (file != null) {
-            if (!parserMap.containsKey(editor)) {
-                addInstance(editor, multiLineCommentTags);
-            }
-            synchronized (parserMap.get(editor)) {
+            EditorSession session = openSession(editor, multiLineCommentTags);
+            if (session == null) { return; }
+            synchronized (session.getParser()) {
+                if (!session.isOpen()) { return; }
                 try {
-                    parserMap.get(editor).addTagsInDocument(comment.getId());
-                    annotationManagerMap.get(editor).addAnnotation(comment.getId(), parserMap.get(editor).getPosition(comment.getId()));
+                    session.getParser().addTagsInDocument(comment.getId());
+                    session.getAnnotationManager().addAnnotation(comment.getId(), session.getParser().getPosition(comment.getId()));
                 } catch (BadLocationException e) {
                     ExceptionHandler.logAndNotifyUser("Parsing error of the ITextEditor parser: Invalid comment position.", e, Activator.PLUGIN_ID);
                 } catch (CoreException e) {
@@ -90,13 +88,13 @@ public class EditorParserExtension implements IEditorParser, PropertyChangeListe
     public void removeTagsInEditor(IEditorPart editor, String tagId, String[] multiLineCommentTags) {
         IFile file = (IFile) editor.getEditorInput().getAdapter(IFile.class);
         if (file != null) {
-            if (!parserMap.containsKey(editor)) {
-                addInstance(editor, multiLineCommentTags);
-            }
-            synchronized (parserMap.get(editor)) {
+            EditorSession session = openSession(editor, multiLineCommentTags);
+            if (session == null) { return; }
+            synchronized (session.getParser()) {
+                if (!session.isOpen()) { return; }
                 try {
-                    parserMap.get(editor).removeTagsInDocument(tagId);
-                    annotationManagerMap.get(editor).deleteAnnotation(tagId);
+                    session.getParser().removeTagsInDocument(tagId);
+                    session.getAnnotationManager().deleteAnnotation(tagId);
                 } catch (BadLocationException e) {
                     LOG.error("Parsing error of the ITextEditor parser while removing tags for comment '{}': Invalid comment position.", tagId, e);
                     ExceptionHandler.logAndNotifyUser("Parsing error of the ITextEditor parser: Invalid comment position.", e, Activator.PLUGIN_ID);
@@ -111,6 +109,35 @@ public class EditorParserExtension implements IEditorParser, PropertyChangeListe
         }
     }
     
+    /* (non-Javadoc)
+     * @see org.agilereview.core.external.definition.IBatchEditorParser#removeTagsInEditor(org.eclipse.ui.IEditorPart, java.util.Set, java.lang.String[])
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public void removeTagsInEditor(IEditorPart editor, Set<String> tagIds, String[] multiLineCommentTags) {
+        IFile file = (IFile) editor.getEditorInput().getAdapter(IFile.class);
+        if (file != null) {
+            EditorSession session = openSession(editor, multiLineCommentTags);
+            if (session == null) { return; }
+            synchronized (session.getParser()) {
+                if (!session.isOpen()) { return; }
+                try {
+                    session.getParser().removeTagsInDocument(tagIds);
+                    session.getAnnotationManager().deleteAnnotations(tagIds);
+                } catch (BadLocationException e) {
+                    LOG.error("Parsing error of the ITextEditor parser while removing tags for comments {}: Invalid comment position.", tagIds, e);
+                    ExceptionHandler.logAndNotifyUser("Parsing error of the ITextEditor parser: Invalid comment position.", e, Activator.PLUGIN_ID);
+                } catch (CoreException e) {
+                    LOG.error("Parsing error of the ITextEditor parser while removing tags for comments {}: Internal eclipse exception.", tagIds, e);
+                    ExceptionHandler.logAndNotifyUser("Parsing error of the ITextEditor parser: Internal eclipse exception.", e, Activator.PLUGIN_ID);
+                }
+            }
+        } else {
+            LOG.warn("The comments {} could not be removed from document as the underlying file could not be retreived.", tagIds);
+            ExceptionHandler.warnUser("The comments could not be removed from document as the underlying file could not be retreived.");
+        }
+    }
+    
     /* (non-Javadoc)
      * @see org.agilereview.core.external.definition.IEditorParser#clearAllTags()
      * @author Malte Brunnlieb (19.11.2012)
@@ -132,22 +159,38 @@ public class EditorParserExtension implements IEditorParser, PropertyChangeListe
     }
     
     /**
-     * Parses the document anew and rewrites all annotations
+     * Parses the document anew and rewrites all annotations. If the reparse is not forced, the document will only be parsed if a change since the
+     * last parse touched a comment tag.
      * @param editorPart {@link IEditorParser} to be reparsed
+     * @param force states whether the whole document should be parsed regardless of the changes since the last parse
      * @author Malte Brunnlieb (19.06.2014)
      */
-    void reparse(IEditorPart editorPart) {
-        TagParser parser = parserMap.get(editorPart);
+    void reparse(IEditorPart editorPart, boolean force) {
+        EditorSession session = sessionMap.get(editorPart);
+        TagParser parser = session == null ? null : session.getParser();
         if (parser != null) {
             LOG.debug("Thread {}: waiting for (parser) lock for reparsing", Thread.currentThread().getId());
             synchronized (parser) {
                 LOG.debug("Thread {}: has (parser) lock for reparsing", Thread.currentThread().getId());
-                AnnotationManager annotationManager = annotationManagerMap.get(editorPart);
+                if (!session.isOpen()) {
+                    LOG.debug("Editor closed before reparsing");
+                    return;
+                }
+                AnnotationManager annotationManager = session.getAnnotationManager();
                 try {
-                    parser.parseInput();
-                    annotationManager.displayAnnotations(parser.getObservedComments());
-                    LOG.debug("Editor input reparsed due to be changed in the background");
-                    LOG.debug("Observed comments: {}", parser.getObservedComments());
+                    boolean parsed = true;
+                    if (force) {
+                        parser.parseInput();
+                    } else {
+                        parsed = parser.parseIfRequired();
+                    }
+                    if (parsed) {
+                        annotationManager.displayAnnotations(parser.getObservedComments());
+                        LOG.debug("Editor input reparsed due to be changed in the background");
+                        LOG.debug("Observed comments: {}", parser.getObservedComments());
+                    } else {
+                        LOG.debug("No comment tags changed, editor input not reparsed");
+                    }
                 } catch (CoreException e) {
                     LOG.error("Error while parsing the editor input", e);
                 }
@@ -162,11 +205,9 @@ public class EditorParserExtension implements IEditorParser, PropertyChangeListe
      */
     @Override
     public void removeAllInstances() {
-        parserMap.clear();
-        for (AnnotationManager am : annotationManagerMap.values()) {
-            am.clearAnnotations();
+        for (IEditorPart editor : sessionMap.keySet()) {
+            removeParser(editor);
         }
-        annotationManagerMap.clear();
     }
     
     /* (non-Javadoc)
@@ -175,10 +216,9 @@ public class EditorParserExtension implements IEditorParser, PropertyChangeListe
      */
     @Override
     public void removeParser(IEditorPart editor) {
-        parserMap.remove(editor);
-        AnnotationManager am = annotationManagerMap.remove(editor);
-        if (am != null) {
-            am.clearAnnotations();
+        EditorSession session = sessionMap.remove(editor);
+        if (session != null) {
+            session.close();
         }
     }
     
@@ -190,26 +230,57 @@ public class EditorParserExtension implements IEditorParser, PropertyChangeListe
     public void addInstance(IEditorPart editor, String[] multiLineCommentTags) {
         IFile file = (IFile) editor.getEditorInput().getAdapter(IFile.class);
         if (file != null) {
-            if (!parserMap.containsKey(editor)) {
-                try {
-                    TagParser tagParser = new TagParser((ITextEditor) editor, multiLineCommentTags);
-                    parserMap.put(editor, tagParser);
-                    Map<String, Position> observedComments = parserMap.get(editor).getObservedComments();
-                    annotationManagerMap.put(editor, new AnnotationManager(editor));
-                    annotationManagerMap.get(editor).displayAnnotations(observedComments);
-                    editor.addPropertyListener(new EditorInputListener(editor, this));
-                } catch (NoDocumentFoundException e) {
-                    ExceptionHandler.logAndNotifyUser("Parsing error of the ITextEditor parser: No document found for the current editor.", e,
-                            Activator.PLUGIN_ID);
-                } catch (CoreException e) {
-                    ExceptionHandler.logAndNotifyUser("Parsing error of the ITextEditor parser: Internal eclipse exception.", e, Activator.PLUGIN_ID);
-                }
-            }
+            // the part listener calls this on the display thread, which must not wait for a session opened in the background
+            openSession(editor, multiLineCommentTags, false);
         } else {
             ExceptionHandler.warnUser("The comment could not be added to the document as the underlying file could not be retreived.");
         }
     }
     
+    /**
+     * Returns the open {@link EditorSession} of the given editor. If there is no session yet, a new one will be registered and opened. Concurrent
+     * calls for the same editor wait for the session to be opened by the first caller. A session, which could not be opened, stays registered and
+     * will be opened again by the next call, as only {@link #removeParser(IEditorPart)} may close a registered session.
+     * @param editor editor whose session should be returned
+     * @param multiLineCommentTags begin and end tag of multi line comments of the editor's document
+     * @return the open session of the editor or <code>null</code> if the session could not be opened
+     * @author agent (18.10.2026)
+     */
+    private EditorSession openSession(IEditorPart editor, String[] multiLineCommentTags) {
+        return openSession(editor, multiLineCommentTags, true);
+    }
+    
+    /**
+     * Returns the open {@link EditorSession} of the given editor like {@link #openSession(IEditorPart, String[])}
+     * @param editor editor whose session should be returned
+     * @param multiLineCommentTags begin and end tag of multi line comments of the editor's document
+     * @param wait states whether to wait for another thread currently opening the session
+     * @return the open session of the editor or <code>null</code> if the session could not be opened or is currently opened by another thread and
+     *         the call should not wait
+     * @author agent (18.10.2026)
+     */
+    private EditorSession openSession(IEditorPart editor, String[] multiLineCommentTags, boolean wait) {
+        EditorSession session = sessionMap.get(editor);
+        if (session == null) {
+            EditorSession newSession = new EditorSession(editor, this);
+            session = sessionMap.putIfAbsent(editor, newSession);
+            if (session == null) {
+                session = newSession;
+            }
+        }
+        try {
+            if (wait ? session.open(multiLineCommentTags) : session.tryOpen(multiLineCommentTags)) { return session; }
+            LOG.debug("The editor has been closed while opening its session or its session is opened by another thread");
+            return null;
+        } catch (NoDocumentFoundException e) {
+            ExceptionHandler.logAndNotifyUser("Parsing error of the ITextEditor parser: No document found for the current editor.", e,
+                    Activator.PLUGIN_ID);
+        } catch (CoreException e) {
+            ExceptionHandler.logAndNotifyUser("Parsing error of the ITextEditor parser: Internal eclipse exception.", e, Activator.PLUGIN_ID);
+        }
+        return null;
+    }
+    
     /* (non-Javadoc)
      * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
      * @author Malte Brunnlieb (02.11.2013)
@@ -224,10 +295,20 @@ public class EditorParserExtension implements IEditorParser, PropertyChangeListe
                 commentTagIds.add(c.getId());
             }
             
-            for (IEditorPart editor : annotationManagerMap.keySet()) {
-                Map<String, Position> observedComments = parserMap.get(editor).getObservedComments();
-                observedComments.keySet().retainAll(commentTagIds);
-                annotationManagerMap.get(editor).displayAnnotations(observedComments);
+            // the iteration is weakly consistent, such that sessions might be added or removed concurrently
+            for (EditorSession session : sessionMap.values()) {
+                TagParser parser = session.getParser();
+                if (parser == null) {
+                    continue;
+                }
+                synchronized (parser) {
+                    if (!session.isOpen()) {
+                        continue;
+                    }
+                    Map<String, Position> observedComments = parser.getObservedComments();
+                    observedComments.keySet().retainAll(commentTagIds);
+                    session.getAnnotationManager().displayAnnotations(observedComments);
+                }
             }
         }
     }
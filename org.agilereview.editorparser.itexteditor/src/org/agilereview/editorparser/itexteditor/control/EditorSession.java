@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.agilereview.core.external.concurrent.AgileReviewExecutor;
+import org.agilereview.editorparser.itexteditor.exception.NoDocumentFoundException;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link EditorSession} holds the {@link TagParser}, the {@link AnnotationManager} and the {@link EditorInputListener} of one editor. A session
+ * is created empty, such that it can be registered cheaply, and is opened by exactly one thread at a time. Further threads calling
+ * {@link #open(String[])} wait for the first one, whereas {@link #tryOpen(String[])} returns immediately. If opening fails, the next waiting or
+ * calling thread retries. After the session has been closed, it cannot be opened again. Operations on the parser and the annotations of an open
+ * session have to be synchronized on the {@link #getParser() parser} and have to check afterwards whether the session is still open.<br>
+ * The monitor of the session is only held for state transitions, such that closing the session never waits for a parse. Callers on the display
+ * thread, which do not need the open session, should use {@link #tryOpen(String[])}, as {@link #open(String[])} waits for a parse running in
+ * another thread.
+ * @author agent (18.10.2026)
+ */
+class EditorSession {
+    
+    /**
+     * Logger instance
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(EditorSession.class);
+    /**
+     * Editor of this session
+     */
+    private final IEditorPart editor;
+    /**
+     * {@link EditorParserExtension} performing the reparse of the editor
+     */
+    private final EditorParserExtension parserExtension;
+    /**
+     * {@link TagParser} of the editor
+     */
+    private TagParser parser;
+    /**
+     * {@link AnnotationManager} of the editor
+     */
+    private AnnotationManager annotationManager;
+    /**
+     * {@link EditorInputListener} triggering background reparses of the editor
+     */
+    private EditorInputListener inputListener;
+    /**
+     * States whether a thread is currently opening the session. Guarded by the monitor of the session.
+     */
+    private boolean opening = false;
+    /**
+     * States whether the session is open. Written after all components have been created, such that reading it publishes the components.
+     */
+    private volatile boolean open = false;
+    /**
+     * States whether the session has been closed
+     */
+    private volatile boolean closed = false;
+    
+    /**
+     * Creates a new {@link EditorSession}, which has to be opened before usage
+     * @param editor editor of this session
+     * @param parserExtension {@link EditorParserExtension} performing the reparse of the editor
+     * @author agent (18.10.2026)
+     */
+    EditorSession(IEditorPart editor, EditorParserExtension parserExtension) {
+        this.editor = editor;
+        this.parserExtension = parserExtension;
+    }
+    
+    /**
+     * Opens the session if not done yet, i.e. parses the editor's document, displays the annotations of all found comments and starts listening
+     * for changes of the editor. The document is parsed without holding the monitor of the session. If another thread is currently opening the
+     * session, the call waits for it.
+     * @param multiLineCommentTags begin and end tag of multi line comments of the editor's document
+     * @return true, if the session is open,<br>false, if the session has already been closed
+     * @throws NoDocumentFoundException if the editor does not provide a document
+     * @throws CoreException if the document could not be saved after repairing tags
+     * @author agent (18.10.2026)
+     */
+    boolean open(String[] multiLineCommentTags) throws NoDocumentFoundException, CoreException {
+        return open(multiLineCommentTags, true);
+    }
+    
+    /**
+     * Opens the session like {@link #open(String[])}, unless another thread is currently opening it. In this case, the call returns immediately
+     * without waiting for the other thread.
+     * @param multiLineCommentTags begin and end tag of multi line comments of the editor's document
+     * @return true, if the session is open,<br>false, if the session has already been closed or is currently opened by another thread
+     * @throws NoDocumentFoundException if the editor does not provide a document
+     * @throws CoreException if the document could not be saved after repairing tags
+     * @author agent (18.10.2026)
+     */
+    boolean tryOpen(String[] multiLineCommentTags) throws NoDocumentFoundException, CoreException {
+        return open(multiLineCommentTags, false);
+    }
+    
+    /**
+     * Opens the session if not done yet (see {@link #open(String[])})
+     * @param multiLineCommentTags begin and end tag of multi line comments of the editor's document
+     * @param wait states whether to wait for another thread currently opening the session
+     * @return true, if the session is open,<br>false, if the session has already been closed or is currently opened by another thread and the
+     *         call should not wait
+     * @throws NoDocumentFoundException if the editor does not provide a document
+     * @throws CoreException if the document could not be saved after repairing tags
+     * @author agent (18.10.2026)
+     */
+    private boolean open(String[] multiLineCommentTags, boolean wait) throws NoDocumentFoundException, CoreException {
+        synchronized (this) {
+            boolean interrupted = false;
+            while (wait && opening && !closed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (closed) { return false; }
+            if (open) { return true; }
+            // only reachable without waiting
+            if (opening) { return false; }
+            opening = true;
+        }
+        
+        TagParser newParser = null;
+        AnnotationManager newAnnotationManager = null;
+        boolean published = false;
+        try {
+            newParser = new TagParser((ITextEditor) editor, multiLineCommentTags);
+            newAnnotationManager = new AnnotationManager(editor);
+            newAnnotationManager.displayAnnotations(newParser.getObservedComments());
+            synchronized (this) {
+                if (!closed) {
+                    EditorInputListener newInputListener = new EditorInputListener(editor, parserExtension);
+                    editor.addPropertyListener(newInputListener);
+                    parser = newParser;
+                    annotationManager = newAnnotationManager;
+                    inputListener = newInputListener;
+                    open = true;
+                    published = true;
+                }
+            }
+            return published;
+        } finally {
+            // the session has been closed while parsing or opening failed, such that the components will never be used
+            if (!published && newParser != null) {
+                dispose(newParser, newAnnotationManager);
+            }
+            synchronized (this) {
+                opening = false;
+                notifyAll();
+            }
+        }
+    }
+    
+    /**
+     * Closes the session, i.e. stops listening for changes of the editor, cancels pending reparses and removes all annotations. The parser and the
+     * annotations are released in the background as soon as a currently running operation on the parser has finished, such that the calling
+     * thread never waits for the parser.
+     * @author agent (18.10.2026)
+     */
+    void close() {
+        synchronized (this) {
+            if (closed) { return; }
+            closed = true;
+            notifyAll();
+            // a thread currently opening the session releases its components itself
+            if (!open) { return; }
+            open = false;
+        }
+        inputListener.dispose();
+        final TagParser closedParser = parser;
+        final AnnotationManager closedAnnotationManager = annotationManager;
+        Runnable release = new Runnable() {
+            @Override
+            public void run() {
+                dispose(closedParser, closedAnnotationManager);
+            }
+        };
+        try {
+            // waits for the parser lock, which might be held by a running reparse
+            AgileReviewExecutor.getInstance().executeBlocking(release);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("The editor session could not be released in the background", e);
+            release.run();
+        }
+    }
+    
+    /**
+     * @return true, if the session has been opened and not been closed yet,<br>false, otherwise
+     * @author agent (18.10.2026)
+     */
+    boolean isOpen() {
+        return open;
+    }
+    
+    /**
+     * @return the {@link TagParser} of the editor or <code>null</code> if the session has never been opened
+     * @author agent (18.10.2026)
+     */
+    TagParser getParser() {
+        // read the volatile states first in order to see the components written before
+        return open || closed ? parser : null;
+    }
+    
+    /**
+     * @return the {@link AnnotationManager} of the editor or <code>null</code> if the session has never been opened
+     * @author agent (18.10.2026)
+     */
+    AnnotationManager getAnnotationManager() {
+        return open || closed ? annotationManager : null;
+    }
+    
+    /**
+     * @return the {@link ReparseScheduler} of the editor for diagnostic purposes or <code>null</code> if the session has never been opened
+     * @author agent (18.10.2026)
+     */
+    ReparseScheduler getReparseScheduler() {
+        EditorInputListener listener = open || closed ? inputListener : null;
+        return listener == null ? null : listener.getScheduler();
+    }
+    
+    /**
+     * Releases the given parser and removes the given annotations while holding the lock of the parser
+     * @param parser {@link TagParser} to be released
+     * @param annotationManager {@link AnnotationManager} whose annotations should be removed or <code>null</code> if it has not been created
+     * @author agent (18.10.2026)
+     */
+    private static void dispose(TagParser parser, AnnotationManager annotationManager) {
+        synchronized (parser) {
+            parser.dispose();
+            if (annotationManager != null) {
+                annotationManager.dispose();
+            }
+        }
+    }
+}
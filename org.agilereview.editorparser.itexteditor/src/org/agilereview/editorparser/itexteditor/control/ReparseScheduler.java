@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.agilereview.core.external.concurrent.AgileReviewExecutor;
+import org.eclipse.ui.IEditorPart;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ReparseScheduler} schedules the reparse of one editor in the background. Requests are debounced, i.e. the reparse starts only after
+ * no further request arrived for the debounce delay. All requests arriving in the meantime or while a reparse is running are coalesced into one
+ * pending reparse, which is forced if any of the coalesced requests was forced. The reparse runs on the {@link AgileReviewExecutor}.
+ * @author agent (18.10.2026)
+ */
+class ReparseScheduler {
+    
+    /**
+     * Logger instance
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(ReparseScheduler.class);
+    /**
+     * Default time in milliseconds without further requests before a reparse starts
+     */
+    static final long DEFAULT_DEBOUNCE_DELAY = 250;
+    /**
+     * Editor to be reparsed
+     */
+    private final IEditorPart editorPart;
+    /**
+     * {@link EditorParserExtension} performing the reparse
+     */
+    private final EditorParserExtension parserExtension;
+    /**
+     * Time in milliseconds without further requests before a reparse starts
+     */
+    private final long debounceDelay;
+    /**
+     * Task performing the pending reparse
+     */
+    private final Runnable reparseTask = new Runnable() {
+        @Override
+        public void run() {
+            runReparse();
+        }
+    };
+    /**
+     * Delayed hand over of the pending reparse to the workers or <code>null</code> if there is none
+     */
+    private Future<?> scheduledReparse;
+    /**
+     * States whether there is a request which has not been processed yet
+     */
+    private boolean pending = false;
+    /**
+     * States whether the pending reparse has to parse the whole document
+     */
+    private boolean pendingForce = false;
+    /**
+     * States whether a reparse is currently running
+     */
+    private boolean running = false;
+    /**
+     * States whether the scheduler has been disposed
+     */
+    private boolean disposed = false;
+    /**
+     * Number of received requests
+     */
+    private final AtomicLong requestCount = new AtomicLong();
+    /**
+     * Number of performed reparses
+     */
+    private final AtomicLong reparseCount = new AtomicLong();
+    /**
+     * Accumulated duration of all reparses in nanoseconds
+     */
+    private final AtomicLong accumulatedDuration = new AtomicLong();
+    /**
+     * Maximum duration of all reparses in nanoseconds
+     */
+    private final AtomicLong maxDuration = new AtomicLong();
+    
+    /**
+     * Creates a new {@link ReparseScheduler} with the {@link #DEFAULT_DEBOUNCE_DELAY}
+     * @param editorPart editor to be reparsed
+     * @param parserExtension {@link EditorParserExtension} performing the reparse
+     * @author agent (18.10.2026)
+     */
+    ReparseScheduler(IEditorPart editorPart, EditorParserExtension parserExtension) {
+        this(editorPart, parserExtension, DEFAULT_DEBOUNCE_DELAY);
+    }
+    
+    /**
+     * Creates a new {@link ReparseScheduler}
+     * @param editorPart editor to be reparsed
+     * @param parserExtension {@link EditorParserExtension} performing the reparse
+     * @param debounceDelay time in milliseconds without further requests before a reparse starts
+     * @author agent (18.10.2026)
+     */
+    ReparseScheduler(IEditorPart editorPart, EditorParserExtension parserExtension, long debounceDelay) {
+        this.editorPart = editorPart;
+        this.parserExtension = parserExtension;
+        this.debounceDelay = debounceDelay;
+    }
+    
+    /**
+     * Requests a reparse of the editor. The reparse will be started after the debounce delay unless further requests arrive.
+     * @param force states whether the whole document should be parsed regardless of the changes since the last parse
+     * @author agent (18.10.2026)
+     */
+    synchronized void requestReparse(boolean force) {
+        if (disposed) { return; }
+        requestCount.incrementAndGet();
+        pending = true;
+        pendingForce |= force;
+        // a running reparse will reschedule the pending request after it finished
+        if (!running) {
+            schedule();
+        }
+    }
+    
+    /**
+     * Cancels the pending reparse and ignores all further requests. A currently running reparse cannot be cancelled.
+     * @author agent (18.10.2026)
+     */
+    synchronized void dispose() {
+        disposed = true;
+        pending = false;
+        if (scheduledReparse != null) {
+            scheduledReparse.cancel(false);
+            scheduledReparse = null;
+        }
+        LOG.debug("Reparse scheduler disposed after {} requests and {} reparses with an average duration of {} ms (max {} ms)", requestCount.get(),
+                reparseCount.get(), getAverageReparseDuration(), getMaxReparseDuration());
+    }
+    
+    /**
+     * @return the number of received requests
+     * @author agent (18.10.2026)
+     */
+    long getRequestCount() {
+        return requestCount.get();
+    }
+    
+    /**
+     * @return the number of performed reparses
+     * @author agent (18.10.2026)
+     */
+    long getReparseCount() {
+        return reparseCount.get();
+    }
+    
+    /**
+     * @return the average duration of all performed reparses in milliseconds
+     * @author agent (18.10.2026)
+     */
+    long getAverageReparseDuration() {
+        long reparses = reparseCount.get();
+        return reparses == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(accumulatedDuration.get() / reparses);
+    }
+    
+    /**
+     * @return the maximum duration of all performed reparses in milliseconds
+     * @author agent (18.10.2026)
+     */
+    long getMaxReparseDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(maxDuration.get());
+    }
+    
+    /**
+     * (Re-)starts the debounce delay of the pending reparse. Has to be called while holding the lock of this scheduler.
+     * @author agent (18.10.2026)
+     */
+    private void schedule() {
+        if (scheduledReparse != null) {
+            scheduledReparse.cancel(false);
+        }
+        try {
+            scheduledReparse = AgileReviewExecutor.getInstance().schedule(reparseTask, debounceDelay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // the request stays pending, such that the next request retries to schedule it
+            LOG.warn("The reparse of the editor could not be scheduled", e);
+            scheduledReparse = null;
+        }
+    }
+    
+    /**
+     * Performs the pending reparse if there is any and reschedules requests arriving in the meantime
+     * @author agent (18.10.2026)
+     */
+    private void runReparse() {
+        boolean force;
+        synchronized (this) {
+            // the request might have been taken by an earlier hand over, which could not be cancelled anymore
+            if (disposed || !pending || running) { return; }
+            force = pendingForce;
+            pending = false;
+            pendingForce = false;
+            running = true;
+            scheduledReparse = null;
+        }
+        long start = System.nanoTime();
+        try {
+            parserExtension.reparse(editorPart, force);
+        } finally {
+            recordDuration(System.nanoTime() - start);
+            synchronized (this) {
+                running = false;
+                if (pending && !disposed) {
+                    schedule();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Records the duration of a performed reparse
+     * @param duration duration in nanoseconds
+     * @author agent (18.10.2026)
+     */
+    private void recordDuration(long duration) {
+        reparseCount.incrementAndGet();
+        accumulatedDuration.addAndGet(duration);
+        long currentMax;
+        do {
+            currentMax = maxDuration.get();
+        } while (duration > currentMax && !maxDuration.compareAndSet(currentMax, duration));
+        LOG.debug("Reparse {} of the editor finished after {} ms", reparseCount.get(), TimeUnit.NANOSECONDS.toMillis(duration));
+    }
+}
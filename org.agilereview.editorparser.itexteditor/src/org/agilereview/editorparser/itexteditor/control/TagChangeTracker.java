@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IPositionUpdater;
+import org.eclipse.jface.text.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TagChangeTracker} keeps the tag and comment {@link Position}s of a {@link TagParser} up to date while the document is edited and
+ * decides whether a change requires a full parse of the document. The positions are registered in a position category of the document, such that
+ * the document shifts them on every change. A full parse is only required if a change touches an existing tag or if a new tag occurs in the
+ * changed lines.<br>
+ * The positions and the position updater are changed while holding the lock of the document (see {@link DocumentLocks}), as the document
+ * updates them concurrently on the display thread.
+ * @author agent (18.10.2026)
+ */
+class TagChangeTracker implements IDocumentListener {
+    
+    /**
+     * Logger instance
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(TagChangeTracker.class);
+    /**
+     * Prefix of the position category used by a tracker
+     */
+    private static final String CATEGORY_PREFIX = "org.agilereview.editorparser.itexteditor.tags.";
+    /**
+     * Empty array of {@link Position}s
+     */
+    private static final Position[] NO_POSITIONS = new Position[0];
+    /**
+     * Lock object of the owning parser. Changes performed by a thread holding this lock are changes of the parser itself and will be ignored.
+     */
+    private final Object parserLock;
+    /**
+     * Pattern matching a complete AgileReview tag
+     */
+    private final Pattern tagPattern;
+    /**
+     * Position category of this tracker
+     */
+    private final String category;
+    /**
+     * Position updater shifting the positions of the {@link #category}
+     */
+    private final IPositionUpdater positionUpdater;
+    /**
+     * Currently tracked document
+     */
+    private IDocument document;
+    /**
+     * Positions of all tags found by the last parse, kept up to date by the document
+     */
+    private volatile Position[] tagPositions = NO_POSITIONS;
+    /**
+     * States whether a change requires a full parse of the document
+     */
+    private volatile boolean fullParseRequired = true;
+    
+    /**
+     * Creates a new {@link TagChangeTracker}
+     * @param parserLock lock object of the owning parser
+     * @param tagPattern pattern matching a complete AgileReview tag
+     * @author agent (18.10.2026)
+     */
+    TagChangeTracker(Object parserLock, Pattern tagPattern) {
+        this.parserLock = parserLock;
+        this.tagPattern = tagPattern;
+        this.category = CATEGORY_PREFIX + System.identityHashCode(this);
+        this.positionUpdater = new DefaultPositionUpdater(category);
+    }
+    
+    /**
+     * Resets the state of the tracker before a full parse. Changes performed concurrently to the parse by other threads will mark the document
+     * for another full parse.
+     * @author agent (18.10.2026)
+     */
+    void parseStarted() {
+        fullParseRequired = false;
+    }
+    
+    /**
+     * Tracks the given positions found by a full parse of the given document. All previously tracked positions will be discarded.
+     * @param document parsed document
+     * @param commentPositions positions of the commented regions
+     * @param tags positions of the tags
+     * @author agent (18.10.2026)
+     */
+    void track(IDocument document, Collection<Position> commentPositions, Collection<Position[]> tags) {
+        if (this.document != document) {
+            detach();
+            this.document = document;
+            synchronized (DocumentLocks.getLockObject(document)) {
+                document.addPositionUpdater(positionUpdater);
+            }
+            document.addDocumentListener(this);
+        }
+        synchronized (DocumentLocks.getLockObject(document)) {
+            try {
+                if (document.containsPositionCategory(category)) {
+                    document.removePositionCategory(category);
+                }
+                document.addPositionCategory(category);
+                for (Position p : commentPositions) {
+                    document.addPosition(category, p);
+                }
+                int count = 0;
+                Position[] newTagPositions = new Position[tags.size() * 2];
+                for (Position[] ps : tags) {
+                    for (Position p : ps) {
+                        if (p != null) {
+                            document.addPosition(category, p);
+                            newTagPositions[count++] = p;
+                        }
+                    }
+                }
+                tagPositions = count == newTagPositions.length ? newTagPositions : Arrays.copyOf(newTagPositions, count);
+            } catch (BadLocationException e) {
+                LOG.debug("Tag positions out of document bounds. The next change will trigger a full parse.", e);
+                fullParseRequired = true;
+            } catch (BadPositionCategoryException e) {
+                // should not occur by construction
+                LOG.error("Position category {} could not be found", category, e);
+                fullParseRequired = true;
+            }
+        }
+    }
+    
+    /**
+     * Returns whether a change of the document since the last parse requires a full parse
+     * @return <code>true</code>, if a full parse is required,<br><code>false</code>, if all positions are up to date
+     * @author agent (18.10.2026)
+     */
+    boolean isFullParseRequired() {
+        return fullParseRequired;
+    }
+    
+    /**
+     * Removes the tracker and all of its positions from the currently tracked document
+     * @author agent (18.10.2026)
+     */
+    void dispose() {
+        detach();
+        fullParseRequired = true;
+    }
+    
+    /**
+     * Removes the listener, the position updater and all positions of this tracker from the currently tracked document
+     * @author agent (18.10.2026)
+     */
+    private void detach() {
+        if (document != null) {
+            document.removeDocumentListener(this);
+            synchronized (DocumentLocks.getLockObject(document)) {
+                document.removePositionUpdater(positionUpdater);
+                try {
+                    if (document.containsPositionCategory(category)) {
+                        document.removePositionCategory(category);
+                    }
+                } catch (BadPositionCategoryException e) {
+                    // already removed
+                }
+            }
+            document = null;
+        }
+        tagPositions = NO_POSITIONS;
+    }
+    
+    /* (non-Javadoc)
+     * @see org.eclipse.jface.text.IDocumentListener#documentAboutToBeChanged(org.eclipse.jface.text.DocumentEvent)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event) {
+        if (fullParseRequired || Thread.holdsLock(parserLock)) { return; }
+        // the positions have not been shifted yet, so the event offsets match the tag positions
+        int start = event.getOffset();
+        int end = start + event.getLength();
+        for (Position p : tagPositions) {
+            int tagStart = p.getOffset();
+            int tagEnd = tagStart + p.getLength();
+            // replaced text overlapping the tag or text inserted within the tag
+            if ((start < tagEnd && end > tagStart) || (start > tagStart && start < tagEnd)) {
+                LOG.debug("Change at offset {} touches the tag at {}. Full parse required.", start, p);
+                fullParseRequired = true;
+                return;
+            }
+        }
+    }
+    
+    /* (non-Javadoc)
+     * @see org.eclipse.jface.text.IDocumentListener#documentChanged(org.eclipse.jface.text.DocumentEvent)
+     * @author agent (18.10.2026)
+     */
+    @Override
+    public void documentChanged(DocumentEvent event) {
+        if (fullParseRequired || Thread.holdsLock(parserLock)) { return; }
+        // scan the damaged lines for tags, which are not known yet
+        IDocument doc = event.getDocument();
+        int textLength = event.getText() == null ? 0 : event.getText().length();
+        try {
+            int firstLine = doc.getLineOfOffset(event.getOffset());
+            int lastLine = doc.getLineOfOffset(event.getOffset() + textLength);
+            int regionStart = doc.getLineOffset(firstLine);
+            int regionEnd = doc.getLineOffset(lastLine) + doc.getLineLength(lastLine);
+            Matcher matcher = tagPattern.matcher(doc.get(regionStart, regionEnd - regionStart));
+            while (matcher.find()) {
+                if (!isKnownTag(regionStart + matcher.start(), regionStart + matcher.end())) {
+                    LOG.debug("New tag found at offset {}. Full parse required.", regionStart + matcher.start());
+                    fullParseRequired = true;
+                    return;
+                }
+            }
+        } catch (BadLocationException e) {
+            fullParseRequired = true;
+        }
+    }
+    
+    /**
+     * Checks whether the given region is covered by one of the tracked tag positions
+     * @param start start offset of the region
+     * @param end end offset of the region
+     * @return <code>true</code>, if the region belongs to a known tag,<br><code>false</code>, otherwise
+     * @author agent (18.10.2026)
+     */
+    private boolean isKnownTag(int start, int end) {
+        for (Position p : tagPositions) {
+            if (!p.isDeleted() && p.getOffset() <= start && end <= p.getOffset() + p.getLength()) { return true; }
+        }
+        return false;
+    }
+}
@@ -1,27 +1,29 @@
 package org.agilereview.editorparser.itexteditor.control;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.agilereview.common.exception.ExceptionHandler;
 import org.agilereview.core.external.storage.Comment;
 import org.agilereview.editorparser.itexteditor.Activator;
+import org.agilereview.editorparser.itexteditor.control.TagScanner.ScanResult;
 import org.agilereview.editorparser.itexteditor.data.ComparablePosition;
 import org.agilereview.editorparser.itexteditor.exception.NoDocumentFoundException;
 import org.agilereview.editorparser.itexteditor.prefs.AuthorReservationPreferences;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.FindReplaceDocumentAdapter;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.ITextSelection;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.TextSelection;
@@ -54,13 +56,9 @@ public class TagParser {
      */
     private String[] tags;
     /**
-     * Regular Expression used by this instance
+     * Scanner finding the tags of this instance
      */
-    private final String tagRegex;
-    /**
-     * Pattern used by this instance
-     */
-    private final Pattern tagPattern;
+    private final TagScanner scanner;
     /**
      * This map lists every comment tag found in the document with its {@link Position}
      */
@@ -77,6 +75,14 @@ public class TagParser {
      * The document of this parser
      */
     private final ITextEditor editor;
+    /**
+     * Tracker keeping the tag positions up to date while the document is edited
+     */
+    private final TagChangeTracker tracker;
+    /**
+     * Index of all code comments in the document
+     */
+    private final CodeCommentIndex codeComments;
     
     /**
      * Creates a new instance of AnnotationParser with the given input
@@ -87,9 +93,10 @@ public class TagParser {
      */
     TagParser(ITextEditor editor, String[] commentTags) throws NoDocumentFoundException, CoreException {
         
-        tagRegex = Pattern.quote(commentTags[0]) + RAW_TAG_REGEX + Pattern.quote(commentTags[1]);
-        tagPattern = Pattern.compile(tagRegex);
+        scanner = TagScanner.getInstance(commentTags);
         tags = commentTags;
+        tracker = new TagChangeTracker(this, scanner.getTagPattern());
+        codeComments = new CodeCommentIndex(commentTags, scanner.getTagPattern());
         
         this.editor = editor;
         
@@ -104,195 +111,61 @@ public class TagParser {
     }
     
     /**
-     * Parses all comment tags and saves them with their {@link Position}
+     * Parses the document only if a change since the last parse touched an existing tag or added a new one. Otherwise, all {@link Position}s are
+     * already up to date, as they are shifted by the document itself.
+     * @return true, if the document has been parsed<br>false, if no parse was required
      * @throws CoreException
+     * @author agent (18.10.2026)
      */
-    public synchronized void parseInput() throws CoreException {
-        this.document = editor.getDocumentProvider().getDocument(editor.getEditorInput());
-        
-        editor.getDocumentProvider().saveDocument(null, editor.getEditorInput(), document, true);
-        
-        idPositionMap.clear();
-        idTagPositions.clear();
-        HashSet<String> corruptedCommentKeys = new HashSet<String>();
-        IRegion r;
-        int startOffset = 0;
-        try {
-            Matcher matcher;
-            FindReplaceDocumentAdapter fra = new FindReplaceDocumentAdapter(document);
-            while ((r = fra.find(startOffset, tagRegex, true, false, false, true)) != null) {
-                boolean tagDeleted = false;
-                matcher = tagPattern.matcher(document.get(r.getOffset(), r.getLength()));
-                if (matcher.matches()) {
-                    tagDeleted = parseStartTag(corruptedCommentKeys, matcher, r);
-                    // rewrite location if the line should be removed after comment deletion
-                    if (!tagDeleted) {
-                        tagDeleted = parseEndTag(corruptedCommentKeys, matcher, r);
-                    }
-                }
-                
-                // if a tag was deleted, search from begin of the deleted tag again
-                if (tagDeleted) {
-                    startOffset = r.getOffset();
-                } else {
-                    // -1 in oder to ensure that the startOffset will not be greater then the document length
-                    startOffset = r.getOffset() + r.getLength() - 1;
-                }
-            }
-            
-            // check for begin tags without end tags
-            boolean curruptedBeginTagExists = false;
-            TreeSet<Position> positionsToDelete = new TreeSet<Position>();
-            for (String key : idTagPositions.keySet()) {
-                Position[] ps = idTagPositions.get(key);
-                if (ps[1] == null) {
-                    // corrupt: begin tag without end tag --> deleting
-                    corruptedCommentKeys.add(key);
-                    positionsToDelete.add(new ComparablePosition(ps[0]));
-                    curruptedBeginTagExists = true;
-                }
-            }
-            
-            if (curruptedBeginTagExists) {
-                // delete all corrupted begin tags in descending order
-                Iterator<Position> it = positionsToDelete.descendingIterator();
-                while (it.hasNext()) {
-                    Position tmp = it.next();
-                    document.replace(tmp.getOffset(), tmp.getLength(), "");
-                }
-                // parse the file another time to get the correct positions for the tags
-                parseInput();
-            }
-            
-        } catch (BadLocationException e) {
-            if (startOffset != 0) { // otherwise file out of sync or other reasons, so eclipse cannot open file till refresh --> suppress Exception
-                ExceptionHandler.logAndNotifyUser("BadLocationException occurs while parsing the editor: " + editor.getTitle()
-                        + "\nPlease consider to write a bug report if this problem holds on.", e, Activator.PLUGIN_ID);
-            }
-        }
-        
-        // Save the current document to save the tags
-        // TODO only save document if there are changes made by the parser
-        editor.getDocumentProvider().saveDocument(null, editor.getEditorInput(), document, true);
-        
-    }
-    
-    /**
-     * Parses the given region matched by the given Matcher against AgileReview end tag behavior. If the tag is corrupted, it will be added to the
-     * corruptedCommentKeys set passed. Otherwise it will be added as valid tag to the tagPositionMap.
-     * @param corruptedCommentKeys set of corrupted comment keys
-     * @param matcher for the tagRegex on the given region
-     * @param tagRegion region of the tag occurrence
-     * @return true, if the tag was deleted<br>false, otherwise
-     * @throws BadLocationException
-     * @author Malte Brunnlieb (08.09.2012)
-     */
-    private boolean parseStartTag(HashSet<String> corruptedCommentKeys, Matcher matcher, IRegion tagRegion) throws BadLocationException {
-        boolean tagDeleted = false;
-        Position[] tagPositions;
-        if (matcher.group(1) != null && matcher.group(1).equals("?")) {
-            String key = matcher.group(2).trim();
-            tagPositions = idTagPositions.get(key);
-            // begin tag
-            if (tagPositions != null) {
-                // same begin tag already exists --> deleting
-                corruptedCommentKeys.add(key);
-                document.replace(tagRegion.getOffset(), tagRegion.getLength(), "");
-                tagDeleted = true;
-            } else {
-                idPositionMap.put(key, new Position(document.getLineOffset(document.getLineOfOffset(tagRegion.getOffset()))));
-            }
-            rewriteTagLocationForLineAdaption(matcher, tagRegion, true);
+    public synchronized boolean parseIfRequired() throws CoreException {
+        if (tracker.isFullParseRequired() || document != editor.getDocumentProvider().getDocument(editor.getEditorInput())) {
+            parseInput();
+            return true;
         }
-        return tagDeleted;
+        return false;
     }
     
     /**
-     * Parses the given region matched by the given Matcher against AgileReview end tag behavior. If the tag is corrupted, it will be added to the
-     * corruptedCommentKeys set passed. Otherwise it will be added as valid tag to the tagPositionMap.
-     * @param corruptedCommentKeys set of corrupted comment keys
-     * @param matcher for the tagRegex on the given region
-     * @param tagRegion region of the tag occurrence
-     * @return true, if the tag was deleted<br>false, otherwise
-     * @throws BadLocationException
-     * @author Malte Brunnlieb (08.09.2012)
+     * Parses all comment tags and saves them with their {@link Position}. Corrupted tags will be removed from the document. The document will only
+     * be saved if corrupted tags have been removed.
+     * @throws CoreException
      */
-    private boolean parseEndTag(HashSet<String> corruptedCommentKeys, Matcher matcher, IRegion tagRegion) throws BadLocationException {
-        boolean tagDeleted = false;
-        Position[] tagPositions;
-        if (matcher.group(3) != null && matcher.group(3).equals("?")) {
-            String key = matcher.group(2).trim();
-            tagPositions = idTagPositions.get(key);
-            // end tag
-            if (tagPositions != null) {
-                if (tagPositions[1] != null) {
-                    // same end tag already exists --> deleting
-                    corruptedCommentKeys.add(key);
-                    document.replace(tagRegion.getOffset(), tagRegion.getLength(), "");
-                    tagDeleted = true;
-                } else {
-                    // end tag not set
-                    Position tmp = idPositionMap.get(key);
-                    int line = document.getLineOfOffset(tagRegion.getOffset());
-                    tmp.setLength(document.getLineOffset(line) - tmp.getOffset() + document.getLineLength(line));
-                    idPositionMap.put(key, tmp);
-                    
-                    Position[] tmp2 = idTagPositions.get(key);
-                    tmp2[1] = new Position(tagRegion.getOffset(), tagRegion.getLength());
-                    idTagPositions.put(key, tmp2);
-                }
-            } else {
-                // end tag without begin tag --> deleting
-                corruptedCommentKeys.add(key);
-                document.replace(tagRegion.getOffset(), tagRegion.getLength(), "");
-                tagDeleted = true;
-            }
-            rewriteTagLocationForLineAdaption(matcher, tagRegion, false);
-        }
-        return tagDeleted;
+    public synchronized void parseInput() throws CoreException {
+        parseInput(true);
     }
     
     /**
-     * If the line was added by AgileReview, this function will rewrite the location of the current tag such that the line delimiter will also be
-     * removed.
-     * @param matcher Matcher matching the tagRegex against the tag in the current line
-     * @param tagRegion Region the tag occurs in
-     * @param startLine states whether the startLine or the endLine will be adapted
-     * @throws BadLocationException
-     * @author Malte Brunnlieb (08.09.2012)
+     * Parses all comment tags and saves them with their {@link Position}
+     * @param repair if <code>true</code>, corrupted tags will be removed from the document and the document will be saved afterwards if changed,<br>
+     *            if <code>false</code>, corrupted tags will be ignored and the document will neither be changed nor saved, e.g. for read-only
+     *            analysis
+     * @throws CoreException
+     * @author agent (18.10.2026)
      */
-    private void rewriteTagLocationForLineAdaption(Matcher matcher, IRegion tagRegion, boolean startLine) throws BadLocationException {
-        String key = matcher.group(2).trim();
-        if ("-".equals(matcher.group(4))) {
-            // set the position such that the line break beforehand will be removed too when replacing this position with the empty string
-            int currLine = document.getLineOfOffset(tagRegion.getOffset());
-            String lineToDelete = document.get(document.getLineOffset(currLine), document.getLineLength(currLine)
-                    - document.getLineDelimiter(currLine).length());
-            
-            // if there is at least one tag which is not alone in this line, do not delete the whole line!
-            Matcher lineMatcher = Pattern.compile("(.*)" + tagRegex + "(.*)").matcher(lineToDelete);
-            if (lineMatcher.matches() && lineMatcher.group(1).trim().isEmpty() && lineMatcher.group(6).trim().isEmpty()) {
-                setTagPosition(startLine, key, new Position(document.getLineOffset(currLine), document.getLineLength(currLine)));
-                return;
-            }
+    public synchronized void parseInput(boolean repair) throws CoreException {
+        this.document = editor.getDocumentProvider().getDocument(editor.getEditorInput());
+        tracker.parseStarted();
+        codeComments.setDocument(document);
+        
+        idPositionMap.clear();
+        idTagPositions.clear();
+        boolean repaired = false;
+        try {
+            ScanResult result = scanner.scan(document);
+            // delete all corrupted tags and adapt the positions of all valid tags
+            repaired = repair && TagRepairer.repair(document, result);
+            idPositionMap.putAll(result.getCommentPositions());
+            idTagPositions.putAll(result.getTagPositions());
+        } catch (BadLocationException e) {
+            ExceptionHandler.logAndNotifyUser("BadLocationException occurs while parsing the editor: " + editor.getTitle()
+                    + "\nPlease consider to write a bug report if this problem holds on.", e, Activator.PLUGIN_ID);
         }
-        setTagPosition(startLine, key, new Position(tagRegion.getOffset(), tagRegion.getLength()));
-    }
-    
-    /**
-     * Sets the tag position newPos either for the start tag or the end tag
-     * @param startTag determines whether the start tag should be set or the end tag
-     * @param key of the comment the tags are for
-     * @param newPos new {@link Position} to be set
-     * @author Malte Brunnlieb (09.09.2012)
-     */
-    private void setTagPosition(boolean startTag, String key, Position newPos) {
-        Position[] oldPos = idTagPositions.get(key);
-        if (oldPos == null) {
-            oldPos = new Position[2];
+        tracker.track(document, idPositionMap.values(), idTagPositions.values());
+        
+        // Save the current document only if corrupted tags have been removed
+        if (repaired) {
+            editor.getDocumentProvider().saveDocument(null, editor.getEditorInput(), document, true);
         }
-        oldPos[startTag ? 0 : 1] = newPos;
-        idTagPositions.put(key, oldPos);
     }
     
     /**
@@ -359,7 +232,7 @@ public class TagParser {
         }
         
         // add new line if start line is last line of javaDoc
-        int[] adaptionLines = checkForCodeComment(selStartLine - 1, tags);
+        int[] adaptionLines = checkForCodeComment(selStartLine - 1);
         if (adaptionLines[1] != -1 && lineContains(adaptionLines[0] + 1, "/**")) {
             int newStartLineOffset = document.getLineOffset(selStartLine + 1);
             int newStartLineLength = document.getLineLength(selStartLine + 1);
@@ -373,7 +246,7 @@ public class TagParser {
         }
         
         // add new line if end line is last line of javaDoc
-        adaptionLines = checkForCodeComment(selEndLine - 1, tags);
+        adaptionLines = checkForCodeComment(selEndLine - 1);
         if (adaptionLines[1] != -1 && lineContains(adaptionLines[0] + 1, "/**")) {
             int newEndLineOffset = document.getLineOffset(selEndLine + 1);
             int newEndLineLength = document.getLineLength(selEndLine + 1);
@@ -468,8 +341,8 @@ public class TagParser {
      */
     private int[] computeSelectionAdapations(int startLine, int endLine) throws BadLocationException {
         int[] result = { -1, -1 };
-        int[] startLineAdaptions = checkForCodeComment(startLine, tags);
-        int[] endLineAdaptions = checkForCodeComment(endLine, tags);
+        int[] startLineAdaptions = checkForCodeComment(startLine);
+        int[] endLineAdaptions = checkForCodeComment(endLine);
         
         // check if inserting a AgileReview comment at selected code region destroys a code comment
         if (startLineAdaptions[0] != -1 && startLineAdaptions[1] != -1 && startLineAdaptions[0] != startLine) {
@@ -485,31 +358,17 @@ public class TagParser {
     /**
      * Checks whether the given line is within a code comment. If this holds the code comments start and endline is returned, else {-1, -1}.
      * @param line the line to check
-     * @param tags the start and endtag of code comments
      * @return [-1, -1] if line is not within a code comment, else [startline, endline] of the code comment
      * @throws BadLocationException
      */
-    private int[] checkForCodeComment(int line, String[] tags) throws BadLocationException {
-        // TODO: optimize the search for tags
-        
-        int openTagLine = -1;
-        int closeTagLine = -1;
-        
+    private int[] checkForCodeComment(int line) throws BadLocationException {
         // check for opening non-AgileReview comment tags before the line
-        for (int i = 0; i <= line; i++) {
-            if (lineContains(i, tags[0])) {
-                openTagLine = i;
-            }
-        }
+        int openTagLine = codeComments.getLastBeginTagLine(line);
         
         // check for according closing non-AgileReview comment tag
+        int closeTagLine = -1;
         if (openTagLine > -1) {
-            for (int i = openTagLine; i < document.getNumberOfLines(); i++) {
-                if (lineContains(i, tags[1])) {
-                    closeTagLine = i;
-                    break;
-                }
-            }
+            closeTagLine = codeComments.getFirstEndTagLine(openTagLine);
         }
         
         // finally return the results if a comment was found
@@ -535,7 +394,7 @@ public class TagParser {
      */
     private boolean lineContains(int lineNumber, String string) throws BadLocationException {
         String lineContent = document.get(document.getLineOffset(lineNumber), document.getLineLength(lineNumber)).trim();
-        lineContent = lineContent.replaceAll(Pattern.quote(string) + RAW_TAG_REGEX + Pattern.quote(string), "");
+        lineContent = scanner.getTagPattern().matcher(lineContent).replaceAll("");
         return lineContent.contains(string);
     }
     
@@ -547,26 +406,49 @@ public class TagParser {
      * @author Malte Brunnlieb (26.11.2012)
      */
     public synchronized void removeTagsInDocument(String tagId) throws BadLocationException, CoreException {
+        removeTagsInDocument(Collections.singleton(tagId));
+    }
+    
+    /**
+     * Removes all tags in the parsers document related to the given tagIds. All tags are removed within one document rewrite session and the
+     * document will be reparsed once afterwards.
+     * @param tagIds comment ids for which the tags should be removed
+     * @throws BadLocationException will be thrown if the cached tag locations are out of bounds from the current document
+     * @throws CoreException will be thrown during reparsing the document after tag deletion
+     * @author agent (18.10.2026)
+     */
+    public synchronized void removeTagsInDocument(Set<String> tagIds) throws BadLocationException, CoreException {
         TreeSet<Position> tagPositions = new TreeSet<Position>();
         
-        Position[] ps = idTagPositions.get(tagId);
-        if (ps != null) {
-            ArrayList<ComparablePosition> cp = new ArrayList<ComparablePosition>();
-            for (int i = 0; i < ps.length; i++) {
-                cp.add(new ComparablePosition(ps[i]));
+        for (String tagId : tagIds) {
+            Position[] ps = idTagPositions.get(tagId);
+            if (ps != null) {
+                for (int i = 0; i < ps.length; i++) {
+                    tagPositions.add(new ComparablePosition(ps[i]));
+                }
             }
-            tagPositions.addAll(cp);
+            this.idTagPositions.keySet().remove(tagId);
+            this.idPositionMap.keySet().remove(tagId);
         }
         
-        this.idTagPositions.keySet().remove(tagId);
-        this.idPositionMap.keySet().remove(tagId);
-        
-        Iterator<Position> it = tagPositions.descendingIterator();
-        while (it.hasNext()) {
-            Position tmp = it.next();
-            document.replace(tmp.getOffset(), tmp.getLength(), "");
+        DocumentRewriteSession session = null;
+        if (document instanceof IDocumentExtension4) {
+            session = ((IDocumentExtension4) document).startRewriteSession(DocumentRewriteSessionType.SEQUENTIAL);
+        }
+        try {
+            Iterator<Position> it = tagPositions.descendingIterator();
+            while (it.hasNext()) {
+                Position tmp = it.next();
+                document.replace(tmp.getOffset(), tmp.getLength(), "");
+            }
+        } finally {
+            if (session != null) {
+                ((IDocumentExtension4) document).stopRewriteSession(session);
+            }
         }
         
+        // Save, so Eclipse save actions can take place before parsing
+        editor.getDocumentProvider().saveDocument(new NullProgressMonitor(), editor.getEditorInput(), document, true);
         parseInput();
     }
     
@@ -588,7 +470,21 @@ public class TagParser {
      * @author Malte Brunnlieb (06.12.2012)
      */
     public synchronized Map<String, Position> getObservedComments() {
-        return new HashMap<String, Position>(idPositionMap);
+        // return copies as the positions are already registered on the document and would be shifted twice otherwise
+        HashMap<String, Position> result = new HashMap<String, Position>();
+        for (Entry<String, Position> entry : idPositionMap.entrySet()) {
+            result.put(entry.getKey(), new Position(entry.getValue().getOffset(), entry.getValue().getLength()));
+        }
+        return result;
+    }
+    
+    /**
+     * Stops tracking the document changes. This method should be called if the parser is not used any more.
+     * @author agent (18.10.2026)
+     */
+    public synchronized void dispose() {
+        tracker.dispose();
+        codeComments.dispose();
     }
     
     //    /**
@@ -613,7 +509,8 @@ public class TagParser {
      * @author Malte Brunnlieb (27.11.2012)
      */
     public synchronized Position getPosition(String tagId) {
-        return idPositionMap.get(tagId);
+        Position position = idPositionMap.get(tagId);
+        return position == null ? null : new Position(position.getOffset(), position.getLength());
     }
     
     //    public void relocateComment(Comment comment, boolean display) throws BadLocationException {
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.agilereview.editorparser.itexteditor.control.TagScanner.ScanResult;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.Position;
+
+/**
+ * The {@link TagRepairer} removes all corrupted tags found by a {@link TagScanner} from the document and adapts the {@link Position}s of the valid
+ * comments accordingly, such that no further scan of the document is necessary.
+ * @author agent (18.10.2026)
+ */
+final class TagRepairer {
+    
+    /**
+     * Start offsets of the removed regions in ascending order
+     */
+    private final int[] starts;
+    /**
+     * End offsets (exclusive) of the removed regions in ascending order
+     */
+    private final int[] ends;
+    /**
+     * Accumulated length of all removed regions before the region with the same index
+     */
+    private final int[] removedBefore;
+    
+    /**
+     * Creates a new {@link TagRepairer} for the given regions
+     * @param regions non overlapping regions to be removed in ascending order
+     * @author agent (18.10.2026)
+     */
+    private TagRepairer(Collection<Position> regions) {
+        int count = regions.size();
+        starts = new int[count];
+        ends = new int[count];
+        removedBefore = new int[count + 1];
+        int i = 0;
+        for (Position p : regions) {
+            starts[i] = p.getOffset();
+            ends[i] = p.getOffset() + p.getLength();
+            removedBefore[i + 1] = removedBefore[i] + p.getLength();
+            i++;
+        }
+    }
+    
+    /**
+     * Removes all corrupted tags of the given {@link ScanResult} from the document in descending order within one document rewrite session.
+     * Afterwards, all comment and tag {@link Position}s of the {@link ScanResult} are shifted to match the repaired document.
+     * @param document document the {@link ScanResult} has been computed for
+     * @param result {@link ScanResult} of the document
+     * @return true, if the document has been changed,<br>false, if there were no corrupted tags
+     * @throws BadLocationException if the {@link ScanResult} does not match the document
+     * @author agent (18.10.2026)
+     */
+    static boolean repair(IDocument document, ScanResult result) throws BadLocationException {
+        if (result.getCorruptedTags().isEmpty()) { return false; }
+        
+        DocumentRewriteSession session = null;
+        if (document instanceof IDocumentExtension4) {
+            session = ((IDocumentExtension4) document).startRewriteSession(DocumentRewriteSessionType.SEQUENTIAL);
+        }
+        try {
+            Iterator<Position> it = result.getCorruptedTags().descendingIterator();
+            while (it.hasNext()) {
+                Position tmp = it.next();
+                document.replace(tmp.getOffset(), tmp.getLength(), "");
+            }
+        } finally {
+            if (session != null) {
+                ((IDocumentExtension4) document).stopRewriteSession(session);
+            }
+        }
+        
+        TagRepairer repairer = new TagRepairer(result.getCorruptedTags());
+        for (Position p : result.getCommentPositions().values()) {
+            repairer.adapt(p);
+        }
+        for (Position[] ps : result.getTagPositions().values()) {
+            for (Position p : ps) {
+                repairer.adapt(p);
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Adapts the given {@link Position} to the removal of all regions of this instance
+     * @param p {@link Position} to be adapted
+     * @author agent (18.10.2026)
+     */
+    private void adapt(Position p) {
+        int offset = map(p.getOffset());
+        int end = map(p.getOffset() + p.getLength());
+        p.setOffset(offset);
+        p.setLength(end - offset);
+    }
+    
+    /**
+     * Maps an offset of the original document to the corresponding offset of the document after all regions have been removed
+     * @param offset offset in the original document
+     * @return the corresponding offset in the repaired document
+     * @author agent (18.10.2026)
+     */
+    private int map(int offset) {
+        // number of regions starting before the offset
+        int index = Arrays.binarySearch(starts, offset);
+        int count = index >= 0 ? index : -(index + 1);
+        int removed = removedBefore[count];
+        if (count > 0 && ends[count - 1] > offset) {
+            // the offset lies within a removed region
+            removed -= ends[count - 1] - offset;
+        }
+        return offset - removed;
+    }
+}
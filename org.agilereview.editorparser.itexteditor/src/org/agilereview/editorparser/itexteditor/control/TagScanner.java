@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2011, 2012 AgileReview Development Team and others.
+ * All rights reserved. This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License - v 1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ * Contributors: Malte Brunnlieb, Philipp Diebold, Peter Reuter, Thilo Rauch
+ */
+package org.agilereview.editorparser.itexteditor.control;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.agilereview.editorparser.itexteditor.data.ComparablePosition;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+
+/**
+ * The {@link TagScanner} finds all AgileReview tags of a document in one sweep of a precompiled {@link Matcher} over the document contents. It
+ * resolves begin and end tags to comments, determines the region to be removed for each tag and collects all corrupted tags. {@link TagScanner}s
+ * are immutable and shared by all parsers using the same comment tags.
+ * @author agent (18.10.2026)
+ */
+class TagScanner {
+    
+    /**
+     * Scanners per comment tag pair
+     */
+    private static final ConcurrentMap<String, TagScanner> scanners = new ConcurrentHashMap<String, TagScanner>();
+    /**
+     * Pattern matching a complete AgileReview tag
+     */
+    private final Pattern tagPattern;
+    
+    /**
+     * Result of a scan
+     * @author agent (18.10.2026)
+     */
+    static class ScanResult {
+        
+        /**
+         * Comment ids mapped to the {@link Position} of the commented lines
+         */
+        private final TreeMap<String, Position> commentPositions = new TreeMap<String, Position>();
+        /**
+         * Comment ids mapped to the {@link Position}s of the begin tag (index 0) and the end tag (index 1) which have to be removed on comment deletion
+         */
+        private final TreeMap<String, Position[]> tagPositions = new TreeMap<String, Position[]>();
+        /**
+         * {@link ComparablePosition}s of all corrupted tags ordered by their offsets
+         */
+        private final TreeSet<Position> corruptedTags = new TreeSet<Position>();
+        
+        /**
+         * Returns the {@link Position}s of the commented lines of all valid comments
+         * @return a mapping of comment ids to the {@link Position} of the commented lines
+         * @author agent (18.10.2026)
+         */
+        TreeMap<String, Position> getCommentPositions() {
+            return commentPositions;
+        }
+        
+        /**
+         * Returns the tag {@link Position}s of all valid comments
+         * @return a mapping of comment ids to the {@link Position}s of the begin tag (index 0) and the end tag (index 1)
+         * @author agent (18.10.2026)
+         */
+        TreeMap<String, Position[]> getTagPositions() {
+            return tagPositions;
+        }
+        
+        /**
+         * Returns the {@link Position}s of all corrupted tags, i.e. duplicate tags, end tags without begin tag and begin tags without end tag
+         * @return the {@link Position}s of all corrupted tags in ascending order
+         * @author agent (18.10.2026)
+         */
+        TreeSet<Position> getCorruptedTags() {
+            return corruptedTags;
+        }
+    }
+    
+    /**
+     * Creates a new {@link TagScanner}
+     * @param commentTags begin and end tag of code comments
+     * @author agent (18.10.2026)
+     */
+    private TagScanner(String[] commentTags) {
+        tagPattern = Pattern.compile(Pattern.quote(commentTags[0]) + TagParser.RAW_TAG_REGEX + Pattern.quote(commentTags[1]));
+    }
+    
+    /**
+     * Returns the {@link TagScanner} for the given comment tags
+     * @param commentTags begin and end tag of code comments
+     * @return the shared {@link TagScanner} instance for the given comment tags
+     * @author agent (18.10.2026)
+     */
+    static TagScanner getInstance(String[] commentTags) {
+        String key = commentTags[0] + "\n" + commentTags[1];
+        TagScanner scanner = scanners.get(key);
+        if (scanner == null) {
+            TagScanner newScanner = new TagScanner(commentTags);
+            scanner = scanners.putIfAbsent(key, newScanner);
+            if (scanner == null) {
+                scanner = newScanner;
+            }
+        }
+        return scanner;
+    }
+    
+    /**
+     * Returns the pattern matching a complete AgileReview tag
+     * @return the precompiled tag pattern
+     * @author agent (18.10.2026)
+     */
+    Pattern getTagPattern() {
+        return tagPattern;
+    }
+    
+    /**
+     * Scans the given document for AgileReview tags. A begin tag of an already known comment, an end tag of a comment which is already closed,
+     * an end tag without begin tag as well as a begin tag without end tag are reported as corrupted.
+     * @param document document to be scanned
+     * @return the {@link ScanResult}
+     * @throws BadLocationException if the document is changed concurrently
+     * @author agent (18.10.2026)
+     */
+    ScanResult scan(IDocument document) throws BadLocationException {
+        ScanResult result = new ScanResult();
+        String text = document.get();
+        Matcher matcher = tagPattern.matcher(text);
+        while (matcher.find()) {
+            String key = matcher.group(2).trim();
+            Position[] tagPositions = result.tagPositions.get(key);
+            if ("?".equals(matcher.group(1))) {
+                // begin tag
+                if (tagPositions != null) {
+                    // same begin tag already exists
+                    result.corruptedTags.add(new ComparablePosition(new Position(matcher.start(), matcher.end() - matcher.start())));
+                    continue;
+                }
+                int line = document.getLineOfOffset(matcher.start());
+                tagPositions = new Position[2];
+                tagPositions[0] = computeTagPosition(document, text, matcher, line);
+                result.tagPositions.put(key, tagPositions);
+                result.commentPositions.put(key, new Position(document.getLineOffset(line)));
+            }
+            if ("?".equals(matcher.group(3))) {
+                // end tag
+                if (tagPositions == null || tagPositions[1] != null) {
+                    // end tag without begin tag or same end tag already exists
+                    result.corruptedTags.add(new ComparablePosition(new Position(matcher.start(), matcher.end() - matcher.start())));
+                    continue;
+                }
+                int line = document.getLineOfOffset(matcher.start());
+                tagPositions[1] = computeTagPosition(document, text, matcher, line);
+                Position commentPosition = result.commentPositions.get(key);
+                commentPosition.setLength(document.getLineOffset(line) + document.getLineLength(line) - commentPosition.getOffset());
+            }
+        }
+        
+        // begin tags without end tags
+        Iterator<Entry<String, Position[]>> it = result.tagPositions.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry<String, Position[]> entry = it.next();
+            if (entry.getValue()[1] == null) {
+                result.corruptedTags.add(new ComparablePosition(entry.getValue()[0]));
+                result.commentPositions.remove(entry.getKey());
+                it.remove();
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Computes the {@link Position} to be removed for the tag currently matched. If the tag has been inserted together with a new line and is the
+     * only content of its line, the whole line including its delimiter will be removed.
+     * @param document scanned document
+     * @param text contents of the document
+     * @param matcher matcher matching the tag
+     * @param line line of the tag
+     * @return the {@link Position} to be removed on tag deletion
+     * @throws BadLocationException
+     * @author agent (18.10.2026)
+     */
+    private Position computeTagPosition(IDocument document, String text, Matcher matcher, int line) throws BadLocationException {
+        if ("-".equals(matcher.group(4))) {
+            int lineOffset = document.getLineOffset(line);
+            int lineLength = document.getLineLength(line);
+            String delimiter = document.getLineDelimiter(line);
+            int lineEnd = lineOffset + lineLength - (delimiter == null ? 0 : delimiter.length());
+            if (isBlank(text, lineOffset, matcher.start()) && isBlank(text, matcher.end(), lineEnd)) { return new Position(lineOffset, lineLength); }
+        }
+        return new Position(matcher.start(), matcher.end() - matcher.start());
+    }
+    
+    /**
+     * Checks whether the given range of the text only consists of whitespaces
+     * @param text text to be checked
+     * @param start start offset (inclusive)
+     * @param end end offset (exclusive)
+     * @return true, if the range only contains characters which would be removed by {@link String#trim()},<br>false, otherwise
+     * @author agent (18.10.2026)
+     */
+    private static boolean isBlank(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) > ' ') { return false; }
+        }
+        return true;
+    }
+}
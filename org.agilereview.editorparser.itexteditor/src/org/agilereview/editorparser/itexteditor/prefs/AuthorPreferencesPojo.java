@@ -62,4 +62,78 @@ public class AuthorPreferencesPojo {
      * Author 10 (injected by JSON)
      */
     public String Author10;
+    
+    /**
+     * Returns the author reserved for the given {@link AuthorTag}
+     * @param authorTag {@link AuthorTag} whose reservation should be returned
+     * @return the reserved author or <code>null</code> if the reservation is not contained in the preferences
+     * @author agent (18.10.2026)
+     */
+    public String get(AuthorTag authorTag) {
+        switch (authorTag) {
+        case IDEUser:
+            return IDEUser;
+        case Author2:
+            return Author2;
+        case Author3:
+            return Author3;
+        case Author4:
+            return Author4;
+        case Author5:
+            return Author5;
+        case Author6:
+            return Author6;
+        case Author7:
+            return Author7;
+        case Author8:
+            return Author8;
+        case Author9:
+            return Author9;
+        case Author10:
+            return Author10;
+        default:
+            return null; // invalid case by construction
+        }
+    }
+    
+    /**
+     * Sets the author reserved for the given {@link AuthorTag}
+     * @param authorTag {@link AuthorTag} whose reservation should be set
+     * @param author author to be reserved
+     * @author agent (18.10.2026)
+     */
+    public void set(AuthorTag authorTag, String author) {
+        switch (authorTag) {
+        case IDEUser:
+            IDEUser = author;
+            break;
+        case Author2:
+            Author2 = author;
+            break;
+        case Author3:
+            Author3 = author;
+            break;
+        case Author4:
+            Author4 = author;
+            break;
+        case Author5:
+            Author5 = author;
+            break;
+        case Author6:
+            Author6 = author;
+            break;
+        case Author7:
+            Author7 = author;
+            break;
+        case Author8:
+            Author8 = author;
+            break;
+        case Author9:
+            Author9 = author;
+            break;
+        case Author10:
+            Author10 = author;
+            break;
+        }
+    }
 }
@@ -46,23 +46,8 @@ public class AuthorReservationPreferences {
      * @author Malte Brunnlieb (20.11.2012)
      */
     public String getReservation(AuthorTag authorTag) {
-        loadData();
-        try {
-            return (String) pojo.getClass().getField(authorTag.toString()).get(pojo);
-        } catch (IllegalArgumentException e) {
-            // invalid case by construction
-            e.printStackTrace();
-        } catch (SecurityException e) {
-            // invalid case by construction
-            e.printStackTrace();
-        } catch (IllegalAccessException e) {
-            // invalid case by construction
-            e.printStackTrace();
-        } catch (NoSuchFieldException e) {
-            // invalid case by construction
-            e.printStackTrace();
-        }
-        return null; //invalid case by construction
+        String author = pojo.get(authorTag);
+        return author == null ? "" : author;
     }
     
     /**
@@ -71,7 +56,6 @@ public class AuthorReservationPreferences {
      * @author Malte Brunnlieb (21.11.2012)
      */
     public List<String> getReservations() {
-        loadData();
         List<String> reservations = new LinkedList<String>();
         for (AuthorTag authorTag : AuthorTag.values()) {
             String author = getReservation(authorTag);
@@ -102,21 +86,7 @@ public class AuthorReservationPreferences {
      * @author Malte Brunnlieb (20.11.2012)
      */
     public void setReservation(AuthorTag authorTag, String author) {
-        try {
-            pojo.getClass().getField(authorTag.toString()).set(pojo, author.trim());
-        } catch (IllegalArgumentException e) {
-            // invalid case by construction
-            e.printStackTrace();
-        } catch (SecurityException e) {
-            // invalid case by construction
-            e.printStackTrace();
-        } catch (IllegalAccessException e) {
-            // invalid case by construction
-            e.printStackTrace();
-        } catch (NoSuchFieldException e) {
-            // invalid case by construction
-            e.printStackTrace();
-        }
+        pojo.set(authorTag, author.trim());
         writeChanges();
     }
     
@@ -126,7 +96,8 @@ public class AuthorReservationPreferences {
      * @author Malte Brunnlieb (20.11.2012)
      */
     public void addReservation(String author) {
-        loadData();
+        // reload in order to not overwrite reservations added since the creation of this instance
+        pojo = loadData();
         for (AuthorTag authorTag : AuthorTag.values()) {
             if (authorTag != AuthorTag.IDEUser && getReservation(authorTag).trim().isEmpty()) {
                 setReservation(authorTag, author);
@@ -144,7 +115,6 @@ public class AuthorReservationPreferences {
      * @author Malte Brunnlieb (21.11.2012)
      */
     public AuthorTag getAuthorTag(String author) {
-        loadData();
         for (AuthorTag authorTag : AuthorTag.values()) {
             if (getReservation(authorTag).trim().equals(author.trim())) { return authorTag; }
         }
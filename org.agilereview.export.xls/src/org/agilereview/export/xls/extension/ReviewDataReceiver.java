@@ -17,9 +17,9 @@ import org.agilereview.core.external.storage.ReviewSet;
 public class ReviewDataReceiver implements IReviewDataReceiver {
     
     /**
-     * Last received review set
+     * Last received review set. Volatile, as the review data is set on a background thread.
      */
-    private ReviewSet reviewSet;
+    private volatile ReviewSet reviewSet;
     
     /**
      * Instance
@@ -1,6 +1,6 @@
 package org.agilereview.storage.xml;
 
-import java.util.ArrayList;
+import java.util.List;
 
 import org.agilereview.core.external.storage.Comment;
 import org.agilereview.core.external.storage.Review;
@@ -15,17 +15,11 @@ public class Helper {
 	 * Returns all {@link Comment} objects belonging to the given {@link Review} and author.
 	 * @param review
 	 * @param author
-	 * @return An {@link ArrayList} of {@link Comment} objects.
+	 * @return A {@link List} of {@link Comment} objects.
 	 * @author Peter Reuter (04.04.2012)
 	 */
-	public static ArrayList<Comment> getComments(Review review, String author) {
-		ArrayList<Comment> result = new ArrayList<Comment>();
-		for (Comment comment : review.getComments()) {
-			if (comment.getAuthor().equals(author)) {
-				result.add(comment);
-			}
-		}
-		return result;
+	public static List<Comment> getComments(Review review, String author) {
+		return review.getComments(author);
 	}
 
 }
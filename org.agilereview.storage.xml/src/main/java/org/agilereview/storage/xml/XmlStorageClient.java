@@ -9,6 +9,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.agilereview.common.exception.ExceptionHandler;
 import org.agilereview.core.external.definition.IStorageClient;
@@ -149,7 +150,7 @@ public class XmlStorageClient implements IStorageClient, IPreferenceChangeListen
     @Override
     public String getNewCommentId(String author, Review review) {
         int id = 0;
-        List<Comment> comments = review.getComments();
+        List<Comment> comments = review.getComments(author);
         Collections.sort(comments, new Comparator<Comment>() {
 
             @Override
@@ -157,14 +158,12 @@ public class XmlStorageClient implements IStorageClient, IPreferenceChangeListen
                 return o1.getId().compareTo(o2.getId());
             }
         });
-        for (Comment c : review.getComments()) {
-            if (c.getAuthor().equals(author)) {
-                int currId = Integer.parseInt(c.getId().substring(1, c.getId().indexOf(SEPARATOR)));
-                if (id < currId) {
-                    break;
-                } else {
-                    id = currId + 1;
-                }
+        for (Comment c : comments) {
+            int currId = Integer.parseInt(c.getId().substring(1, c.getId().indexOf(SEPARATOR)));
+            if (id < currId) {
+                break;
+            } else {
+                id = currId + 1;
             }
         }
         return "c" + id + SEPARATOR + author + SEPARATOR + review.getId();
@@ -288,7 +287,7 @@ public class XmlStorageClient implements IStorageClient, IPreferenceChangeListen
      * @param reviews
      * @author Peter Reuter (18.07.2012)
      */
-    private void unloadReviews(HashSet<Review> reviews) {
+    private void unloadReviews(Set<Review> reviews) {
         for (Review r : reviews) {
             unloadComments(r.getComments());
         }
@@ -304,7 +303,7 @@ public class XmlStorageClient implements IStorageClient, IPreferenceChangeListen
     private void unloadComments(List<Comment> comments) {
         for (Comment c : comments) {
             unloadReplies(c.getReplies());
-            this.idCommentMap.remove(c);
+            this.idCommentMap.remove(c.getId());
         }
         comments.clear();
     }
@@ -317,7 +316,7 @@ public class XmlStorageClient implements IStorageClient, IPreferenceChangeListen
     private void unloadReplies(List<Reply> replies) {
         for (Reply r : replies) {
             unloadReplies(r.getReplies());
-            this.idReplyMap.remove(r);
+            this.idReplyMap.remove(r.getId());
         }
     }
 
@@ -353,15 +352,19 @@ public class XmlStorageClient implements IStorageClient, IPreferenceChangeListen
             }
         } else if (PropertyChangeEventKeys.REVIEW_COMMENTS.equals(evt.getPropertyName())) {
             @SuppressWarnings("unchecked")
-            ArrayList<Comment> oldValue = new ArrayList<Comment>((ArrayList<Comment>) evt.getOldValue());
+            ArrayList<Comment> oldValue = new ArrayList<Comment>((List<Comment>) evt.getOldValue());
             @SuppressWarnings("unchecked")
-            ArrayList<Comment> newValue = new ArrayList<Comment>((ArrayList<Comment>) evt.getNewValue());
+            ArrayList<Comment> newValue = new ArrayList<Comment>((List<Comment>) evt.getNewValue());
             if (oldValue.size() > newValue.size() && ((Review) evt.getSource()).getIsOpen()) {
-                // comments were remove from review
+                // comments were remove from review. Each author file only needs to be stored or deleted once
                 oldValue.removeAll(newValue);
+                Set<String> processedAuthors = new HashSet<String>();
                 for (Comment c : oldValue) {
                     unloadReplies(c.getReplies());
-                    ArrayList<Comment> authorCommentsForReview = Helper.getComments(c.getReview(), c.getAuthor());
+                    if (!processedAuthors.add(c.getAuthor())) {
+                        continue;
+                    }
+                    List<Comment> authorCommentsForReview = Helper.getComments(c.getReview(), c.getAuthor());
                     if (authorCommentsForReview.size() > 0) {
                         XmlPersister.store(c);
                     } else {
@@ -377,10 +380,13 @@ public class XmlStorageClient implements IStorageClient, IPreferenceChangeListen
                     }
                 }
             } else {
-                // comments were added to review
+                // comments were added to review. As all comments of an author are stored in one file, store each author file once
                 newValue.removeAll(oldValue);
+                Set<String> storedAuthors = new HashSet<String>();
                 for (Comment c : newValue) {
-                    XmlPersister.store(c);
+                    if (storedAuthors.add(c.getAuthor())) {
+                        XmlPersister.store(c);
+                    }
                 }
             }
         } else {
@@ -396,9 +402,9 @@ public class XmlStorageClient implements IStorageClient, IPreferenceChangeListen
     private void propertyChangeOfReviewSet(java.beans.PropertyChangeEvent evt) {
         if (PropertyChangeEventKeys.REVIEWSET_REVIEWS.equals(evt.getPropertyName())) {
             @SuppressWarnings("unchecked")
-            HashSet<Review> oldValue = (HashSet<Review>) evt.getOldValue();
+            Set<Review> oldValue = (Set<Review>) evt.getOldValue();
             @SuppressWarnings("unchecked")
-            HashSet<Review> newValue = (HashSet<Review>) evt.getNewValue();
+            Set<Review> newValue = (Set<Review>) evt.getNewValue();
             if (newValue.size() >= oldValue.size()) {
                 // reviews added
                 HashSet<Review> diff = new HashSet<Review>(newValue);
@@ -437,8 +443,7 @@ public class XmlStorageClient implements IStorageClient, IPreferenceChangeListen
             propertyChangeOfReviewSet(evt);
         } else if (evt.getSource() instanceof Review) {
             propertyChangeOfReview(evt);
-        } else if (evt.getSource() instanceof Comment && !PropertyChangeEventKeys.COMMENT_MODIFICATION_DATE.equals(evt.getPropertyName())
-                || evt.getSource() instanceof Reply && !PropertyChangeEventKeys.REPLY_MODIFICATION_DATE.equals(evt.getPropertyName())) {
+        } else if (evt.getSource() instanceof Comment || evt.getSource() instanceof Reply) {
             propertyChangeOfCommentOrReply(evt);
         }
     }
@@ -1,8 +1,5 @@
 package org.agilereview.storage.xml.conversion;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
@@ -10,7 +7,7 @@ import javax.xml.datatype.XMLGregorianCalendar;
 import org.agilereview.core.external.storage.Comment;
 import org.agilereview.core.external.storage.Reply;
 import org.agilereview.core.external.storage.Review;
-import org.agilereview.core.external.storage.StorageAPI;
+import org.agilereview.core.external.storage.ReviewGraphBuilder;
 import org.agilereview.xmlschema.author.Replies;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -23,20 +20,22 @@ import org.eclipse.core.runtime.Path;
 public class Jaxb2Pojo {
     
     /**
-     * Convert Jaxb {@link org.agilereview.xmlschema.author.Comment} to AgileReview {@link Comment}
+     * Convert Jaxb {@link org.agilereview.xmlschema.author.Comment} to AgileReview {@link Comment}. The {@link Comment} and all its
+     * {@link Reply}s will be attached to the graph when the given builder is built.
+     * @param builder the {@link ReviewGraphBuilder} the {@link Comment} is added to
      * @param review
      * @param jaxbComment
      * @return the converted {@link Comment}
      * @author Peter Reuter (03.11.2013)
      */
-    public static Comment getComment(Review review, org.agilereview.xmlschema.author.Comment jaxbComment) {
+    public static Comment getComment(ReviewGraphBuilder builder, Review review, org.agilereview.xmlschema.author.Comment jaxbComment) {
         IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(jaxbComment.getResourcePath()));
         XMLGregorianCalendar creationDate = getSaveXmlGregorianCalendar(jaxbComment.getCreationDate());
         XMLGregorianCalendar lastModified = getSaveXmlGregorianCalendar(jaxbComment.getLastModified());
-        Comment comment = StorageAPI.createComment(jaxbComment.getId(), jaxbComment.getAuthorName(), file, review,
-                creationDate.toGregorianCalendar(), lastModified.toGregorianCalendar(), jaxbComment.getRecipient(), jaxbComment.getStatus(),
-                jaxbComment.getPriority(), jaxbComment.getText());
-        comment.setReplies(getReplies(comment, jaxbComment.getReplies()));
+        Comment comment = builder.addComment(review, jaxbComment.getId(), jaxbComment.getAuthorName(), file, creationDate.toGregorianCalendar(),
+                lastModified.toGregorianCalendar(), jaxbComment.getRecipient(), jaxbComment.getStatus(), jaxbComment.getPriority(),
+                jaxbComment.getText());
+        addReplies(builder, comment, jaxbComment.getReplies());
         return comment;
     }
     
@@ -58,45 +57,43 @@ public class Jaxb2Pojo {
     
     /**
      * Convert Jaxb {@link org.agilereview.xmlschema.review.Review} to AgileReview {@link Review}
+     * @param builder the {@link ReviewGraphBuilder} the {@link Review} is added to
      * @param jaxbReview
      * @return the converted {@link Review}
      * @author Peter Reuter (03.11.2013)
      */
-    public static Review getReview(org.agilereview.xmlschema.review.Review jaxbReview) {
-        return StorageAPI.createReview(jaxbReview.getId(), jaxbReview.getName(), jaxbReview.getStatus(), jaxbReview.getReferenceId(), jaxbReview
+    public static Review getReview(ReviewGraphBuilder builder, org.agilereview.xmlschema.review.Review jaxbReview) {
+        return builder.addReview(jaxbReview.getId(), jaxbReview.getName(), jaxbReview.getStatus(), jaxbReview.getReferenceId(), jaxbReview
                 .getResponsibility(), jaxbReview.getDescription());
     }
     
     /**
+     * @param builder
      * @param parent
      * @param jaxbReplies
-     * @return
      * @author Peter Reuter (03.11.2013)
      */
-    private static List<Reply> getReplies(Object parent, Replies jaxbReplies) {
-        List<Reply> replies = new ArrayList<Reply>();
+    private static void addReplies(ReviewGraphBuilder builder, Object parent, Replies jaxbReplies) {
         for (org.agilereview.xmlschema.author.Reply jaxbReply : jaxbReplies.getReply()) {
-            replies.add(getReply(parent, jaxbReply));
+            addReply(builder, parent, jaxbReply);
         }
-        return replies;
     }
     
     /**
+     * @param builder
      * @param parent
      * @param jaxbReply
-     * @return
      * @author Peter Reuter (03.11.2013)
      */
-    private static Reply getReply(Object parent, org.agilereview.xmlschema.author.Reply jaxbReply) {
+    private static void addReply(ReviewGraphBuilder builder, Object parent, org.agilereview.xmlschema.author.Reply jaxbReply) {
         XMLGregorianCalendar creationDate = getSaveXmlGregorianCalendar(jaxbReply.getCreationDate());
         XMLGregorianCalendar modificationDate = getSaveXmlGregorianCalendar(jaxbReply.getLastModified());
-        Reply reply = StorageAPI.createReply(jaxbReply.getId(), jaxbReply.getAuthor(), creationDate.toGregorianCalendar(), modificationDate
-                .toGregorianCalendar(), jaxbReply.getText(), parent);
+        Reply reply = builder.addReply(parent, jaxbReply.getId(), jaxbReply.getAuthor(), creationDate.toGregorianCalendar(), modificationDate
+                .toGregorianCalendar(), jaxbReply.getText());
         Replies jaxbReplies = jaxbReply.getReplies();
         if (jaxbReplies != null) {
-            reply.setReplies(getReplies(reply, jaxbReplies));
+            addReplies(builder, reply, jaxbReplies);
         }
-        return reply;
     }
     
 }
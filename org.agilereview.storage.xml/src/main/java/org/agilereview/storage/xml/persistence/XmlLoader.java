@@ -12,6 +12,8 @@ import javax.xml.bind.Unmarshaller;
 import org.agilereview.common.exception.ExceptionHandler;
 import org.agilereview.core.external.storage.Comment;
 import org.agilereview.core.external.storage.Review;
+import org.agilereview.core.external.storage.ReviewGraphBuilder;
+import org.agilereview.core.external.storage.StorageAPI;
 import org.agilereview.storage.xml.Activator;
 import org.agilereview.storage.xml.conversion.Jaxb2Pojo;
 import org.agilereview.storage.xml.exception.ConversionException;
@@ -164,13 +166,12 @@ public class XmlLoader {
 	 * @return the list of all {@link Review}s of the current Review Source Folder
 	 */
 	public static List<Review> loadReviews() {
-		List<Review> reviews = new ArrayList<Review>();
+		ReviewGraphBuilder builder = StorageAPI.createReviewGraphBuilder();
 		List<org.agilereview.xmlschema.review.Review> jaxbReviews = XmlLoader.loadAllJaxbReview();
 		for (org.agilereview.xmlschema.review.Review xmlBeansReview : jaxbReviews) {
-			Review review = Jaxb2Pojo.getReview(xmlBeansReview);
-			reviews.add(review);
+			Jaxb2Pojo.getReview(builder, xmlBeansReview);
 		}
-		return reviews;
+		return builder.build();
 	}
 
 	/**
@@ -180,13 +181,16 @@ public class XmlLoader {
 	 */
 	public static void loadComments(Review review) {
 		if (review != null) {
-			ArrayList<Comment> comments = new ArrayList<Comment>();
 			org.agilereview.xmlschema.author.Comments jaxbComments = loadAllJaxbComment(review.getId());
+			if (jaxbComments.getComment().isEmpty()) {
+				review.setComments(new ArrayList<Comment>(0));
+				return;
+			}
+			ReviewGraphBuilder builder = StorageAPI.createReviewGraphBuilder();
 			for (org.agilereview.xmlschema.author.Comment jaxbComment : jaxbComments.getComment()) {
-				Comment comment = Jaxb2Pojo.getComment(review, jaxbComment);
-				comments.add(comment);
+				Jaxb2Pojo.getComment(builder, review, jaxbComment);
 			}
-			review.setComments(comments);
+			builder.build();
 		}		
 	}
 
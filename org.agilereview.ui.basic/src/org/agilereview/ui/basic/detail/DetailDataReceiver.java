@@ -68,4 +68,13 @@ public class DetailDataReceiver extends AbstractReviewDataReceiver {
     protected boolean triggerPropertyChange(PropertyChangeEvent evt, ReviewSet data) {
         return evt.getPropertyName().equals(PropertyChangeEventKeys.REVIEWSET_METADATA) && !evt.getSource().equals(this.currentlyShownObject);
     }
+    
+    /* (non-Javadoc)
+     * @see org.agilereview.ui.basic.external.reviewDataReceiver.AbstractReviewDataReceiver#getSubscribedEventKeys()
+     * @author agent (18.10.2026)
+     */
+    @Override
+    protected String[] getSubscribedEventKeys() {
+        return new String[] { PropertyChangeEventKeys.REVIEWSET_METADATA };
+    }
 }
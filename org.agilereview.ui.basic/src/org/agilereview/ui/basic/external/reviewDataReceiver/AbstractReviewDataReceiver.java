@@ -11,8 +11,9 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.lang.reflect.Method;
 
-import org.agilereview.core.external.definition.IReviewDataReceiver;
+import org.agilereview.core.external.definition.IDisplayThreadReviewDataReceiver;
 import org.agilereview.core.external.storage.ReviewSet;
+import org.agilereview.core.external.storage.listeners.IModelEventListener;
 import org.eclipse.swt.widgets.Display;
 
 /**
@@ -32,18 +33,30 @@ import org.eclipse.swt.widgets.Display;
  * 
  * </code> </blockquote></pre></p>
  * 
+ * The review data is set on the display thread, as it is passed to the view directly.
+ * 
  * @author Thilo Rauch (07.07.2012)
  */
-public abstract class AbstractReviewDataReceiver implements IReviewDataReceiver, PropertyChangeListener {
+public abstract class AbstractReviewDataReceiver implements IDisplayThreadReviewDataReceiver, PropertyChangeListener {
     
     /**
-     * Last review set provided by the extension point
+     * Last review set provided by the extension point. Volatile, as model events may be received on any thread.
      */
-    private ReviewSet reviewData;
+    private volatile ReviewSet reviewData;
     /**
      * Current {@link AbstractReviewDataView} instance
      */
-    private AbstractReviewDataView view;
+    private volatile AbstractReviewDataView view;
+    /**
+     * Listener forwarding the events subscribed on the {@link org.agilereview.core.external.storage.listeners.ModelEventBus} to
+     * {@link #propertyChange(PropertyChangeEvent)}
+     */
+    private final IModelEventListener<Object> modelEventListener = new IModelEventListener<Object>() {
+        @Override
+        public void modelChanged(Object source, PropertyChangeEvent evt) {
+            propertyChange(evt);
+        }
+    };
     
     /**
      * Constructor which has be be invoked by extending classes
@@ -65,9 +78,17 @@ public abstract class AbstractReviewDataReceiver implements IReviewDataReceiver,
         // First set reviews
         if (reviewData != null) {
             reviewData.removePropertyChangeListener(this);
+            reviewData.getEventBus().unsubscribe(modelEventListener);
         }
         reviewData = reviews;
-        reviewData.addPropertyChangeListener(this);
+        if (reviewData != null) {
+            String[] eventKeys = getSubscribedEventKeys();
+            if (eventKeys == null) {
+                reviewData.addPropertyChangeListener(this);
+            } else {
+                reviewData.getEventBus().subscribe(Object.class, modelEventListener, eventKeys);
+            }
+        }
         
         // Now think about binding to View
         if (reviewData == null) {
@@ -122,6 +143,18 @@ public abstract class AbstractReviewDataReceiver implements IReviewDataReceiver,
         return rawData;
     }
     
+    /**
+     * Override this method in order to subscribe only for the given {@link org.agilereview.core.external.storage.constants.PropertyChangeEventKeys}
+     * on the {@link org.agilereview.core.external.storage.listeners.ModelEventBus} of the {@link ReviewSet}. In this case, events are delivered
+     * directly by the changed model object and {@link #triggerPropertyChange(PropertyChangeEvent, ReviewSet)} will only be called for the
+     * subscribed keys. By default, all events of the {@link ReviewSet} and its children will be received.
+     * @return the event keys to subscribe for or <code>null</code> for receiving all events
+     * @author agent (18.10.2026)
+     */
+    protected String[] getSubscribedEventKeys() {
+        return null;
+    }
+    
     /**
      * Gets an instance of the specified class if the class has an getInstance() method which actually returns a instance of that class.
      * @param c Class a instance is wanted for
@@ -10,6 +10,7 @@ import org.agilereview.core.external.storage.Comment;
 import org.agilereview.core.external.storage.Review;
 import org.agilereview.core.external.storage.ReviewSet;
 import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -99,8 +100,8 @@ public class REContentProvider implements ITreePathContentProvider, PropertyChan
             List<TreePath> pathList = new ArrayList<TreePath>();
             // For a project, all reviews have to be checked whether they contain a comment on one of this project's files
             for (Review r : reviews) {
-                for (Comment c : r.getComments()) {
-                    if (c.getCommentedFile().getProject().equals(element)) {
+                for (IFile file : r.getCommentedFiles()) {
+                    if (file.getProject().equals(element)) {
                         pathList.add(new TreePath(new Object[] { r }));
                         // we only need to find one
                         break;
@@ -154,8 +155,9 @@ public class REContentProvider implements ITreePathContentProvider, PropertyChan
     private Object[] filterResourcesWithComment(IResource[] input, Review review) {
         List<IResource> result = new LinkedList<IResource>();
         for (IResource r : input) {
-            for (Comment c : review.getComments()) {
-                if (r.getFullPath().isPrefixOf(c.getCommentedFile().getFullPath())) {
+            // check each commented file only once instead of every single comment
+            for (IFile file : review.getCommentedFiles()) {
+                if (r.getFullPath().isPrefixOf(file.getFullPath())) {
                     result.add(r);
                     break;
                 }
@@ -24,6 +24,11 @@ public class REDataReceiver extends AbstractReviewDataReceiver {
      * Current Instance used by the ViewPart. Part of the ReviewDataView pattern.
      */
     private static REDataReceiver instance;
+    /**
+     * {@link PropertyChangeEventKeys} which cause a refresh of the Review Explorer
+     */
+    private static final String[] REFRESH_EVENT_KEYS = { PropertyChangeEventKeys.REVIEW_COMMENTS, PropertyChangeEventKeys.REVIEW_ISACTIVE_STATUS,
+            PropertyChangeEventKeys.REVIEW_ISOPEN_STATUS, PropertyChangeEventKeys.REVIEW_NAME, PropertyChangeEventKeys.REVIEWSET_REVIEWS };
     
     /**
      * Constructor used to capture the instance created by eclipse. Part of the ReviewDataView pattern.
@@ -63,11 +68,18 @@ public class REDataReceiver extends AbstractReviewDataReceiver {
      */
     @Override
     protected boolean triggerPropertyChange(PropertyChangeEvent evt, ReviewSet data) {
-        // TODO: Thats really ugly, but don't know a better way at the moment
-        return (evt.getPropertyName().equals(PropertyChangeEventKeys.REVIEW_COMMENTS)
-                || evt.getPropertyName().equals(PropertyChangeEventKeys.REVIEW_ISACTIVE_STATUS)
-                || evt.getPropertyName().equals(PropertyChangeEventKeys.REVIEW_ISOPEN_STATUS)
-                || evt.getPropertyName().equals(PropertyChangeEventKeys.REVIEW_NAME) || evt.getPropertyName().equals(
-                PropertyChangeEventKeys.REVIEWSET_REVIEWS));
+        for (String key : REFRESH_EVENT_KEYS) {
+            if (key.equals(evt.getPropertyName())) { return true; }
+        }
+        return false;
+    }
+    
+    /* (non-Javadoc)
+     * @see org.agilereview.ui.basic.external.reviewDataReceiver.AbstractReviewDataReceiver#getSubscribedEventKeys()
+     * @author agent (18.10.2026)
+     */
+    @Override
+    protected String[] getSubscribedEventKeys() {
+        return REFRESH_EVENT_KEYS;
     }
 }